@@ -5,6 +5,9 @@
 -- Enable UUID extension for generating UUIDs
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
+-- Enable trigram extension for indexed substring (LIKE '%x%') search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- ============================================
 -- 1. DEALERS TABLE (Nhà bán xe)
 -- ============================================
@@ -111,6 +114,8 @@ CREATE TABLE cars (
     mileage INTEGER NOT NULL CHECK (mileage >= 0),
     price DECIMAL(12,2) NOT NULL CHECK (price >= 0),
     image_url VARCHAR(500),
+    -- Dealer's own reference for the car, the key of dealer feeds
+    stock_number VARCHAR(64),
     
     -- Foreign Keys
     make_id UUID NOT NULL REFERENCES makes(id) ON DELETE CASCADE,
@@ -179,6 +184,7 @@ CREATE INDEX idx_cars_price ON cars(price);
 CREATE INDEX idx_cars_mileage ON cars(mileage);
 CREATE INDEX idx_cars_make_model ON cars(make_id, model_id);
 CREATE INDEX idx_cars_dealer ON cars(dealer_id);
+CREATE UNIQUE INDEX idx_cars_dealer_stock_number ON cars(dealer_id, stock_number) WHERE stock_number IS NOT NULL;
 CREATE INDEX idx_cars_condition ON cars(condition_id);
 CREATE INDEX idx_cars_body_type ON cars(body_type_id);
 CREATE INDEX idx_cars_transmission ON cars(transmission_id);
@@ -206,6 +212,14 @@ CREATE INDEX idx_filter_presets_public ON filter_presets(is_public) WHERE is_pub
 -- TRIGGERS FOR UPDATED_AT AND DATA VALIDATION
 -- ============================================
 
+-- Dealer feed merge (DealerFeedRepository) sets autotrader.bulk_merge for its
+-- transaction: it validates rows, sets updated_at, rebuilds the listings and
+-- notifies once per merge, so the per-row car triggers below stand aside
+CREATE OR REPLACE FUNCTION in_bulk_merge()
+RETURNS BOOLEAN AS $$
+    SELECT COALESCE(current_setting('autotrader.bulk_merge', TRUE), '') = 'on';
+$$ language 'sql' STABLE;
+
 -- Function to update updated_at timestamp
 CREATE OR REPLACE FUNCTION update_updated_at_column()
 RETURNS TRIGGER AS $$
@@ -241,20 +255,27 @@ $$ language 'plpgsql';
 
 -- Apply triggers
 CREATE TRIGGER update_dealers_updated_at BEFORE UPDATE ON dealers FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-CREATE TRIGGER update_cars_updated_at BEFORE UPDATE ON cars FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+-- views_count changes only come from the write-behind views flush: not an edit
+CREATE TRIGGER update_cars_updated_at BEFORE UPDATE ON cars FOR EACH ROW
+    WHEN (OLD.views_count IS NOT DISTINCT FROM NEW.views_count AND NOT in_bulk_merge())
+    EXECUTE FUNCTION update_updated_at_column();
 CREATE TRIGGER update_filter_presets_updated_at BEFORE UPDATE ON filter_presets FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 
 -- Apply validation trigger for cars
 CREATE TRIGGER validate_car_consistency_trigger 
-    BEFORE INSERT OR UPDATE ON cars 
-    FOR EACH ROW EXECUTE FUNCTION validate_car_consistency();
+    BEFORE INSERT OR UPDATE OF make_id, model_id, trim_id ON cars 
+    FOR EACH ROW
+    WHEN (NOT in_bulk_merge())
+    EXECUTE FUNCTION validate_car_consistency();
 
 -- ============================================
 -- VIEWS FOR COMMON QUERIES
 -- ============================================
 
--- View for car listings with all related data (sortable version)
-CREATE VIEW car_listings AS
+-- Source query for car listings with all related data (sortable version).
+-- The API does not read this view directly: it is only used to (re)build rows
+-- of the denormalized car_listings table below, one car at a time.
+CREATE VIEW car_listings_source AS
 SELECT 
     c.id,
     c.year,
@@ -265,6 +286,16 @@ SELECT
     c.is_sold,
     c.views_count,
     c.created_at,
+    c.updated_at,
+    
+    -- Foreign keys (used to find rows affected by reference data changes)
+    c.make_id,
+    c.model_id,
+    c.trim_id,
+    c.body_type_id,
+    c.transmission_id,
+    c.condition_id,
+    c.dealer_id,
     
     -- Make info
     mk.name AS make_name,
@@ -290,15 +321,7 @@ SELECT
     d.location AS dealer_location,
     
     -- Badge info (sortable)
-    COALESCE(json_array_length(
-        json_agg(
-            json_build_object(
-                'id', b.id,
-                'name', b.name,
-                'color', b.color
-            )
-        ) FILTER (WHERE b.id IS NOT NULL)
-    ), 0) AS badge_count,
+    COUNT(b.id)::INTEGER AS badge_count,
     
     -- Badge names as array (for searching and filtering)
     COALESCE(
@@ -306,17 +329,11 @@ SELECT
         ARRAY[]::text[]
     ) AS badge_names,
     
-    -- Badges JSON (for display)
+    -- Badge ids (for display, resolved by the application's badge catalog)
     COALESCE(
-        json_agg(
-            json_build_object(
-                'id', b.id,
-                'name', b.name,
-                'color', b.color
-            )
-        ) FILTER (WHERE b.name IS NOT NULL), 
-        '[]'::json
-    ) AS badges
+        array_agg(b.id ORDER BY b.name) FILTER (WHERE b.id IS NOT NULL),
+        ARRAY[]::uuid[]
+    ) AS badge_ids
 
 FROM cars c
 LEFT JOIN makes mk ON c.make_id = mk.id
@@ -330,6 +347,291 @@ LEFT JOIN car_badges cb ON c.id = cb.car_id
 LEFT JOIN badges b ON cb.badge_id = b.id
 GROUP BY c.id, mk.name, m.name, t.name, bt.name, bt.icon, trans.type, cond.name, d.name, d.location;
 
+-- ============================================
+-- CAR_LISTINGS TABLE (Denormalized listing data)
+-- ============================================
+-- One row per car with every JOIN and badge aggregate already applied.
+-- Search queries filter and sort this table directly, so predicates on
+-- make_name or price can use indexes instead of running below a GROUP BY.
+-- Rows are maintained incrementally by the triggers below.
+CREATE TABLE car_listings (
+    id UUID PRIMARY KEY REFERENCES cars(id) ON DELETE CASCADE,
+    year INTEGER NOT NULL,
+    mileage INTEGER NOT NULL,
+    price DECIMAL(12,2) NOT NULL,
+    image_url VARCHAR(500),
+    is_featured BOOLEAN,
+    is_sold BOOLEAN,
+    views_count INTEGER,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    
+    make_id UUID NOT NULL,
+    model_id UUID NOT NULL,
+    trim_id UUID,
+    body_type_id UUID NOT NULL,
+    transmission_id UUID NOT NULL,
+    condition_id UUID NOT NULL,
+    dealer_id UUID NOT NULL,
+    
+    make_name VARCHAR(100),
+    model_name VARCHAR(150),
+    trim_name VARCHAR(150),
+    body_type_name VARCHAR(50),
+    body_type_icon VARCHAR(10),
+    transmission_type VARCHAR(20),
+    condition_name VARCHAR(20),
+    dealer_name VARCHAR(255),
+    dealer_location VARCHAR(255),
+    
+    badge_count INTEGER NOT NULL DEFAULT 0,
+    badge_names TEXT[] NOT NULL DEFAULT ARRAY[]::text[],
+    badge_ids UUID[] NOT NULL DEFAULT ARRAY[]::uuid[]
+);
+
+-- Sort indexes for active listings (one per sort option, id as tie-breaker)
+CREATE INDEX idx_car_listings_created_at ON car_listings(created_at DESC, id DESC) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_price ON car_listings(price, id) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_year ON car_listings(year, id) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_mileage ON car_listings(mileage, id) WHERE is_sold = FALSE;
+
+-- Filter indexes matching the predicates built by CarListingViewSpecification:
+-- the application resolves make/model/body type/transmission names to ids in
+-- memory (FilterIdResolver) and filters by id, like idx_cars_filter on cars
+CREATE INDEX idx_car_listings_filter ON car_listings(make_id, model_id, body_type_id, transmission_id) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_body_type_id ON car_listings(body_type_id) WHERE is_sold = FALSE;
+
+-- Text search ("value"): the application resolves the text to make/model/trim
+-- ids with its in-memory name index and filters by id (make_id uses
+-- idx_car_listings_make_model); the trigram indexes serve the LIKE fallback
+CREATE INDEX idx_car_listings_model_id ON car_listings(model_id) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_trim_id ON car_listings(trim_id) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_make_name_trgm ON car_listings USING gin (lower(make_name) gin_trgm_ops) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_model_name_trgm ON car_listings USING gin (lower(model_name) gin_trgm_ops) WHERE is_sold = FALSE;
+CREATE INDEX idx_car_listings_trim_name_trgm ON car_listings USING gin (lower(trim_name) gin_trgm_ops) WHERE is_sold = FALSE;
+
+-- Lookup indexes for reference data changes
+CREATE INDEX idx_car_listings_make_model ON car_listings(make_id, model_id);
+CREATE INDEX idx_car_listings_dealer ON car_listings(dealer_id);
+
+-- Rebuild the car_listings rows of the given cars from car_listings_source
+-- Upsert, not DELETE + INSERT: two transactions may refresh the same car at the
+-- same time (a car UPDATE and a car_badges write or a reference rename do not
+-- block each other); after a DELETE the second INSERT would hit the row the
+-- first one committed. ON CONFLICT waits for it and overwrites it instead.
+CREATE OR REPLACE FUNCTION refresh_car_listings(p_car_ids UUID[])
+RETURNS VOID AS $$
+BEGIN
+    IF p_car_ids IS NULL OR cardinality(p_car_ids) = 0 THEN
+        RETURN;
+    END IF;
+    
+    -- Cars no longer in the source
+    DELETE FROM car_listings l
+    WHERE l.id = ANY(p_car_ids)
+      AND NOT EXISTS (SELECT 1 FROM car_listings_source s WHERE s.id = l.id);
+    
+    INSERT INTO car_listings (
+        id, year, mileage, price, image_url, is_featured, is_sold, views_count, created_at, updated_at,
+        make_id, model_id, trim_id, body_type_id, transmission_id, condition_id, dealer_id,
+        make_name, model_name, trim_name, body_type_name, body_type_icon, transmission_type,
+        condition_name, dealer_name, dealer_location, badge_count, badge_names, badge_ids
+    )
+    SELECT
+        s.id, s.year, s.mileage, s.price, s.image_url, s.is_featured, s.is_sold, s.views_count, s.created_at, s.updated_at,
+        s.make_id, s.model_id, s.trim_id, s.body_type_id, s.transmission_id, s.condition_id, s.dealer_id,
+        s.make_name, s.model_name, s.trim_name, s.body_type_name, s.body_type_icon, s.transmission_type,
+        s.condition_name, s.dealer_name, s.dealer_location, s.badge_count, s.badge_names, s.badge_ids
+    FROM car_listings_source s
+    WHERE s.id = ANY(p_car_ids)
+    ON CONFLICT (id) DO UPDATE SET
+        year = EXCLUDED.year, mileage = EXCLUDED.mileage, price = EXCLUDED.price,
+        image_url = EXCLUDED.image_url, is_featured = EXCLUDED.is_featured, is_sold = EXCLUDED.is_sold,
+        views_count = EXCLUDED.views_count, created_at = EXCLUDED.created_at, updated_at = EXCLUDED.updated_at,
+        make_id = EXCLUDED.make_id, model_id = EXCLUDED.model_id, trim_id = EXCLUDED.trim_id,
+        body_type_id = EXCLUDED.body_type_id, transmission_id = EXCLUDED.transmission_id,
+        condition_id = EXCLUDED.condition_id, dealer_id = EXCLUDED.dealer_id,
+        make_name = EXCLUDED.make_name, model_name = EXCLUDED.model_name, trim_name = EXCLUDED.trim_name,
+        body_type_name = EXCLUDED.body_type_name, body_type_icon = EXCLUDED.body_type_icon,
+        transmission_type = EXCLUDED.transmission_type, condition_name = EXCLUDED.condition_name,
+        dealer_name = EXCLUDED.dealer_name, dealer_location = EXCLUDED.dealer_location,
+        badge_count = EXCLUDED.badge_count, badge_names = EXCLUDED.badge_names, badge_ids = EXCLUDED.badge_ids;
+END;
+$$ language 'plpgsql';
+
+-- cars: rebuild the listing row on insert/update (deletes cascade through the FK)
+CREATE OR REPLACE FUNCTION sync_car_listing_from_cars()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM refresh_car_listings(ARRAY[NEW.id]);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- cars views flush (CarRepository.addViews): copy the count, no rebuild
+CREATE OR REPLACE FUNCTION sync_car_listing_views()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE car_listings SET views_count = NEW.views_count WHERE id = NEW.id;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- car_badges: rebuild the listing row of every car whose badges changed
+CREATE OR REPLACE FUNCTION sync_car_listing_from_car_badges()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM refresh_car_listings(ARRAY[OLD.car_id]);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_car_listings(ARRAY[NEW.car_id]);
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Reference tables: rebuild listings pointing at the changed row.
+-- TG_ARGV[0] is the car_listings column referencing the table.
+CREATE OR REPLACE FUNCTION sync_car_listings_from_reference()
+RETURNS TRIGGER AS $$
+BEGIN
+    EXECUTE format(
+        'SELECT refresh_car_listings(ARRAY(SELECT id FROM car_listings WHERE %I = $1))',
+        TG_ARGV[0]
+    ) USING NEW.id;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- badges: rebuild listings of every car carrying the changed badge
+CREATE OR REPLACE FUNCTION sync_car_listings_from_badges()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM refresh_car_listings(ARRAY(SELECT car_id FROM car_badges WHERE badge_id = NEW.id));
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Apply listing sync triggers
+CREATE TRIGGER sync_car_listing_on_cars_insert
+    AFTER INSERT ON cars
+    FOR EACH ROW
+    WHEN (NOT in_bulk_merge())
+    EXECUTE FUNCTION sync_car_listing_from_cars();
+
+CREATE TRIGGER sync_car_listing_on_cars
+    AFTER UPDATE ON cars
+    FOR EACH ROW
+    WHEN (OLD.views_count IS NOT DISTINCT FROM NEW.views_count AND NOT in_bulk_merge())
+    EXECUTE FUNCTION sync_car_listing_from_cars();
+
+CREATE TRIGGER sync_car_listing_views_on_cars
+    AFTER UPDATE OF views_count ON cars
+    FOR EACH ROW
+    WHEN (OLD.views_count IS DISTINCT FROM NEW.views_count)
+    EXECUTE FUNCTION sync_car_listing_views();
+
+CREATE TRIGGER sync_car_listing_on_car_badges
+    AFTER INSERT OR UPDATE OR DELETE ON car_badges
+    FOR EACH ROW EXECUTE FUNCTION sync_car_listing_from_car_badges();
+
+CREATE TRIGGER sync_car_listings_on_makes AFTER UPDATE ON makes
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION sync_car_listings_from_reference('make_id');
+CREATE TRIGGER sync_car_listings_on_models AFTER UPDATE ON models
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION sync_car_listings_from_reference('model_id');
+CREATE TRIGGER sync_car_listings_on_trims AFTER UPDATE ON trims
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION sync_car_listings_from_reference('trim_id');
+CREATE TRIGGER sync_car_listings_on_body_types AFTER UPDATE ON body_types
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.icon IS DISTINCT FROM NEW.icon)
+    EXECUTE FUNCTION sync_car_listings_from_reference('body_type_id');
+CREATE TRIGGER sync_car_listings_on_transmissions AFTER UPDATE ON transmissions
+    FOR EACH ROW WHEN (OLD.type IS DISTINCT FROM NEW.type)
+    EXECUTE FUNCTION sync_car_listings_from_reference('transmission_id');
+CREATE TRIGGER sync_car_listings_on_conditions AFTER UPDATE ON conditions
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION sync_car_listings_from_reference('condition_id');
+CREATE TRIGGER sync_car_listings_on_dealers AFTER UPDATE ON dealers
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name OR OLD.location IS DISTINCT FROM NEW.location)
+    EXECUTE FUNCTION sync_car_listings_from_reference('dealer_id');
+-- Only badge_names is stored per listing; colors are served from the badge catalog
+CREATE TRIGGER sync_car_listings_on_badges AFTER UPDATE ON badges
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION sync_car_listings_from_badges();
+
+-- Change notifications for application caches (LISTEN autotrader_changes).
+-- Payload is '<table>:<id>'; for car_badges the id is the car id.
+-- Identical notifications in one transaction are delivered once.
+CREATE OR REPLACE FUNCTION notify_data_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_row RECORD;
+    v_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_row := OLD;
+    ELSE
+        v_row := NEW;
+    END IF;
+    
+    IF TG_TABLE_NAME = 'car_badges' THEN
+        v_id := v_row.car_id;
+    ELSE
+        v_id := v_row.id;
+    END IF;
+    
+    PERFORM pg_notify('autotrader_changes', TG_TABLE_NAME || ':' || v_id);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+-- Views flush: 'car_views:<id>', no listing/index work (detail caches add the views they flush)
+CREATE OR REPLACE FUNCTION notify_car_views_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('autotrader_changes', 'car_views:' || NEW.id);
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER notify_cars_change AFTER INSERT OR DELETE ON cars
+    FOR EACH ROW
+    WHEN (NOT in_bulk_merge())
+    EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_cars_update AFTER UPDATE ON cars
+    FOR EACH ROW
+    WHEN (OLD.views_count IS NOT DISTINCT FROM NEW.views_count AND NOT in_bulk_merge())
+    EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_car_views_change AFTER UPDATE OF views_count ON cars
+    FOR EACH ROW
+    WHEN (OLD.views_count IS DISTINCT FROM NEW.views_count)
+    EXECUTE FUNCTION notify_car_views_change();
+CREATE TRIGGER notify_car_badges_change AFTER INSERT OR UPDATE OR DELETE ON car_badges
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_dealers_change AFTER UPDATE OR DELETE ON dealers
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_badges_change AFTER UPDATE OR DELETE ON badges
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_makes_change AFTER INSERT OR UPDATE OR DELETE ON makes
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_models_change AFTER INSERT OR UPDATE OR DELETE ON models
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_trims_change AFTER INSERT OR UPDATE OR DELETE ON trims
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_body_types_change AFTER INSERT OR UPDATE OR DELETE ON body_types
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_transmissions_change AFTER INSERT OR UPDATE OR DELETE ON transmissions
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+CREATE TRIGGER notify_conditions_change AFTER INSERT OR UPDATE OR DELETE ON conditions
+    FOR EACH ROW EXECUTE FUNCTION notify_data_change();
+
+-- Backfill existing cars (no-op on a fresh database; needed when upgrading
+-- from the former car_listings view)
+SELECT refresh_car_listings(ARRAY(SELECT id FROM cars));
+
 -- View for filter options
 CREATE VIEW filter_options AS
 SELECT 
@@ -1476,7 +1778,7 @@ ORDER BY car_count DESC;
 -- Check all 60 cars are inserted
 SELECT COUNT(*) as total_cars FROM cars;
 
--- Test car_listings view
+-- Test car_listings table
 SELECT 
     make_name,
     model_name,
@@ -1511,7 +1813,8 @@ COMMENT ON TABLE car_badges IS 'Bảng liên kết nhiều-nhiều giữa xe và
 COMMENT ON TABLE filter_presets IS 'Bộ lọc đã lưu của người dùng';
 COMMENT ON TABLE search_history IS 'Lịch sử tìm kiếm';
 
-COMMENT ON VIEW car_listings IS 'View tổng hợp thông tin xe với tất cả dữ liệu liên quan';
+COMMENT ON TABLE car_listings IS 'Bảng tổng hợp thông tin xe (denormalized), được đồng bộ bằng trigger';
+COMMENT ON VIEW car_listings_source IS 'View nguồn dùng để dựng lại các dòng của car_listings';
 COMMENT ON VIEW filter_options IS 'View cung cấp các tùy chọn lọc cho frontend';
 
 -- ============================================
@@ -1522,7 +1825,7 @@ COMMENT ON VIEW filter_options IS 'View cung cấp các tùy chọn lọc cho fr
 -- ✅ Complete PostgreSQL schema with all tables
 -- ✅ All indexes for optimal performance  
 -- ✅ Triggers for data validation and timestamps
--- ✅ Views for car listings and filter options
+-- ✅ Trigger-maintained car_listings table and filter options view
 -- ✅ All 60 cars from mock-data.ts
 -- ✅ All car badges and relationships
 -- ✅ Verification queries to test the setup
@@ -1542,7 +1845,7 @@ COMMENT ON VIEW filter_options IS 'View cung cấp các tùy chọn lọc cho fr
 -- Usage:
 -- 1. Run this script in PostgreSQL
 -- 2. Execute verification queries to confirm setup
--- 3. Use car_listings view for main queries
+-- 3. Use car_listings table for main queries
 -- 4. Use filter_options view for frontend dropdowns
 --
 -- ============================================
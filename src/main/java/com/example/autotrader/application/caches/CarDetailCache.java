@@ -0,0 +1,224 @@
+package com.example.autotrader.application.caches;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.domain.events.CarChangedEvent;
+import com.example.autotrader.domain.events.DataChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-heap cache of car details (GetCarDetailUseCase)
+ *
+ * Caffeine (W-TinyLFU admission) bounded by an estimated size in bytes
+ * rather than an entry count, since a car with many badges costs more
+ * than one without. Entries never expire by time: they are evicted
+ * precisely when their data changes.
+ *
+ * - CarChangedEvent (writes through CarRepository): evict those cars
+ * - DataChangedEvent (PostgreSQL NOTIFY, also covers changes made outside
+ *   the application): cars/car_badges evict the car, dealers/badges evict
+ *   the cars referencing them, other reference tables clear the cache
+ * - Views flushed by ViewsCounter do not evict: they are added to the
+ *   cached entry (storeViews), and car_views notifications are ignored.
+ *   Views stored by other instances show when the car is next loaded.
+ */
+@Component
+@Slf4j
+public class CarDetailCache {
+
+    // Rough per-object overheads of the cached graph (headers, boxed fields, references)
+    private static final int BASE_WEIGHT = 400;
+    private static final int BADGE_WEIGHT = 100;
+
+    private final Cache<UUID, CachedCar> cache;
+    // Odd while ViewsCounter stores views: a load overlapping a flush may or
+    // may not include its views, so it is returned but not cached
+    private final AtomicLong viewsFlushSequence = new AtomicLong();
+
+    public CarDetailCache(@Value("${autotrader.cache.detail.max-weight-bytes:33554432}") long maxWeightBytes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher(CarDetailCache::weigh)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a cached car detail, or load it once (concurrent misses for the same
+     * car wait for a single load)
+     *
+     * @param carId car id
+     * @param loader loads the car; exceptions propagate and nothing is cached
+     * @return car detail
+     */
+    public CachedCar get(UUID carId, Function<UUID, CachedCar> loader) {
+        CachedCar[] uncached = new CachedCar[1];
+        CachedCar cached = cache.get(carId, id -> {
+            long sequence = viewsFlushSequence.get();
+            CachedCar loaded = loader.apply(id);
+            if (noViewsFlushSince(sequence)) {
+                return loaded;
+            }
+            uncached[0] = loaded;
+            return null;
+        });
+        return cached != null ? cached : uncached[0];
+    }
+
+    /**
+     * Get several cached car details, loading all misses at once
+     *
+     * @param carIds car ids
+     * @param loader loads the missing cars; ids it does not return are not found
+     * @return found cars by id (missing ids are absent, and not cached)
+     */
+    public Map<UUID, CachedCar> getAll(Collection<UUID> carIds,
+                                       Function<Set<? extends UUID>, Map<UUID, CachedCar>> loader) {
+        Map<UUID, CachedCar> cars = new HashMap<>(cache.getAllPresent(carIds));
+        Set<UUID> missing = new HashSet<>(carIds);
+        missing.removeAll(cars.keySet());
+        if (missing.isEmpty()) {
+            return cars;
+        }
+
+        long sequence = viewsFlushSequence.get();
+        loader.apply(missing).forEach((carId, loaded) -> {
+            // Checked under the entry lock: a flush starting later waits for the entry in storeViews
+            CachedCar cached = cache.asMap().compute(carId, (id, existing) ->
+                    existing != null ? existing : noViewsFlushSince(sequence) ? loaded : null);
+            cars.put(carId, cached != null ? cached : loaded);
+        });
+        return cars;
+    }
+
+    /**
+     * Store flushed views (ViewsCounter) and add them to the cached cars,
+     * instead of evicting the most viewed cars after every flush
+     *
+     * @param views views by car id
+     * @param store the UPDATE; on failure the cache is left unchanged
+     */
+    public void storeViews(Map<UUID, Long> views, Runnable store) {
+        viewsFlushSequence.incrementAndGet();
+        try {
+            store.run();
+            // Waits for an in-flight load of the car, whose read predates the UPDATE
+            views.forEach((carId, count) -> cache.asMap().computeIfPresent(carId,
+                    (id, cached) -> cached.withFlushedViews(count)));
+        } finally {
+            viewsFlushSequence.incrementAndGet();
+        }
+    }
+
+    private boolean noViewsFlushSince(long sequence) {
+        return (sequence & 1) == 0 && viewsFlushSequence.get() == sequence;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        cache.invalidateAll(event.getCarIds());
+    }
+
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (DataChangedEvent.CAR_VIEWS.equals(event.getTable())) {
+            // Flushed views are added by storeViews
+            return;
+        }
+        if (event.isCarChange()) {
+            cache.invalidate(event.getId());
+        } else if (DataChangedEvent.DEALERS.equals(event.getTable())) {
+            cache.asMap().values().removeIf(cached -> Objects.equals(cached.dealerId(), event.getId()));
+        } else if (DataChangedEvent.BADGES.equals(event.getTable())) {
+            cache.asMap().values().removeIf(cached -> cached.hasBadge(event.getId()));
+        } else {
+            // Reference data (make/model/... names) or missed notifications
+            log.debug("Clearing car detail cache on {} change", event.getTable());
+            cache.invalidateAll();
+        }
+    }
+
+    private static int weigh(UUID carId, CachedCar cached) {
+        CarDto car = cached.car();
+        long weight = BASE_WEIGHT
+                + chars(car.getImageUrl()) + chars(car.getMakeName()) + chars(car.getModelName())
+                + chars(car.getTrimName()) + chars(car.getBodyTypeName()) + chars(car.getBodyTypeIcon())
+                + chars(car.getTransmissionType()) + chars(car.getConditionName())
+                + chars(car.getDealerName()) + chars(car.getDealerLocation());
+        if (car.getBadges() != null) {
+            for (CarDto.BadgeDto badge : car.getBadges()) {
+                weight += BADGE_WEIGHT + chars(badge.getName()) + chars(badge.getColor());
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int chars(String value) {
+        // Latin-1 strings are stored one byte per char
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * Cached detail plus the ids it depends on, for precise invalidation
+     *
+     * @param flushedViews views stored by ViewsCounter since the car was
+     *                     loaded, not in car.viewsCount
+     */
+    public record CachedCar(CarDto car, UUID dealerId, long flushedViews) {
+
+        public CachedCar(CarDto car, UUID dealerId) {
+            this(car, dealerId, 0);
+        }
+
+        /**
+         * Stored views count: loaded count plus the views flushed since
+         */
+        public Integer viewsCount() {
+            if (flushedViews == 0) {
+                return car.getViewsCount();
+            }
+            return (int) Math.min(Integer.MAX_VALUE,
+                    (car.getViewsCount() != null ? car.getViewsCount() : 0) + flushedViews);
+        }
+
+        CachedCar withFlushedViews(long views) {
+            return new CachedCar(car, dealerId, flushedViews + views);
+        }
+
+        boolean hasBadge(UUID badgeId) {
+            return car.getBadges() != null
+                    && car.getBadges().stream().anyMatch(badge -> badge.getId().equals(badgeId));
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.autotrader.application.caches;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.FilterOptionView;
+import com.example.autotrader.domain.events.DataChangedEvent;
+import com.example.autotrader.domain.repositories.BadgeRepository;
+import com.example.autotrader.domain.repositories.FilterOptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-memory dictionary of reference data: makes, models, trims, body types,
+ * transmissions, conditions (filter_options view) and badges
+ *
+ * These tables hold a few hundred rows and almost never change, so they are
+ * loaded once at startup into an immutable Snapshot (id ↔ name maps,
+ * make → models and model → trims adjacency, interned labels) instead of
+ * being joined or queried again per request. A change to any of them
+ * (DataChangedEvent) builds a new Snapshot and swaps it in atomically;
+ * readers keep using the one they hold.
+ */
+@Component
+@Slf4j
+public class ReferenceDataDictionary {
+
+    public static final String MAKES = "makes";
+    public static final String MODELS = "models";
+    public static final String TRIMS = "trims";
+    public static final String BODY_TYPES = "body_types";
+    public static final String TRANSMISSIONS = "transmissions";
+    public static final String CONDITIONS = "conditions";
+
+    private static final List<String> TYPES = List.of(MAKES, MODELS, TRIMS, BODY_TYPES, TRANSMISSIONS, CONDITIONS);
+
+    // Minimum age of a snapshot before refresh() reloads it
+    private static final long MIN_REFRESH_INTERVAL_MS = 1_000;
+
+    private final FilterOptionRepository filterOptionRepository;
+    private final BadgeRepository badgeRepository;
+
+    private final Object reloadLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataDictionary(FilterOptionRepository filterOptionRepository,
+                                   BadgeRepository badgeRepository) {
+        this.filterOptionRepository = filterOptionRepository;
+        this.badgeRepository = badgeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Failed to load reference data dictionary, will retry on first use: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Current snapshot, loaded on first use if startup loading failed
+     */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Reload a snapshot found to be missing data (e.g. an id created since
+     * it was loaded), at most once per second
+     *
+     * @param seen snapshot the caller found incomplete
+     * @return newer snapshot, or seen if it was loaded too recently
+     */
+    public Snapshot refresh(Snapshot seen) {
+        synchronized (reloadLock) {
+            Snapshot current = snapshot;
+            if (current != seen || System.currentTimeMillis() - seen.loadedAt() < MIN_REFRESH_INTERVAL_MS) {
+                return current != null ? current : reload();
+            }
+            return reload();
+        }
+    }
+
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (event.isAll() || TYPES.contains(event.getTable()) || DataChangedEvent.BADGES.equals(event.getTable())) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                log.warn("Failed to reload reference data dictionary on {} change: {}", event.getTable(), e.getMessage());
+            }
+        }
+    }
+
+    private Snapshot reload() {
+        synchronized (reloadLock) {
+            Snapshot loaded = Snapshot.build(filterOptionRepository.findByFilterTypes(TYPES), badgeRepository.findAll());
+            snapshot = loaded;
+            log.info("Loaded reference data dictionary: {} values, {} badges", loaded.byId.size(), loaded.badges.size());
+            return loaded;
+        }
+    }
+
+    /**
+     * One reference value
+     *
+     * @param type makes | models | trims | body_types | transmissions | conditions
+     * @param parentId make id of a model, model id of a trim, otherwise null
+     */
+    public record Entry(String type, UUID id, String label, UUID parentId) {
+    }
+
+    /**
+     * Immutable view of all reference data at one point in time
+     */
+    public static final class Snapshot {
+
+        private final Map<UUID, Entry> byId;
+        private final Map<String, Map<String, List<Entry>>> byName;
+        private final Map<String, List<Entry>> byType;
+        private final Map<UUID, List<Entry>> children;
+        private final Map<UUID, CarDto.BadgeDto> badges;
+        private final List<CarDto.BadgeDto> badgeList;
+        private final long loadedAt;
+
+        private Snapshot(Map<UUID, Entry> byId,
+                         Map<String, Map<String, List<Entry>>> byName,
+                         Map<String, List<Entry>> byType,
+                         Map<UUID, List<Entry>> children,
+                         Map<UUID, CarDto.BadgeDto> badges,
+                         List<CarDto.BadgeDto> badgeList) {
+            this.byId = byId;
+            this.byName = byName;
+            this.byType = byType;
+            this.children = children;
+            this.badges = badges;
+            this.badgeList = badgeList;
+            this.loadedAt = System.currentTimeMillis();
+        }
+
+        static Snapshot build(List<FilterOptionView> options, List<Badge> badgeRows) {
+            Comparator<Entry> byLabel = Comparator.comparing(Entry::label,
+                    Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+            Map<UUID, Entry> byId = new HashMap<>();
+            Map<String, Map<String, List<Entry>>> byName = new HashMap<>();
+            Map<String, List<Entry>> byType = new HashMap<>();
+            Map<UUID, List<Entry>> children = new HashMap<>();
+            for (FilterOptionView option : options) {
+                Entry entry = new Entry(option.getFilterType().intern(), option.getValue(),
+                        intern(option.getLabel()), option.getParentValue());
+                byId.put(entry.id(), entry);
+                byType.computeIfAbsent(entry.type(), key -> new ArrayList<>()).add(entry);
+                if (entry.label() != null) {
+                    byName.computeIfAbsent(entry.type(), key -> new HashMap<>())
+                            .computeIfAbsent(fold(entry.label()), key -> new ArrayList<>())
+                            .add(entry);
+                }
+                if (entry.parentId() != null) {
+                    children.computeIfAbsent(entry.parentId(), key -> new ArrayList<>()).add(entry);
+                }
+            }
+
+            Map<String, Map<String, List<Entry>>> frozenByName = new HashMap<>();
+            byName.forEach((type, names) -> {
+                Map<String, List<Entry>> frozen = new HashMap<>();
+                names.forEach((name, entries) -> frozen.put(name, List.copyOf(entries)));
+                frozenByName.put(type, Map.copyOf(frozen));
+            });
+            byType.replaceAll((type, entries) -> entries.stream().sorted(byLabel).toList());
+            children.replaceAll((parent, entries) -> entries.stream().sorted(byLabel).toList());
+
+            Map<UUID, CarDto.BadgeDto> badges = new HashMap<>();
+            for (Badge badge : badgeRows) {
+                badges.put(badge.getId(), CarDto.BadgeDto.builder()
+                        .id(badge.getId())
+                        .name(intern(badge.getName()))
+                        .color(intern(badge.getColor()))
+                        .build());
+            }
+            List<CarDto.BadgeDto> badgeList = badges.values().stream()
+                    .sorted(Comparator.comparing(CarDto.BadgeDto::getName,
+                            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                    .toList();
+
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(frozenByName), Map.copyOf(byType),
+                    Map.copyOf(children), Map.copyOf(badges), badgeList);
+        }
+
+        public Optional<Entry> get(UUID id) {
+            return Optional.ofNullable(id != null ? byId.get(id) : null);
+        }
+
+        /**
+         * Values of a type whose name equals the given one (case-insensitive);
+         * several for names shared across parents (e.g. trim "LE")
+         */
+        public List<Entry> findByName(String type, String name) {
+            if (name == null) {
+                return List.of();
+            }
+            return byName.getOrDefault(type, Map.of()).getOrDefault(fold(name.trim()), List.of());
+        }
+
+        /**
+         * All values of a type, sorted by label
+         */
+        public List<Entry> entries(String type) {
+            return byType.getOrDefault(type, List.of());
+        }
+
+        /**
+         * Models of a make or trims of a model, sorted by label
+         */
+        public List<Entry> children(UUID parentId) {
+            return parentId != null ? children.getOrDefault(parentId, List.of()) : List.of();
+        }
+
+        /**
+         * Shared badge (callers must not modify it), or null if unknown
+         */
+        public CarDto.BadgeDto badge(UUID id) {
+            return id != null ? badges.get(id) : null;
+        }
+
+        /**
+         * All badges, sorted by name
+         */
+        public Collection<CarDto.BadgeDto> badges() {
+            return badgeList;
+        }
+
+        public long loadedAt() {
+            return loadedAt;
+        }
+
+        private static String intern(String value) {
+            return value != null ? value.intern() : null;
+        }
+
+        private static String fold(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.autotrader.application.caches;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Shared (L2) store behind SearchResultCache
+ * 
+ * Values are serialized responses; generations are counters bumped on
+ * writes and embedded in cache keys, so invalidation never has to find
+ * and delete individual entries.
+ */
+public interface SearchCacheStore {
+    
+    /**
+     * Get a cached value
+     */
+    Optional<String> get(String key);
+    
+    /**
+     * Store a value with a time to live
+     */
+    void put(String key, String value, Duration ttl);
+    
+    /**
+     * Current value of a generation counter (0 if never bumped)
+     */
+    long getGeneration(String name);
+    
+    /**
+     * Bump a generation counter
+     * 
+     * @return new value
+     */
+    long incrementGeneration(String name);
+}
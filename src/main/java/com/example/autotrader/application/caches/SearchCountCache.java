@@ -0,0 +1,125 @@
+package com.example.autotrader.application.caches;
+
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.domain.repositories.CarListingViewRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Short-lived cache of exact search totals
+ *
+ * Searches with countMode=estimated never run COUNT on the request thread.
+ * On a miss the exact count is computed once in the background (concurrent
+ * requests for the same filters are deduplicated) and served as a "cached"
+ * total to the following pages of the same search until it expires.
+ *
+ * Keys are the filter part of the criteria only (no page/size/sort/cursor),
+ * since the total does not depend on sort order or page.
+ */
+@Component
+@Slf4j
+public class SearchCountCache {
+
+    private final CarListingViewRepository carListingViewRepository;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-count");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SearchCountCache(CarListingViewRepository carListingViewRepository,
+                            @Value("${autotrader.search.count-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${autotrader.search.count-cache.max-entries:10000}") int maxEntries) {
+        this.carListingViewRepository = carListingViewRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get a cached exact total
+     *
+     * @param key filter key of the search
+     * @return cached total, or empty if missing or expired
+     */
+    public OptionalLong get(String key) {
+        CachedCount cached = counts.get(key);
+        if (cached == null) {
+            return OptionalLong.empty();
+        }
+        if (cached.isExpired(System.currentTimeMillis())) {
+            counts.remove(key, cached);
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(cached.total());
+    }
+
+    /**
+     * Store an exact total computed on the request thread
+     */
+    public void put(String key, long total) {
+        if (counts.size() >= maxEntries) {
+            evictExpired();
+            if (counts.size() >= maxEntries) {
+                // Still full: drop everything rather than tracking LRU order
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(total, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Compute the exact total in the background, at most once per key at a time
+     *
+     * @param key filter key of the search
+     * @param spec specification matching the search filters
+     */
+    public void refreshAsync(String key, Specification<CarListingView> spec) {
+        if (!inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    put(key, carListingViewRepository.count(spec));
+                } catch (RuntimeException e) {
+                    log.warn("Background count failed for key {}: {}", key, e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        counts.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record CachedCount(long total, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.autotrader.application.caches;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.data.Pagination;
+import com.example.autotrader.domain.events.CarChangedEvent;
+import com.example.autotrader.domain.events.DataChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Two-tier cache of search results (GetCarListUseCase)
+ *
+ * L1 is an in-heap Caffeine cache per instance, L2 a shared SearchCacheStore
+ * (Redis, or an in-process stand-in). Keys are a SHA-256 of the normalized
+ * criteria (case folded, trimmed, body types sorted), so equivalent searches
+ * share an entry.
+ *
+ * Invalidation is by generation: every key embeds a global epoch plus the
+ * generation of its make (searches filtered by make) or of "all makes"
+ * (unfiltered searches). A car write bumps the generations of the makes it
+ * touched and of "all makes", so only searches that can contain the car
+ * stop matching; old entries simply expire. Generations are re-read from
+ * L2 at most once per second, so other instances see a write within ~1s.
+ *
+ * When an L2 call fails, L2 is considered down for l2-retry-ms: searches
+ * are served uncached without calling the store (no timeout per request),
+ * then one caller probes it again. The L1 is cleared on the way down, as
+ * invalidations sent while L2 is down are lost.
+ */
+@Component
+@Slf4j
+public class SearchResultCache {
+
+    private static final String EPOCH = "epoch";
+    private static final String ALL_MAKES = "all";
+    private static final String MAKE_PREFIX = "make:";
+
+    private final SearchCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration l2Ttl;
+    private final long l2RetryMillis;
+    // 0 while L2 is up, else the time of the next probe
+    private final AtomicLong l2DownUntil = new AtomicLong();
+    private final Cache<String, Pagination<CarDto>> l1;
+    private final Cache<String, Long> generations = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(1))
+            .maximumSize(10_000)
+            .build();
+
+    public SearchResultCache(SearchCacheStore store,
+                             ObjectMapper objectMapper,
+                             @Value("${autotrader.cache.search.l1-ttl-seconds:30}") long l1TtlSeconds,
+                             @Value("${autotrader.cache.search.l1-max-entries:2000}") long l1MaxEntries,
+                             @Value("${autotrader.cache.search.l2-ttl-seconds:120}") long l2TtlSeconds,
+                             @Value("${autotrader.cache.search.l2-retry-ms:5000}") long l2RetryMillis) {
+        this.store = store;
+        // Pagination serializes derived fields (last, hasNext...) that are not settable
+        this.objectMapper = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.l2Ttl = Duration.ofSeconds(l2TtlSeconds);
+        this.l2RetryMillis = l2RetryMillis;
+        this.l1 = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+                .maximumSize(l1MaxEntries)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get a cached search result, or run the search and cache a success
+     *
+     * @param criteria search criteria (the cache key)
+     * @param loader runs the search on a miss
+     * @return cached or loaded result; failures are never cached
+     */
+    public Either<Failure, Pagination<CarDto>> getOrLoad(CarFilterCriteria criteria,
+                                                         Supplier<Either<Failure, Pagination<CarDto>>> loader) {
+        Optional<String> currentKey = currentKey(criteria);
+        if (currentKey.isEmpty()) {
+            return loader.get();
+        }
+        String key = currentKey.get();
+
+        Pagination<CarDto> cached = l1.getIfPresent(key);
+        if (cached != null) {
+            return Either.right(cached);
+        }
+
+        Optional<Pagination<CarDto>> shared = readL2(key);
+        if (shared.isPresent()) {
+            l1.put(key, shared.get());
+            return Either.right(shared.get());
+        }
+
+        Either<Failure, Pagination<CarDto>> result = loader.get();
+        if (result.isRight()) {
+            l1.put(key, result.rightOrNull());
+            writeL2(key, result.rightOrNull());
+        }
+        return result;
+    }
+
+    /**
+     * Key of a search at the current generations
+     *
+     * Also keys caches of what is derived from the result (the serialized
+     * response): a car write changes the key of the searches that can
+     * contain it, so those entries stop matching at the same time as L1/L2.
+     *
+     * @return the key, or empty if generations are unavailable (L2 down):
+     *         don't cache rather than risk stale hits
+     */
+    public Optional<String> currentKey(CarFilterCriteria criteria) {
+        try {
+            return Optional.of(buildKey(criteria));
+        } catch (RuntimeException e) {
+            log.debug("Search cache unavailable: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Invalidate searches that can contain the changed cars, after commit
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        try {
+            if (event.getMakeNames().isEmpty()) {
+                bump(EPOCH);
+                return;
+            }
+            bump(ALL_MAKES);
+            event.getMakeNames().forEach(make -> bump(MAKE_PREFIX + make));
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate search cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Invalidate every cached search when dealers, badges or reference
+     * names change in the database
+     *
+     * Car row notifications are skipped: the application's own writes are
+     * already handled per make by onCarChanged, and the notification does
+     * not carry the make (external car edits are bounded by the TTLs).
+     */
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (!event.isCarChange()) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidate every cached search (e.g. reference data renamed)
+     */
+    public void invalidateAll() {
+        try {
+            bump(EPOCH);
+        } catch (RuntimeException e) {
+            log.warn("Failed to invalidate search cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the L1 cache
+     */
+    public CacheStats l1Stats() {
+        return l1.stats();
+    }
+
+    public long l1EstimatedSize() {
+        return l1.estimatedSize();
+    }
+
+    private void bump(String generation) {
+        if (!l2Available()) {
+            throw new IllegalStateException("L2 search cache is down");
+        }
+        try {
+            generations.put(generation, store.incrementGeneration(generation));
+            l2Succeeded();
+        } catch (RuntimeException e) {
+            l2Failed(e);
+            throw e;
+        }
+    }
+
+    private long generation(String name) {
+        return generations.get(name, this::loadGeneration);
+    }
+
+    private long loadGeneration(String name) {
+        if (!l2Available()) {
+            throw new IllegalStateException("L2 search cache is down");
+        }
+        try {
+            long generation = store.getGeneration(name);
+            l2Succeeded();
+            return generation;
+        } catch (RuntimeException e) {
+            l2Failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether L2 may be called: true while up; while down, true for the one
+     * caller that probes it after the retry delay
+     */
+    private boolean l2Available() {
+        long downUntil = l2DownUntil.get();
+        if (downUntil == 0) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        return now >= downUntil && l2DownUntil.compareAndSet(downUntil, now + l2RetryMillis);
+    }
+
+    private void l2Succeeded() {
+        if (l2DownUntil.get() != 0 && l2DownUntil.getAndSet(0) != 0) {
+            log.info("Search cache L2 is back");
+        }
+    }
+
+    private void l2Failed(RuntimeException e) {
+        if (l2DownUntil.getAndSet(System.currentTimeMillis() + l2RetryMillis) == 0) {
+            log.warn("Search cache L2 down, searches uncached for {} ms between retries: {}",
+                    l2RetryMillis, e.getMessage());
+            l1.invalidateAll();
+        }
+    }
+
+    private String buildKey(CarFilterCriteria criteria) {
+        String make = fold(criteria.getSelectedMake()).trim();
+        String scope = make.isEmpty()
+                ? ALL_MAKES + "." + generation(ALL_MAKES)
+                : MAKE_PREFIX + make + "." + generation(MAKE_PREFIX + make);
+        return "search:" + generation(EPOCH) + ":" + scope + ":" + hash(canonicalize(criteria));
+    }
+
+    /**
+     * Canonical form of the criteria: equivalent searches, same string
+     *
+     * Only merges criteria the search treats the same: names are case
+     * folded (filters compare lower()), body types are a set, the text and
+     * enum values are normalized the way the use case parses them.
+     */
+    static String canonicalize(CarFilterCriteria criteria) {
+        List<String> bodyTypes = criteria.getSelectedBodyTypes() == null ? List.of()
+                : criteria.getSelectedBodyTypes().stream()
+                        .map(SearchResultCache::fold)
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.toList());
+        String transmission = fold(criteria.getSelectedTransmission());
+        String engine = criteria.getEngine() == null || criteria.getEngine().isBlank() ? "default"
+                : CarFilterCriteria.SearchEngine.fromValue(criteria.getEngine()).getValue();
+
+        return String.join("|",
+                "value=" + fold(criteria.getValue()).trim(),
+                "minPrice=" + (criteria.getMinPrice() != null ? criteria.getMinPrice().stripTrailingZeros().toPlainString() : ""),
+                "maxPrice=" + (criteria.getMaxPrice() != null ? criteria.getMaxPrice().stripTrailingZeros().toPlainString() : ""),
+                "make=" + fold(criteria.getSelectedMake()),
+                "model=" + fold(criteria.getSelectedModel()),
+                "trim=" + fold(criteria.getSelectedTrim()),
+                "bodyTypes=" + String.join(",", bodyTypes),
+                "transmission=" + (transmission.equals("all") ? "" : transmission),
+                "sort=" + CarFilterCriteria.SortOption.fromValue(criteria.getSort()).getValue(),
+                "page=" + (criteria.getPage() != null ? criteria.getPage() : 0),
+                "size=" + (criteria.getSize() != null ? criteria.getSize() : 20),
+                "cursor=" + (criteria.getCursor() != null ? criteria.getCursor().trim() : ""),
+                "countMode=" + CarFilterCriteria.CountMode.fromValue(criteria.getCountMode()).getValue(),
+                "engine=" + engine);
+    }
+
+    private static String fold(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String hash(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Optional<Pagination<CarDto>> readL2(String key) {
+        if (!l2Available()) {
+            return Optional.empty();
+        }
+        Optional<String> json;
+        try {
+            json = store.get(key);
+            l2Succeeded();
+        } catch (RuntimeException e) {
+            l2Failed(e);
+            return Optional.empty();
+        }
+        if (json.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(json.get(), CachedPage.class).toPagination());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to read search cache entry {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeL2(String key, Pagination<CarDto> page) {
+        if (!l2Available()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(CachedPage.of(page));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to write search cache entry {}: {}", key, e.getMessage());
+            return;
+        }
+        try {
+            store.put(key, json, l2Ttl);
+            l2Succeeded();
+        } catch (RuntimeException e) {
+            l2Failed(e);
+        }
+    }
+
+    /**
+     * L2 entry: the page plus the slice hasNext flag Pagination does not serialize
+     */
+    record CachedPage(Pagination<CarDto> page, Boolean sliceHasNext) {
+
+        static CachedPage of(Pagination<CarDto> page) {
+            return new CachedPage(page, page.getSliceHasNext());
+        }
+
+        Pagination<CarDto> toPagination() {
+            page.setSliceHasNext(sliceHasNext);
+            return page;
+        }
+    }
+}
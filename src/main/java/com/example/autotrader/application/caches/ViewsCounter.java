@@ -0,0 +1,170 @@
+package com.example.autotrader.application.caches;
+
+import com.example.autotrader.domain.repositories.CarRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter of car detail views (cars.views_count)
+ *
+ * An UPDATE per view would serialize every request for a popular car on
+ * its row lock. Views are counted in memory instead, one LongAdder per car
+ * (striped, no lock on the request path), and flushed periodically as one
+ * batched UPDATE (CarRepository.addViews). A crash loses at most one flush
+ * interval; a failed flush is retried with the next one.
+ *
+ * Readers add unflushed() to the stored count, so a view is visible
+ * immediately. A flush adds the stored views to the cars in the car detail
+ * cache (CarDetailCache.storeViews) rather than evicting them.
+ */
+@Component
+@Slf4j
+public class ViewsCounter {
+
+    private final CarRepository carRepository;
+    private final CarDetailCache carDetailCache;
+    private final long flushIntervalMillis;
+    private final int maxPendingCars;
+
+    private final ConcurrentHashMap<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+    // Deltas taken out of pending and not yet committed (still unflushed for readers)
+    private final ConcurrentHashMap<UUID, Long> flushing = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "views-counter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ViewsCounter(CarRepository carRepository,
+                        CarDetailCache carDetailCache,
+                        @Value("${autotrader.views.flush-interval-ms:5000}") long flushIntervalMillis,
+                        @Value("${autotrader.views.max-pending-cars:100000}") int maxPendingCars) {
+        this.carRepository = carRepository;
+        this.carDetailCache = carDetailCache;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPendingCars = maxPendingCars;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::flushQuietly,
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Count one view of a car
+     */
+    public void increment(UUID carId) {
+        if (!pending.containsKey(carId) && pending.size() >= maxPendingCars) {
+            // Bounded memory: flush early instead of growing
+            executor.execute(this::flushQuietly);
+        }
+        add(carId, 1);
+    }
+
+    /**
+     * Add views to the pending counter of a car
+     *
+     * flush() removes idle counters: a counter fetched just before its
+     * removal is no longer in pending once the views are added to it. The
+     * views it still holds are then moved to the current counter
+     * (sumThenReset resets cell by cell, so flush and this method never
+     * move the same views twice).
+     */
+    private void add(UUID carId, long views) {
+        while (views > 0) {
+            LongAdder counter = pending.computeIfAbsent(carId, id -> new LongAdder());
+            counter.add(views);
+            if (pending.get(carId) == counter) {
+                return;
+            }
+            views = counter.sumThenReset();
+        }
+    }
+
+    /**
+     * Views of a car counted but not yet stored in views_count
+     */
+    public long unflushed(UUID carId) {
+        LongAdder counter = pending.get(carId);
+        Long inFlight = flushing.get(carId);
+        return (counter != null ? counter.sum() : 0) + (inFlight != null ? inFlight : 0);
+    }
+
+    /**
+     * Stored count plus the unflushed views of a car
+     */
+    public Integer withUnflushed(UUID carId, Integer storedCount) {
+        long unflushed = unflushed(carId);
+        if (unflushed == 0) {
+            return storedCount;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (storedCount != null ? storedCount : 0) + unflushed);
+    }
+
+    /**
+     * Store the counted views with one batched UPDATE
+     *
+     * @return number of cars updated
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            Map<UUID, Long> deltas = new HashMap<>();
+            pending.forEach((carId, counter) -> {
+                long delta = counter.sumThenReset();
+                if (delta > 0) {
+                    flushing.merge(carId, delta, Long::sum);
+                    deltas.put(carId, delta);
+                } else if (pending.remove(carId, counter)) {
+                    // Idle counter removed while a view was being counted on it: keep that view
+                    add(carId, counter.sumThenReset());
+                }
+            });
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                carDetailCache.storeViews(deltas, () -> carRepository.addViews(deltas));
+            } catch (RuntimeException e) {
+                // Put the views back for the next flush
+                deltas.forEach(this::add);
+                deltas.keySet().forEach(flushing::remove);
+                throw e;
+            }
+
+            // Cached details now include the views: drop the in-flight deltas
+            deltas.keySet().forEach(flushing::remove);
+            log.debug("Flushed views of {} cars", deltas.size());
+            return deltas.size();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush views, will retry: {}", e.getMessage());
+        }
+    }
+}
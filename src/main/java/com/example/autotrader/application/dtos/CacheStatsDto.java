@@ -0,0 +1,28 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hit/miss/eviction statistics of an in-process cache
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long evictionWeight;
+    
+    // Approximate number of entries
+    private long estimatedSize;
+    
+    // Estimated bytes held (weighted caches only)
+    private Long weightedSize;
+}
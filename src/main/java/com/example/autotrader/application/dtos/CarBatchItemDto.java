@@ -0,0 +1,30 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * One requested id of a batch car detail request, in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarBatchItemDto {
+    private UUID id;
+    private boolean found;
+    private CarDto car;            // null when not found
+    private String errorCode;      // CAR_NOT_FOUND when not found
+    
+    public static CarBatchItemDto found(UUID id, CarDto car) {
+        return CarBatchItemDto.builder().id(id).found(true).car(car).build();
+    }
+    
+    public static CarBatchItemDto notFound(UUID id) {
+        return CarBatchItemDto.builder().id(id).found(false).errorCode("CAR_NOT_FOUND").build();
+    }
+}
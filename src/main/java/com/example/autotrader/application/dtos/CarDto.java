@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class CarDto {
@@ -53,6 +53,7 @@ public class CarDto {
     private Boolean isSold;
     private Integer viewsCount;
     private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
     
     @Data
     @Builder
@@ -0,0 +1,65 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A validated export of search results, written when the response is streamed
+ */
+@Getter
+@RequiredArgsConstructor
+public class CarExport {
+    
+    private final Format format;
+    private final Body body;
+    
+    /**
+     * Stream the rows to out
+     * 
+     * @return number of rows written
+     */
+    public long writeTo(OutputStream out) throws IOException {
+        return body.writeTo(out);
+    }
+    
+    @FunctionalInterface
+    public interface Body {
+        long writeTo(OutputStream out) throws IOException;
+    }
+    
+    public enum Format {
+        NDJSON("ndjson", "application/x-ndjson"),
+        CSV("csv", "text/csv");
+        
+        private final String value;
+        private final String contentType;
+        
+        Format(String value, String contentType) {
+            this.value = value;
+            this.contentType = contentType;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        /**
+         * @return format, or null if the value is not a supported format
+         */
+        public static Format fromValue(String value) {
+            for (Format format : values()) {
+                if (format.value.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Facet counts for the search sidebar, e.g. "Toyota (1,203)"
+ * 
+ * Counts of a dimension ignore that dimension's own filter, so the other
+ * values of a selected facet stay visible with their counts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarFacetsDto {
+    // Listings matching every filter
+    private long total;
+    
+    private List<FacetValueDto> makes;
+    private List<FacetValueDto> models;
+    private List<FacetValueDto> bodyTypes;
+    private List<FacetValueDto> transmissions;
+    private List<FacetValueDto> conditions;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetValueDto {
+        private UUID id;
+        private String label;
+        private UUID parentId;     // make id of a model
+        private long count;
+    }
+}
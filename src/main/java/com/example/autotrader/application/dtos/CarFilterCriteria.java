@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -21,7 +22,7 @@ public class CarFilterCriteria {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     
-    // Filter by names (since we use car_listings view with denormalized data)
+    // Filter by names (since we use car_listings table with denormalized data)
     private String selectedMake;        // Make name (e.g., "Toyota", "Honda")
     private String selectedModel;       // Model name (e.g., "Camry", "Civic")
     private String selectedTrim;        // Trim name (e.g., "LE", "Sport")
@@ -39,6 +40,94 @@ public class CarFilterCriteria {
     private Integer page;
     private Integer size;
     
+    // Keyset pagination cursor (opaque, from Pagination.nextCursor)
+    // When present, page is only echoed back and no OFFSET is applied
+    private String cursor;
+    
+    // Total count mode: "exact" (COUNT query) or "estimated" (no COUNT query)
+    private String countMode;
+    
+    // Search engine: "jpa" (Specification query) or "bitmap" (in-memory index),
+    // null = configured default (autotrader.search.engine)
+    private String engine;
+    
+    /**
+     * Whether any user filter is set (the implicit is_sold = false aside)
+     */
+    public boolean hasFilters() {
+        return (value != null && !value.trim().isEmpty())
+            || minPrice != null
+            || maxPrice != null
+            || (selectedMake != null && !selectedMake.trim().isEmpty())
+            || (selectedModel != null && !selectedModel.trim().isEmpty())
+            || (selectedTrim != null && !selectedTrim.trim().isEmpty())
+            || (selectedBodyTypes != null && !selectedBodyTypes.isEmpty())
+            || (selectedTransmission != null && !selectedTransmission.trim().isEmpty()
+                && !selectedTransmission.equalsIgnoreCase("All"));
+    }
+    
+    /**
+     * Key identifying the filtered result set, independent of
+     * page/size/sort/cursor (used to cache totals across pages)
+     */
+    public String filterKey() {
+        return String.join("|",
+            String.valueOf(value != null ? value.trim().toLowerCase() : null),
+            String.valueOf(minPrice),
+            String.valueOf(maxPrice),
+            String.valueOf(selectedMake != null ? selectedMake.toLowerCase() : null),
+            String.valueOf(selectedModel != null ? selectedModel.toLowerCase() : null),
+            String.valueOf(selectedTrim != null ? selectedTrim.toLowerCase() : null),
+            String.valueOf(selectedBodyTypes),
+            String.valueOf(selectedTransmission));
+    }
+    
+    /**
+     * Which filters are set, without their values, plus sort, count mode and
+     * paging, e.g. "text+min_price+body_types:2 sort=price-asc count=exact page=offset:10+"
+     * (groups the searches that produce the same query plan)
+     */
+    public String filterShape() {
+        List<String> filters = new ArrayList<>();
+        if (value != null && !value.trim().isEmpty()) {
+            filters.add("text");
+        }
+        if (minPrice != null) {
+            filters.add("min_price");
+        }
+        if (maxPrice != null) {
+            filters.add("max_price");
+        }
+        if (selectedMake != null && !selectedMake.trim().isEmpty()) {
+            filters.add("make");
+        }
+        if (selectedModel != null && !selectedModel.trim().isEmpty()) {
+            filters.add("model");
+        }
+        if (selectedTrim != null && !selectedTrim.trim().isEmpty()) {
+            filters.add("trim");
+        }
+        if (selectedBodyTypes != null && !selectedBodyTypes.isEmpty()) {
+            filters.add("body_types:" + selectedBodyTypes.size());
+        }
+        if (selectedTransmission != null && !selectedTransmission.trim().isEmpty()
+            && !selectedTransmission.equalsIgnoreCase("All")) {
+            filters.add("transmission");
+        }
+        
+        String paging;
+        if (cursor != null && !cursor.isBlank()) {
+            paging = "cursor";
+        } else {
+            int pageValue = page != null ? page : 0;
+            paging = pageValue == 0 ? "offset:0" : pageValue < 10 ? "offset:1-9" : "offset:10+";
+        }
+        return (filters.isEmpty() ? "none" : String.join("+", filters))
+            + " sort=" + SortOption.fromValue(sort != null && !sort.isEmpty() ? sort : "relevance").getValue()
+            + " count=" + CountMode.fromValue(countMode).getValue()
+            + " page=" + paging;
+    }
+    
     public enum SortOption {
         RELEVANCE("relevance"),
         PRICE_ASC("price-asc"),
@@ -67,5 +156,52 @@ public class CarFilterCriteria {
             return RELEVANCE;
         }
     }
+    
+    public enum CountMode {
+        EXACT("exact"),
+        ESTIMATED("estimated");
+        
+        private final String value;
+        
+        CountMode(String value) {
+            this.value = value;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public static CountMode fromValue(String value) {
+            for (CountMode mode : values()) {
+                if (mode.value.equals(value)) {
+                    return mode;
+                }
+            }
+            return EXACT;
+        }
+    }
+    
+    public enum SearchEngine {
+        JPA("jpa"),
+        BITMAP("bitmap");
+        
+        private final String value;
+        
+        SearchEngine(String value) {
+            this.value = value;
+        }
+        
+        public String getValue() {
+            return value;
+        }
+        
+        public static SearchEngine fromValue(String value) {
+            for (SearchEngine engine : values()) {
+                if (engine.value.equals(value)) {
+                    return engine;
+                }
+            }
+            return JPA;
+        }
+    }
 }
-
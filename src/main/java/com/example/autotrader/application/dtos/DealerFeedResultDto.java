@@ -0,0 +1,55 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a dealer feed ingestion
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DealerFeedResultDto {
+    private UUID dealerId;
+    private String format;
+
+    // partial feed: cars missing from it are not marked sold
+    private boolean partial;
+
+    // copy (PostgreSQL staging table), batch (JDBC batches) or none (nothing changed)
+    private String strategy;
+
+    private int received;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int markedSold;
+    private int rejected;
+
+    // First rejected rows (see rejectedRowsLimit of the use case)
+    private List<RejectedRowDto> rejectedRows;
+
+    private long parseMillis;
+    private long mergeMillis;
+    private long durationMillis;
+
+    // Feed rows received per second, parse + merge
+    private long rowsPerSecond;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RejectedRowDto {
+        // Line of the feed where the row starts (CSV header is line 1)
+        private long line;
+        private String stockNumber;
+        private String reason;
+    }
+}
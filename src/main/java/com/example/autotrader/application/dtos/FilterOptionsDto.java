@@ -0,0 +1,36 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * All values of the search filters (dropdowns), sorted by label
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterOptionsDto {
+    private List<OptionDto> makes;
+    private List<OptionDto> models;
+    private List<OptionDto> trims;
+    private List<OptionDto> bodyTypes;
+    private List<OptionDto> transmissions;
+    private List<OptionDto> conditions;
+    private List<CarDto.BadgeDto> badges;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OptionDto {
+        private UUID id;
+        private String label;
+        private UUID parentId;     // make id of a model, model id of a trim
+    }
+}
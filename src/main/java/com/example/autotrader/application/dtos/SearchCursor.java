@@ -0,0 +1,77 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset pagination cursor for car search
+ *
+ * Encodes the sort key and id of the last row of a page, so the next page
+ * can be fetched with "WHERE (sortKey, id) > (lastSortKey, lastId)" instead
+ * of skipping OFFSET rows. Deep pages cost the same as page 1 and do not
+ * drift while listings are being inserted.
+ *
+ * Wire format (base64url): {@code <sort>|<sortValue>|<id>}
+ */
+@Getter
+@AllArgsConstructor
+public class SearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final CarFilterCriteria.SortOption sort;
+
+    /**
+     * Sort key of the last row (BigDecimal price, Integer year/mileage,
+     * or OffsetDateTime createdAt for relevance)
+     */
+    private final Object sortValue;
+
+    private final UUID id;
+
+    /**
+     * Encode cursor to an opaque URL-safe string
+     */
+    public String encode() {
+        String raw = sort.getValue() + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor string
+     *
+     * @param cursor opaque cursor from Pagination.nextCursor
+     * @param expectedSort sort option of the current request
+     * @return decoded cursor, or null if the cursor is malformed or was
+     *         issued for a different sort option
+     */
+    public static SearchCursor decode(String cursor, CarFilterCriteria.SortOption expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort.getValue())) {
+                return null;
+            }
+
+            return new SearchCursor(expectedSort, parseSortValue(expectedSort, parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Object parseSortValue(CarFilterCriteria.SortOption sort, String value) {
+        return switch (sort) {
+            case PRICE_ASC, PRICE_DESC -> new BigDecimal(value);
+            case YEAR_ASC, YEAR_DESC, MILEAGE_ASC, MILEAGE_DESC -> Integer.valueOf(value);
+            default -> OffsetDateTime.parse(value);
+        };
+    }
+}
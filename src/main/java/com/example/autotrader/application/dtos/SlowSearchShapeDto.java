@@ -0,0 +1,68 @@
+package com.example.autotrader.application.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slow searches of one filter shape (CarFilterCriteria.filterShape), from the recorder's buffer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowSearchShapeDto {
+    private String shape;
+
+    // Slow searches of this shape in the buffer
+    private int count;
+    private double maxMillis;
+    private double avgMillis;
+    // ISO-8601 instants
+    private String lastSeenAt;
+
+    // Slowest search of the shape
+    private SampleDto worst;
+
+    // Latest EXPLAIN ANALYZE of the shape, null until the background thread captured one
+    private PlanDto plan;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SampleDto {
+        private String at;
+        private double durationMillis;
+
+        // Criteria fields that were set (names trimmed and lower-cased)
+        private Map<String, Object> criteria;
+        private List<StatementDto> statements;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatementDto {
+        private String sql;
+        private List<Object> binds;
+        private double durationMillis;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlanDto {
+        private String capturedAt;
+
+        // Statement that was explained (the slowest of its search)
+        private String sql;
+        private String plan;
+    }
+}
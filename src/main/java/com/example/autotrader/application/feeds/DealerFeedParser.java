@@ -0,0 +1,208 @@
+package com.example.autotrader.application.feeds;
+
+import com.example.autotrader.application.dtos.CarExport;
+import com.example.autotrader.core.exceptions.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader of dealer feeds, same formats as the export
+ *
+ * - csv: RFC 4180, header row first (quoted fields may span lines)
+ * - ndjson: one JSON object per line
+ *
+ * Column names are matched without case and separators (stock_number,
+ * stockNumber). Unknown columns are ignored. A row that cannot be read is
+ * passed on with an error so it is reported, not the whole feed rejected.
+ */
+@Component
+@RequiredArgsConstructor
+public class DealerFeedParser {
+
+    /**
+     * Columns every row must have (trim, image_url and featured are optional)
+     */
+    public static final List<String> REQUIRED_COLUMNS = List.of(
+            DealerFeedRow.STOCK_NUMBER, DealerFeedRow.YEAR, DealerFeedRow.MILEAGE, DealerFeedRow.PRICE,
+            DealerFeedRow.MAKE, DealerFeedRow.MODEL, DealerFeedRow.BODY_TYPE, DealerFeedRow.TRANSMISSION,
+            DealerFeedRow.CONDITION);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Read the feed and pass each row to the consumer
+     *
+     * @param maxRows rows accepted before the feed is refused as too large
+     * @return number of rows read
+     * @throws BusinessException INVALID_FEED (CSV header) or FEED_TOO_LARGE
+     */
+    public int parse(InputStream in, CarExport.Format format, int maxRows, Consumer<DealerFeedRow> rows)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        Consumer<DealerFeedRow> limited = new Consumer<>() {
+            private int count;
+
+            @Override
+            public void accept(DealerFeedRow row) {
+                if (++count > maxRows) {
+                    throw new BusinessException("FEED_TOO_LARGE",
+                            "Feed has more than " + maxRows + " rows, split it into several partial feeds", 413);
+                }
+                rows.accept(row);
+            }
+        };
+        return format == CarExport.Format.CSV ? parseCsv(reader, limited) : parseNdjson(reader, limited);
+    }
+
+    private int parseNdjson(BufferedReader reader, Consumer<DealerFeedRow> rows) throws IOException {
+        int count = 0;
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            count++;
+            rows.accept(readJson(line, text));
+        }
+        return count;
+    }
+
+    private DealerFeedRow readJson(long line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return DealerFeedRow.malformed(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            return DealerFeedRow.malformed(line, "Expected a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        node.properties().forEach(field -> {
+            JsonNode value = field.getValue();
+            if (!value.isNull() && !value.isContainerNode()) {
+                values.put(DealerFeedRow.key(field.getKey()), value.asText());
+            }
+        });
+        return new DealerFeedRow(line, values, null);
+    }
+
+    private int parseCsv(BufferedReader reader, Consumer<DealerFeedRow> rows) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return 0;
+        }
+        List<String> columns = header.stream().map(DealerFeedRow::key).toList();
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.contains(DealerFeedRow.key(column)))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("INVALID_FEED", "Missing CSV columns: " + String.join(", ", missing));
+        }
+
+        int count = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            count++;
+            if (fields.size() != columns.size()) {
+                rows.accept(DealerFeedRow.malformed(csv.recordLine(),
+                        "Expected " + columns.size() + " columns, found " + fields.size()));
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                values.put(columns.get(i), fields.get(i));
+            }
+            rows.accept(new DealerFeedRow(csv.recordLine(), values, null));
+        }
+        return count;
+    }
+
+    /**
+     * RFC 4180 records: quoted fields with "" escapes, CRLF or LF line ends
+     */
+    private static final class CsvReader {
+
+        private final BufferedReader reader;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        /**
+         * @return the fields of the next record, null at the end of the input
+         */
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new BusinessException("INVALID_FEED", "Unterminated quoted field starting line " + recordLine);
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == -1) {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.autotrader.application.feeds;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One raw row of a dealer feed, values not validated yet
+ *
+ * @param line line of the feed where the row starts
+ * @param values values by column key (see {@link #key}); null values are absent
+ * @param error why the row could not be read (bad JSON, wrong column count), or null
+ */
+public record DealerFeedRow(long line, Map<String, String> values, String error) {
+
+    public static final String STOCK_NUMBER = "stock_number";
+    public static final String YEAR = "year";
+    public static final String MILEAGE = "mileage";
+    public static final String PRICE = "price";
+    public static final String MAKE = "make";
+    public static final String MODEL = "model";
+    public static final String TRIM = "trim";
+    public static final String BODY_TYPE = "body_type";
+    public static final String TRANSMISSION = "transmission";
+    public static final String CONDITION = "condition";
+    public static final String IMAGE_URL = "image_url";
+    public static final String FEATURED = "featured";
+
+    static DealerFeedRow malformed(long line, String error) {
+        return new DealerFeedRow(line, Map.of(), error);
+    }
+
+    /**
+     * Trimmed value of a column (one of the constants), null if absent or blank
+     */
+    public String value(String column) {
+        String value = values.get(key(column));
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Column key: lowercase without separators, so stock_number, stockNumber
+     * and "Stock Number" are the same column
+     */
+    static String key(String name) {
+        StringBuilder key = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '_' && c != '-' && !Character.isWhitespace(c) && c != '\uFEFF') {
+                key.append(c);
+            }
+        }
+        return key.toString().toLowerCase(Locale.ROOT);
+    }
+}
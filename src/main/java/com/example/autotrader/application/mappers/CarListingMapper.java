@@ -0,0 +1,54 @@
+package com.example.autotrader.application.mappers;
+
+import com.example.autotrader.application.caches.ViewsCounter;
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.application.search.BadgeCatalog;
+import com.example.autotrader.domain.entities.CarListingView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Maps car_listings rows to CarDto (search results, exports)
+ */
+@Component
+@RequiredArgsConstructor
+public class CarListingMapper {
+    
+    private final BadgeCatalog badgeCatalog;
+    private final ViewsCounter viewsCounter;
+    
+    /**
+     * Convert CarListingView to CarDto
+     * All data is already denormalized in car_listings - no lazy loading needed!
+     */
+    public CarDto toDto(CarListingView view) {
+        // Badge ids from listing row, resolved against the in-memory catalog
+        List<CarDto.BadgeDto> badgeDtos = badgeCatalog.resolve(view.getBadgeIds());
+
+        return CarDto.builder()
+                .id(view.getId())
+                .year(view.getYear())
+                .mileage(view.getMileage())
+                .price(view.getPrice())
+                .imageUrl(view.getImageUrl())
+                // Denormalized data from listing row - already joined!
+                .makeName(view.getMakeName())
+                .modelName(view.getModelName())
+                .trimName(view.getTrimName())
+                .bodyTypeName(view.getBodyTypeName())
+                .bodyTypeIcon(view.getBodyTypeIcon())
+                .transmissionType(view.getTransmissionType())
+                .conditionName(view.getConditionName())
+                .dealerName(view.getDealerName())
+                .dealerLocation(view.getDealerLocation())
+                .badges(badgeDtos)
+                .isFeatured(view.getIsFeatured())
+                .isSold(view.getIsSold())
+                .viewsCount(viewsCounter.withUnflushed(view.getId(), view.getViewsCount()))
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.autotrader.application.search;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.CarDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resolves car_listings.badge_ids for display
+ *
+ * Listing rows only carry badge ids (uuid[]) instead of a JSON object per
+ * badge per car; names and colors come from the badges of the in-memory
+ * ReferenceDataDictionary, each a single shared BadgeDto (callers must not
+ * modify the returned objects).
+ *
+ * An id the dictionary does not know yet (badge created since the last
+ * load) triggers a reload, at most once per second.
+ */
+@Component
+@RequiredArgsConstructor
+public class BadgeCatalog {
+
+    private final ReferenceDataDictionary referenceDataDictionary;
+
+    /**
+     * Resolve badge ids to badges, in the given order
+     *
+     * @param badgeIds ids from car_listings.badge_ids (may be null)
+     * @return badges; ids missing from the badges table are skipped
+     */
+    public List<CarDto.BadgeDto> resolve(UUID[] badgeIds) {
+        if (badgeIds == null || badgeIds.length == 0) {
+            return List.of();
+        }
+
+        ReferenceDataDictionary.Snapshot current = referenceDataDictionary.current();
+        List<CarDto.BadgeDto> resolved = new ArrayList<>(badgeIds.length);
+        for (UUID badgeId : badgeIds) {
+            CarDto.BadgeDto badge = current.badge(badgeId);
+            if (badge == null) {
+                // Badge created after the last load
+                current = referenceDataDictionary.refresh(current);
+                badge = current.badge(badgeId);
+            }
+            if (badge != null) {
+                resolved.add(badge);
+            }
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,487 @@
+package com.example.autotrader.application.search;
+
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.dtos.SearchCursor;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.domain.events.CarChangedEvent;
+import com.example.autotrader.domain.events.DataChangedEvent;
+import com.example.autotrader.domain.repositories.CarListingViewRepository;
+import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process bitmap index over active car listings
+ *
+ * Keeps one compressed (Roaring) bitmap of listing positions per make,
+ * model, trim, body type and transmission value, plus the sort keys of
+ * every listing. A search is answered with bitmap AND/OR, the price range
+ * and sort are applied to the surviving positions, and only the ids of the
+ * requested page are returned: the caller hydrates those rows from
+ * car_listings. The total is the exact bitmap cardinality, no COUNT query.
+ *
+ * Sync: cars saved through CarRepository publish CarChangedEvent, whose
+ * listings are re-read after commit and replaced in the index. Changes made
+ * outside the application (reference data renames, direct SQL) are picked
+ * up by the periodic full rebuild.
+ *
+ * The engine is selectable per request (engine=bitmap|jpa) to compare it
+ * with the JPA Specification path; until the index is ready, searches fall
+ * back to JPA.
+ */
+@Component
+@Slf4j
+public class BitmapSearchEngine {
+
+    private static final int LOAD_BATCH_SIZE = 5_000;
+
+    private final CarListingViewRepository carListingViewRepository;
+    private final boolean enabled;
+    private final boolean defaultEngine;
+    private final long rebuildSeconds;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bitmap-search-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock; replaced by each full rebuild
+    private Index index;
+
+    public BitmapSearchEngine(CarListingViewRepository carListingViewRepository,
+                              @Value("${autotrader.search.bitmap.enabled:true}") boolean enabled,
+                              @Value("${autotrader.search.engine:jpa}") String defaultEngine,
+                              @Value("${autotrader.search.bitmap.rebuild-seconds:600}") long rebuildSeconds) {
+        this.carListingViewRepository = carListingViewRepository;
+        this.enabled = enabled;
+        this.defaultEngine = CarFilterCriteria.SearchEngine.fromValue(defaultEngine)
+                == CarFilterCriteria.SearchEngine.BITMAP;
+        this.rebuildSeconds = rebuildSeconds;
+    }
+
+    /**
+     * Whether a request without an explicit engine should use this engine
+     */
+    public boolean isDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /**
+     * Search the index
+     *
+     * @param criteria filter criteria (page/size/cursor are passed separately)
+     * @param textMatch ids matched by criteria.value, or null if there is no text filter
+     * @param sortOption sort order
+     * @param cursor keyset cursor, or null for offset paging
+     * @param page zero-based page (ignored with a cursor)
+     * @param size page size
+     * @return ids of the page in order, or empty if the index cannot answer
+     *         (not loaded yet, or a text search the name index could not resolve)
+     */
+    public Optional<Result> search(CarFilterCriteria criteria,
+                                   NameSearchIndex.Match textMatch,
+                                   CarFilterCriteria.SortOption sortOption,
+                                   SearchCursor cursor,
+                                   int page,
+                                   int size) {
+        boolean hasText = criteria.getValue() != null && !criteria.getValue().trim().isEmpty();
+        if (hasText && textMatch == null) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Optional.empty();
+            }
+            RoaringBitmap candidates = index.filter(criteria, hasText ? textMatch : null);
+            return Optional.of(index.page(candidates, criteria, sortOption, cursor, page, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(this::rebuild);
+        executor.scheduleWithFixedDelay(this::rebuild, rebuildSeconds, rebuildSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Replace the listings of changed cars once their transaction committed
+     *
+     * Runs on the engine thread, after any rebuild already in progress, so
+     * a change committed while a rebuild was reading is applied on top of it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        executor.execute(() -> applyChanges(event.getCarIds()));
+    }
+
+    /**
+     * Apply changes reported by the database (including writes made outside
+     * the application); reference data changes rebuild the index since
+     * names are indexed
+     */
+    @EventListener
+    public void onDataChanged(DataChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (DataChangedEvent.CARS.equals(event.getTable())) {
+            executor.execute(() -> applyChanges(Set.of(event.getId())));
+        } else if (!event.isCarChange()
+                && !DataChangedEvent.DEALERS.equals(event.getTable())
+                && !DataChangedEvent.BADGES.equals(event.getTable())) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private void applyChanges(Set<UUID> carIds) {
+        try {
+            List<CarListingView> rows = carListingViewRepository.findAllByIds(carIds);
+            boolean compact;
+            lock.writeLock().lock();
+            try {
+                if (index == null) {
+                    return;
+                }
+                carIds.forEach(index::remove);
+                rows.stream()
+                        .filter(row -> !Boolean.TRUE.equals(row.getIsSold()))
+                        .forEach(index::add);
+                compact = index.needsCompaction();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (compact) {
+                executor.execute(this::rebuild);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply car changes to bitmap index: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            Index rebuilt = new Index();
+            Specification<CarListingView> active = CarListingViewSpecification.filterByCriteria(new CarFilterCriteria());
+            ScrollPosition position = ScrollPosition.keyset();
+            Window<CarListingView> window;
+            do {
+                window = carListingViewRepository.findAll(active, Sort.by("id"), LOAD_BATCH_SIZE, position);
+                window.forEach(rebuilt::add);
+                if (!window.isEmpty()) {
+                    position = window.positionAt(window.size() - 1);
+                }
+            } while (window.hasNext());
+            rebuilt.optimize();
+
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Bitmap search index built: {} listings in {} ms",
+                    rebuilt.live.getCardinality(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Failed to build bitmap search index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Page of listing ids in sort order
+     */
+    public record Result(List<UUID> ids, long total, boolean hasNext) {
+    }
+
+    /**
+     * Columnar listing store: position -> sort keys, attribute value -> bitmap of positions
+     *
+     * Positions are append-only; a changed listing is removed from the live
+     * bitmap and appended again, dead positions are dropped by the next rebuild.
+     */
+    private static final class Index {
+
+        private UUID[] ids = new UUID[1024];
+        private long[] prices = new long[1024];     // cents
+        private long[] years = new long[1024];
+        private long[] mileages = new long[1024];
+        private long[] createdAts = new long[1024]; // epoch micros
+        private int size;
+        private int dead;
+
+        private final Map<UUID, Integer> positions = new HashMap<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        private final Map<String, RoaringBitmap> makeNames = new HashMap<>();
+        private final Map<String, RoaringBitmap> modelNames = new HashMap<>();
+        private final Map<String, RoaringBitmap> trimNames = new HashMap<>();
+        private final Map<String, RoaringBitmap> bodyTypeNames = new HashMap<>();
+        private final Map<String, RoaringBitmap> transmissionTypes = new HashMap<>();
+        private final Map<UUID, RoaringBitmap> makeIds = new HashMap<>();
+        private final Map<UUID, RoaringBitmap> modelIds = new HashMap<>();
+        private final Map<UUID, RoaringBitmap> trimIds = new HashMap<>();
+
+        void add(CarListingView row) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                years = Arrays.copyOf(years, capacity);
+                mileages = Arrays.copyOf(mileages, capacity);
+                createdAts = Arrays.copyOf(createdAts, capacity);
+            }
+
+            int position = size++;
+            ids[position] = row.getId();
+            prices[position] = row.getPrice() != null ? toCents(row.getPrice(), RoundingMode.HALF_UP) : 0;
+            years[position] = row.getYear() != null ? row.getYear() : 0;
+            mileages[position] = row.getMileage() != null ? row.getMileage() : 0;
+            createdAts[position] = row.getCreatedAt() != null ? toMicros(row.getCreatedAt()) : 0;
+
+            positions.put(row.getId(), position);
+            live.add(position);
+            addTo(makeNames, lower(row.getMakeName()), position);
+            addTo(modelNames, lower(row.getModelName()), position);
+            addTo(trimNames, lower(row.getTrimName()), position);
+            addTo(bodyTypeNames, lower(row.getBodyTypeName()), position);
+            addTo(transmissionTypes, lower(row.getTransmissionType()), position);
+            addTo(makeIds, row.getMakeId(), position);
+            addTo(modelIds, row.getModelId(), position);
+            addTo(trimIds, row.getTrimId(), position);
+        }
+
+        void remove(UUID carId) {
+            Integer position = positions.remove(carId);
+            if (position != null) {
+                live.remove(position);
+                dead++;
+            }
+        }
+
+        boolean needsCompaction() {
+            return dead > 10_000 && dead > size / 4;
+        }
+
+        void optimize() {
+            live.runOptimize();
+            for (Map<?, RoaringBitmap> bitmaps : List.of(makeNames, modelNames, trimNames,
+                    bodyTypeNames, transmissionTypes, makeIds, modelIds, trimIds)) {
+                bitmaps.values().forEach(RoaringBitmap::runOptimize);
+            }
+        }
+
+        /**
+         * Positions matching the categorical filters (same semantics as
+         * CarListingViewSpecification: case-insensitive equality on names)
+         */
+        RoaringBitmap filter(CarFilterCriteria criteria, NameSearchIndex.Match textMatch) {
+            RoaringBitmap result = live.clone();
+
+            if (textMatch != null) {
+                RoaringBitmap text = new RoaringBitmap();
+                textMatch.makeIds().forEach(id -> orWith(text, makeIds.get(id)));
+                textMatch.modelIds().forEach(id -> orWith(text, modelIds.get(id)));
+                textMatch.trimIds().forEach(id -> orWith(text, trimIds.get(id)));
+                result.and(text);
+            }
+            andWith(result, makeNames, criteria.getSelectedMake());
+            andWith(result, modelNames, criteria.getSelectedModel());
+            andWith(result, trimNames, criteria.getSelectedTrim());
+            if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
+                RoaringBitmap bodyTypes = new RoaringBitmap();
+                criteria.getSelectedBodyTypes().forEach(name -> orWith(bodyTypes, bodyTypeNames.get(lower(name))));
+                result.and(bodyTypes);
+            }
+            if (criteria.getSelectedTransmission() != null
+                    && !criteria.getSelectedTransmission().equalsIgnoreCase("All")) {
+                andWith(result, transmissionTypes, criteria.getSelectedTransmission());
+            }
+            return result;
+        }
+
+        /**
+         * Apply the price range, count, and select the requested page with a
+         * bounded heap (no full sort of the candidates)
+         */
+        Result page(RoaringBitmap candidates,
+                    CarFilterCriteria criteria,
+                    CarFilterCriteria.SortOption sortOption,
+                    SearchCursor cursor,
+                    int page,
+                    int size) {
+            long minPrice = criteria.getMinPrice() != null
+                    ? toCents(criteria.getMinPrice(), RoundingMode.CEILING) : Long.MIN_VALUE;
+            long maxPrice = criteria.getMaxPrice() != null
+                    ? toCents(criteria.getMaxPrice(), RoundingMode.FLOOR) : Long.MAX_VALUE;
+
+            long[] keys = keys(sortOption);
+            boolean descending = isDescending(sortOption);
+            Comparator<Integer> order = (a, b) -> {
+                int compared = Long.compare(keys[a], keys[b]);
+                if (compared == 0) {
+                    compared = compareUuids(ids[a], ids[b]);
+                }
+                return descending ? -compared : compared;
+            };
+
+            long cursorKey = cursor != null ? cursorKey(cursor.getSortValue()) : 0;
+            int offset = cursor != null ? 0 : page * size;
+            int limit = offset + size + 1;
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(limit, 1024), order.reversed());
+
+            long total = 0;
+            IntIterator iterator = candidates.getIntIterator();
+            while (iterator.hasNext()) {
+                int position = iterator.next();
+                if (prices[position] < minPrice || prices[position] > maxPrice) {
+                    continue;
+                }
+                total++;
+
+                if (cursor != null && !isAfterCursor(keys[position], ids[position], cursorKey, cursor.getId(), descending)) {
+                    continue;
+                }
+                if (heap.size() < limit) {
+                    heap.add(position);
+                } else if (order.compare(position, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(position);
+                }
+            }
+
+            List<Integer> selected = new ArrayList<>(heap);
+            selected.sort(order);
+            List<UUID> pageIds = new ArrayList<>(size);
+            for (int i = offset; i < Math.min(offset + size, selected.size()); i++) {
+                pageIds.add(ids[selected.get(i)]);
+            }
+            return new Result(pageIds, total, selected.size() > offset + size);
+        }
+
+        private long[] keys(CarFilterCriteria.SortOption sortOption) {
+            return switch (sortOption) {
+                case PRICE_ASC, PRICE_DESC -> prices;
+                case YEAR_ASC, YEAR_DESC -> years;
+                case MILEAGE_ASC, MILEAGE_DESC -> mileages;
+                default -> createdAts;
+            };
+        }
+
+        private static boolean isDescending(CarFilterCriteria.SortOption sortOption) {
+            return switch (sortOption) {
+                case PRICE_ASC, YEAR_ASC, MILEAGE_ASC -> false;
+                default -> true; // *_DESC and relevance (newest first)
+            };
+        }
+
+        private static boolean isAfterCursor(long key, UUID id, long cursorKey, UUID cursorId, boolean descending) {
+            int compared = Long.compare(key, cursorKey);
+            if (compared == 0) {
+                compared = compareUuids(id, cursorId);
+            }
+            return descending ? compared < 0 : compared > 0;
+        }
+
+        private static long cursorKey(Object sortValue) {
+            if (sortValue instanceof BigDecimal price) {
+                return toCents(price, RoundingMode.HALF_UP);
+            }
+            if (sortValue instanceof OffsetDateTime createdAt) {
+                return toMicros(createdAt);
+            }
+            return ((Number) sortValue).longValue();
+        }
+
+        /**
+         * Unsigned comparison, same order as PostgreSQL uuid
+         */
+        private static int compareUuids(UUID a, UUID b) {
+            int compared = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            return compared != 0 ? compared
+                    : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+        }
+
+        private static long toCents(BigDecimal amount, RoundingMode roundingMode) {
+            return amount.movePointRight(2).setScale(0, roundingMode).longValue();
+        }
+
+        private static long toMicros(OffsetDateTime time) {
+            return time.toEpochSecond() * 1_000_000L + time.getNano() / 1_000;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : null;
+        }
+
+        private static <K> void addTo(Map<K, RoaringBitmap> bitmaps, K key, int position) {
+            if (key != null) {
+                bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(position);
+            }
+        }
+
+        private static void andWith(RoaringBitmap result, Map<String, RoaringBitmap> bitmaps, String name) {
+            if (name != null && !name.trim().isEmpty()) {
+                RoaringBitmap matching = bitmaps.get(lower(name));
+                if (matching == null) {
+                    result.clear();
+                } else {
+                    result.and(matching);
+                }
+            }
+        }
+
+        private static void orWith(RoaringBitmap result, RoaringBitmap bitmap) {
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+    }
+}
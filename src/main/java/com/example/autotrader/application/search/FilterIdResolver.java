@@ -0,0 +1,123 @@
+package com.example.autotrader.application.search;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves the filter names of a search (make, model, trim, body types,
+ * transmission) to ids with the in-memory ReferenceDataDictionary
+ *
+ * {@code lower(make_name) = ?} predicates need an expression index per name
+ * column; with ids resolved up front the search filters on
+ * {@code make_id IN (...) AND model_id IN (...)}, served by the composite
+ * id index, and a name no value has short-circuits to an empty result
+ * without querying the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class FilterIdResolver {
+
+    private final ReferenceDataDictionary referenceDataDictionary;
+
+    /**
+     * Resolve the filter names of the criteria
+     *
+     * @param criteria search criteria
+     * @return ids per filter, or empty if the dictionary is not loaded and
+     *         the caller should filter by name
+     */
+    public Optional<FilterIds> resolve(CarFilterCriteria criteria) {
+        ReferenceDataDictionary.Snapshot current = referenceDataDictionary.current();
+        if (current.entries(ReferenceDataDictionary.MAKES).isEmpty()) {
+            return Optional.empty();
+        }
+
+        // An unknown name stays unknown until the dictionary is reloaded on a
+        // DataChangedEvent: no reload per request, whatever names clients send
+        return Optional.of(resolve(current, criteria));
+    }
+
+    private FilterIds resolve(ReferenceDataDictionary.Snapshot dictionary, CarFilterCriteria criteria) {
+        Set<UUID> bodyTypeIds = null;
+        if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
+            bodyTypeIds = new HashSet<>();
+            for (String bodyType : criteria.getSelectedBodyTypes()) {
+                bodyTypeIds.addAll(ids(dictionary, ReferenceDataDictionary.BODY_TYPES, bodyType));
+            }
+        }
+
+        String transmission = criteria.getSelectedTransmission();
+        boolean allTransmissions = transmission == null || transmission.trim().isEmpty()
+                || transmission.equalsIgnoreCase("All");
+
+        return new FilterIds(
+                idsOrNull(dictionary, ReferenceDataDictionary.MAKES, criteria.getSelectedMake()),
+                idsOrNull(dictionary, ReferenceDataDictionary.MODELS, criteria.getSelectedModel()),
+                idsOrNull(dictionary, ReferenceDataDictionary.TRIMS, criteria.getSelectedTrim()),
+                bodyTypeIds,
+                allTransmissions ? null : ids(dictionary, ReferenceDataDictionary.TRANSMISSIONS, transmission)
+        );
+    }
+
+    private static Set<UUID> idsOrNull(ReferenceDataDictionary.Snapshot dictionary, String type, String name) {
+        return name == null || name.trim().isEmpty() ? null : ids(dictionary, type, name);
+    }
+
+    private static Set<UUID> ids(ReferenceDataDictionary.Snapshot dictionary, String type, String name) {
+        List<ReferenceDataDictionary.Entry> entries = dictionary.findByName(type, name);
+        Set<UUID> ids = new HashSet<>(entries.size());
+        entries.forEach(entry -> ids.add(entry.id()));
+        return ids;
+    }
+
+    /**
+     * Ids of each filter; null when the filter is not set, empty when it is
+     * set but no value has that name
+     */
+    public record FilterIds(Set<UUID> makeIds,
+                            Set<UUID> modelIds,
+                            Set<UUID> trimIds,
+                            Set<UUID> bodyTypeIds,
+                            Set<UUID> transmissionIds) {
+
+        /**
+         * True if a filter is set to a name that does not exist: no car matches
+         */
+        public boolean matchesNothing() {
+            return isEmpty(makeIds) || isEmpty(modelIds) || isEmpty(trimIds)
+                    || isEmpty(bodyTypeIds) || isEmpty(transmissionIds);
+        }
+
+        public FilterIds onlyMakes() {
+            return new FilterIds(makeIds, null, null, null, null);
+        }
+
+        public FilterIds onlyModels() {
+            return new FilterIds(null, modelIds, null, null, null);
+        }
+
+        public FilterIds onlyTrims() {
+            return new FilterIds(null, null, trimIds, null, null);
+        }
+
+        public FilterIds onlyBodyTypes() {
+            return new FilterIds(null, null, null, bodyTypeIds, null);
+        }
+
+        public FilterIds onlyTransmissions() {
+            return new FilterIds(null, null, null, null, transmissionIds);
+        }
+
+        private static boolean isEmpty(Set<UUID> ids) {
+            return ids != null && ids.isEmpty();
+        }
+    }
+}
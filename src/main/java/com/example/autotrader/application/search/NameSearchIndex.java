@@ -0,0 +1,203 @@
+package com.example.autotrader.application.search;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process trigram index over make/model/trim names
+ *
+ * Substring search ("value" parameter) used to be
+ * {@code lower(make_name) LIKE '%x%' OR ...} on every listing row, which no
+ * B-tree can serve. The name dictionary is tiny compared to the listings,
+ * so the substring match runs here instead and is expanded to id sets:
+ * {@code make_id IN (...) OR model_id IN (...) OR trim_id IN (...)},
+ * which the car_listings id indexes can answer.
+ *
+ * Names are indexed by trigrams; a query of 3+ characters only verifies
+ * the names sharing its rarest trigram, shorter queries scan the dictionary.
+ * The names come from the ReferenceDataDictionary snapshot: the index is
+ * rebuilt when the dictionary swaps in a new snapshot (reference data
+ * changed), so both always answer from the same data.
+ */
+@Component
+@Slf4j
+public class NameSearchIndex {
+
+    private static final List<String> NAME_TYPES = List.of(
+            ReferenceDataDictionary.MAKES, ReferenceDataDictionary.MODELS, ReferenceDataDictionary.TRIMS);
+    private static final int GRAM = 3;
+
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final int maxMatchedIds;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    public NameSearchIndex(ReferenceDataDictionary referenceDataDictionary,
+                           @Value("${autotrader.search.name-index.max-matched-ids:1000}") int maxMatchedIds) {
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.maxMatchedIds = maxMatchedIds;
+    }
+
+    /**
+     * Find make/model/trim ids whose name contains the search text
+     *
+     * @param value search text (case-insensitive)
+     * @return matched ids, or empty if the index cannot answer (dictionary
+     *         not loaded, or too many matches to be worth an IN list) and
+     *         the caller should fall back to LIKE
+     */
+    public Optional<Match> search(String value) {
+        Snapshot current = currentSnapshot();
+        if (current == null || current.size() == 0) {
+            return Optional.empty();
+        }
+
+        String needle = value.trim().toLowerCase(Locale.ROOT);
+        Match match = new Match(new HashSet<>(), new HashSet<>(), new HashSet<>());
+        int matched = 0;
+        for (int entry : current.candidates(needle)) {
+            if (!current.names[entry].contains(needle)) {
+                continue;
+            }
+            switch (current.types[entry]) {
+                case ReferenceDataDictionary.MAKES -> match.makeIds().add(current.ids[entry]);
+                case ReferenceDataDictionary.MODELS -> match.modelIds().add(current.ids[entry]);
+                default -> match.trimIds().add(current.ids[entry]);
+            }
+            if (++matched > maxMatchedIds) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(match);
+    }
+
+    /**
+     * Index of the current dictionary snapshot, rebuilt when it changed
+     */
+    private Snapshot currentSnapshot() {
+        ReferenceDataDictionary.Snapshot source;
+        try {
+            source = referenceDataDictionary.current();
+        } catch (RuntimeException e) {
+            log.warn("Reference data not available for the name search index: {}", e.getMessage());
+            return snapshot;
+        }
+        Snapshot current = snapshot;
+        if (current != null && current.source == source) {
+            return current;
+        }
+
+        // First build blocks; later rebuilds are done by one thread while
+        // the others keep using the previous index
+        if (current == null) {
+            rebuildLock.lock();
+        } else if (!rebuildLock.tryLock()) {
+            return current;
+        }
+        try {
+            if (snapshot != null && snapshot.source == source) {
+                return snapshot;
+            }
+            snapshot = build(source);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build(ReferenceDataDictionary.Snapshot source) {
+        List<ReferenceDataDictionary.Entry> entries = new ArrayList<>();
+        NAME_TYPES.forEach(type -> entries.addAll(source.entries(type)));
+        int size = entries.size();
+        String[] names = new String[size];
+        String[] types = new String[size];
+        UUID[] ids = new UUID[size];
+        Map<String, List<Integer>> postings = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            ReferenceDataDictionary.Entry entry = entries.get(i);
+            names[i] = entry.label() != null ? entry.label().toLowerCase(Locale.ROOT) : "";
+            types[i] = entry.type();
+            ids[i] = entry.id();
+            for (String gram : trigrams(names[i])) {
+                postings.computeIfAbsent(gram, key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<String, int[]> index = new HashMap<>(postings.size() * 2);
+        postings.forEach((gram, positions) ->
+                index.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+        log.info("Built name search index: {} names, {} trigrams", size, index.size());
+        return new Snapshot(names, types, ids, index, source);
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Ids matched by a search, per dimension
+     */
+    public record Match(Set<UUID> makeIds, Set<UUID> modelIds, Set<UUID> trimIds) {
+
+        public boolean isEmpty() {
+            return makeIds.isEmpty() && modelIds.isEmpty() && trimIds.isEmpty();
+        }
+    }
+
+    /**
+     * @param source dictionary snapshot the index was built from
+     */
+    private record Snapshot(String[] names, String[] types, UUID[] ids,
+                            Map<String, int[]> index, ReferenceDataDictionary.Snapshot source) {
+
+        int size() {
+            return names.length;
+        }
+
+        /**
+         * Entries that may contain the needle: the posting list of its
+         * rarest trigram, or every entry for needles shorter than a trigram
+         */
+        int[] candidates(String needle) {
+            if (needle.length() < GRAM) {
+                int[] all = new int[names.length];
+                for (int i = 0; i < all.length; i++) {
+                    all[i] = i;
+                }
+                return all;
+            }
+
+            int[] rarest = null;
+            for (String gram : trigrams(needle)) {
+                int[] entries = index.get(gram);
+                if (entries == null) {
+                    return new int[0];
+                }
+                if (rarest == null || entries.length < rarest.length) {
+                    rarest = entries;
+                }
+            }
+            return rarest;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.autotrader.application.search;
+
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.domain.repositories.QueryPlanRepository;
+import com.example.autotrader.infrastructure.sql.SqlTrace;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Recorder of slow searches, with sampled execution plans
+ *
+ * Every search load (cache miss) runs inside a SqlTrace. A load slower than
+ * the threshold is kept in a bounded ring buffer with its normalized
+ * criteria, filter shape (CarFilterCriteria.filterShape) and the SQL and
+ * bind values of its statements. The slowest statement of a sample is
+ * then re-run under EXPLAIN ANALYZE on a background thread, at most once
+ * per shape per explain interval: the request never waits for a plan, and
+ * a burst of slow searches does not turn into a burst of EXPLAINs.
+ *
+ * The buffer holds the recent slow searches only (oldest dropped first);
+ * GetSlowSearchesUseCase groups it by shape.
+ */
+@Component
+@Slf4j
+public class SlowSearchRecorder {
+
+    // Explain tasks waiting for the background thread; more are dropped
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+
+    private final QueryPlanRepository queryPlanRepository;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int capacity;
+    private final long explainIntervalMillis;
+    private final Duration explainTimeout;
+
+    private final ArrayDeque<Sample> samples;
+    // Last explain time by shape, entries older than the interval are pruned
+    private final ConcurrentHashMap<String, Long> lastExplained = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "slow-search-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public SlowSearchRecorder(QueryPlanRepository queryPlanRepository,
+                              @Value("${autotrader.slow-search.enabled:true}") boolean enabled,
+                              @Value("${autotrader.slow-search.threshold-ms:500}") long thresholdMs,
+                              @Value("${autotrader.slow-search.capacity:200}") int capacity,
+                              @Value("${autotrader.slow-search.explain-interval-ms:300000}") long explainIntervalMs,
+                              @Value("${autotrader.slow-search.explain-timeout-ms:10000}") long explainTimeoutMs) {
+        this.queryPlanRepository = queryPlanRepository;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.capacity = capacity;
+        this.explainIntervalMillis = explainIntervalMs;
+        this.explainTimeout = Duration.ofMillis(explainTimeoutMs);
+        this.samples = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Run a search load, keeping it as a sample if it is slower than the threshold
+     *
+     * @param criteria criteria of the search
+     * @param search the load (query + mapping)
+     * @return the load's result
+     */
+    public <T> T record(CarFilterCriteria criteria, Supplier<T> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        long start = System.nanoTime();
+        SqlTrace.Traced<T> traced = SqlTrace.trace(search);
+        long elapsed = System.nanoTime() - start;
+        if (elapsed >= thresholdNanos) {
+            Sample sample = new Sample(Instant.now(), criteria.filterShape(), normalize(criteria),
+                    elapsed, traced.statements());
+            add(sample);
+            explainAsync(sample);
+        }
+        return traced.result();
+    }
+
+    /**
+     * Slow searches currently in the buffer, oldest first
+     */
+    public List<Sample> samples() {
+        synchronized (samples) {
+            return List.copyOf(samples);
+        }
+    }
+
+    public long thresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    private void add(Sample sample) {
+        log.warn("Slow search ({} ms, {} statements): {}", TimeUnit.NANOSECONDS.toMillis(sample.nanos()),
+                sample.statements().size(), sample.shape());
+        synchronized (samples) {
+            if (samples.size() >= capacity) {
+                samples.removeFirst();
+            }
+            samples.addLast(sample);
+        }
+    }
+
+    /**
+     * Explain the slowest replayable statement of the sample, unless its
+     * shape was explained less than an interval ago
+     */
+    private void explainAsync(Sample sample) {
+        Optional<SqlTrace.Statement> slowest = sample.statements().stream()
+                .filter(SqlTrace.Statement::replayable)
+                .max(Comparator.comparingLong(SqlTrace.Statement::nanos));
+        if (slowest.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastExplained.values().removeIf(at -> now - at >= explainIntervalMillis);
+        if (lastExplained.putIfAbsent(sample.shape(), now) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    queryPlanRepository.explainAnalyze(slowest.get().sql(), slowest.get().binds(), explainTimeout)
+                            .ifPresent(plan -> sample.setPlan(new Plan(slowest.get().sql(), plan, Instant.now())));
+                } catch (RuntimeException e) {
+                    log.warn("EXPLAIN of slow search {} failed: {}", sample.shape(), e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Explain thread busy: the next slow search of this shape will try again
+            lastExplained.remove(sample.shape(), now);
+        }
+    }
+
+    /**
+     * Criteria fields that are set, with trimmed / lower-cased names
+     */
+    private static Map<String, Object> normalize(CarFilterCriteria criteria) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        putIfSet(values, "value", lower(criteria.getValue()));
+        putIfSet(values, "minPrice", criteria.getMinPrice());
+        putIfSet(values, "maxPrice", criteria.getMaxPrice());
+        putIfSet(values, "make", lower(criteria.getSelectedMake()));
+        putIfSet(values, "model", lower(criteria.getSelectedModel()));
+        putIfSet(values, "trim", lower(criteria.getSelectedTrim()));
+        if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
+            values.put("bodyTypes", criteria.getSelectedBodyTypes().stream().map(SlowSearchRecorder::lower).sorted().toList());
+        }
+        putIfSet(values, "transmission", lower(criteria.getSelectedTransmission()));
+        putIfSet(values, "sort", criteria.getSort());
+        putIfSet(values, "page", criteria.getPage());
+        putIfSet(values, "size", criteria.getSize());
+        putIfSet(values, "countMode", criteria.getCountMode());
+        putIfSet(values, "engine", criteria.getEngine());
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            values.put("cursor", criteria.getCursor());
+        }
+        return values;
+    }
+
+    private static void putIfSet(Map<String, Object> values, String key, Object value) {
+        if (value != null && !(value instanceof String text && text.isEmpty())) {
+            values.put(key, value);
+        }
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.trim().toLowerCase() : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A slow search; the plan is set later by the explain thread
+     */
+    public static final class Sample {
+        private final Instant at;
+        private final String shape;
+        private final Map<String, Object> criteria;
+        private final long nanos;
+        private final List<SqlTrace.Statement> statements;
+        private volatile Plan plan;
+
+        Sample(Instant at, String shape, Map<String, Object> criteria, long nanos, List<SqlTrace.Statement> statements) {
+            this.at = at;
+            this.shape = shape;
+            this.criteria = criteria;
+            this.nanos = nanos;
+            this.statements = statements;
+        }
+
+        public Instant at() {
+            return at;
+        }
+
+        public String shape() {
+            return shape;
+        }
+
+        public Map<String, Object> criteria() {
+            return criteria;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        public List<SqlTrace.Statement> statements() {
+            return statements;
+        }
+
+        public Plan plan() {
+            return plan;
+        }
+
+        void setPlan(Plan plan) {
+            this.plan = plan;
+        }
+    }
+
+    /**
+     * EXPLAIN ANALYZE output of one statement of a sample
+     */
+    public record Plan(String sql, String text, Instant capturedAt) {
+    }
+}
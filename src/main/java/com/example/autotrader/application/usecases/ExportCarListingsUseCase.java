@@ -0,0 +1,214 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.application.dtos.CarExport;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.mappers.CarListingMapper;
+import com.example.autotrader.application.search.FilterIdResolver;
+import com.example.autotrader.application.search.NameSearchIndex;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.domain.repositories.CarListingViewRepository;
+import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Use case to export every car matching the search filters (NDJSON or CSV)
+ * 
+ * Replaces paging through /search for bulk consumers: one query, no COUNT
+ * and no OFFSET, rows read through a forward-only cursor and written to
+ * the response as they arrive, so heap use is constant whatever the size
+ * of the result.
+ */
+@Service
+@Slf4j
+public class ExportCarListingsUseCase {
+    
+    private static final String CSV_HEADER = "id,year,mileage,price,make,model,trim,body_type,transmission,"
+            + "condition,dealer,dealer_location,featured,views,created_at,badges,image_url";
+    
+    private final CarListingViewRepository carListingViewRepository;
+    private final NameSearchIndex nameSearchIndex;
+    private final FilterIdResolver filterIdResolver;
+    private final CarListingMapper carListingMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    
+    public ExportCarListingsUseCase(CarListingViewRepository carListingViewRepository,
+                                    NameSearchIndex nameSearchIndex,
+                                    FilterIdResolver filterIdResolver,
+                                    CarListingMapper carListingMapper,
+                                    ObjectMapper objectMapper) {
+        this.carListingViewRepository = carListingViewRepository;
+        this.nameSearchIndex = nameSearchIndex;
+        this.filterIdResolver = filterIdResolver;
+        this.carListingMapper = carListingMapper;
+        this.objectMapper = objectMapper;
+        // Let the generator buffer: no flush per row
+        this.rowWriter = objectMapper.writerFor(CarDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+    
+    /**
+     * Validate the export request; nothing is queried until the result is written
+     * 
+     * @param criteria Filter criteria (paging, cursor and count mode are ignored)
+     * @param format ndjson or csv
+     * @return Either with Failure or the export to stream
+     */
+    public Either<Failure, CarExport> execute(CarFilterCriteria criteria, String format) {
+        return ExecuteUseCase.execute(
+            () -> prepareExport(criteria, format),
+            "ExportCarListingsUseCase.execute",
+            "Failed to export cars"
+        );
+    }
+    
+    private Either<Failure, CarExport> prepareExport(CarFilterCriteria criteria, String format) {
+        CarExport.Format exportFormat = CarExport.Format.fromValue(format);
+        if (exportFormat == null) {
+            return Either.left(Failure.validation(
+                "INVALID_EXPORT_FORMAT",
+                "Format must be ndjson or csv"
+            ));
+        }
+        
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null 
+            && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            return Either.left(Failure.validation(
+                "INVALID_PRICE_RANGE",
+                "Max price must be greater than min price"
+            ));
+        }
+        
+        return Either.right(new CarExport(exportFormat, out -> writeExport(criteria, exportFormat, out)));
+    }
+    
+    private long writeExport(CarFilterCriteria criteria, CarExport.Format format, OutputStream out) throws IOException {
+        log.info("Exporting cars as {} with criteria: {}", format.getValue(), criteria);
+        long start = System.currentTimeMillis();
+        
+        // Resolve text search to make/model/trim ids in memory
+        NameSearchIndex.Match textMatch = null;
+        boolean empty = false;
+        if (criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
+            textMatch = nameSearchIndex.search(criteria.getValue()).orElse(null);
+            empty = textMatch != null && textMatch.isEmpty();
+        }
+        // Resolve filter names to ids; an unknown name exports nothing
+        FilterIdResolver.FilterIds filterIds = filterIdResolver.resolve(criteria).orElse(null);
+        empty = empty || (filterIds != null && filterIds.matchesNothing());
+        Specification<CarListingView> spec = CarListingViewSpecification.filterByCriteria(criteria, textMatch, filterIds);
+        
+        long rows;
+        try {
+            rows = format == CarExport.Format.NDJSON
+                    ? writeNdjson(spec, criteria, empty, out)
+                    : writeCsv(spec, criteria, empty, out);
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export
+            throw e.getCause();
+        }
+        log.info("Exported {} cars as {} in {} ms", rows, format.getValue(), System.currentTimeMillis() - start);
+        return rows;
+    }
+    
+    private long writeNdjson(Specification<CarListingView> spec, CarFilterCriteria criteria,
+                             boolean empty, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (empty) {
+                return 0;
+            }
+            return stream(spec, criteria, row -> {
+                try {
+                    rowWriter.writeValue(generator, carListingMapper.toDto(row));
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+    
+    private long writeCsv(Specification<CarListingView> spec, CarFilterCriteria criteria,
+                          boolean empty, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = empty ? 0 : stream(spec, criteria, row -> {
+            try {
+                writeCsvRow(writer, carListingMapper.toDto(row));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+        return rows;
+    }
+    
+    private long stream(Specification<CarListingView> spec, CarFilterCriteria criteria,
+                        Consumer<CarListingView> consumer) {
+        return carListingViewRepository.streamAll(
+                spec,
+                CarListingViewSpecification.sortBy(CarFilterCriteria.SortOption.fromValue(criteria.getSort())),
+                consumer
+        );
+    }
+    
+    private void writeCsvRow(Writer writer, CarDto car) throws IOException {
+        String badges = car.getBadges() == null ? null : car.getBadges().stream()
+                .map(CarDto.BadgeDto::getName)
+                .collect(Collectors.joining(";"));
+        Object[] values = {
+                car.getId(), car.getYear(), car.getMileage(),
+                car.getPrice() != null ? car.getPrice().toPlainString() : null,
+                car.getMakeName(), car.getModelName(), car.getTrimName(), car.getBodyTypeName(),
+                car.getTransmissionType(), car.getConditionName(), car.getDealerName(), car.getDealerLocation(),
+                car.getIsFeatured(), car.getViewsCount(), car.getCreatedAt(), badges, car.getImageUrl()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+    
+    /**
+     * RFC 4180 quoting: quote values containing a separator, quote or newline
+     */
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.caches.CarDetailCache;
+import com.example.autotrader.application.caches.SearchResultCache;
+import com.example.autotrader.application.dtos.CacheStatsDto;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Use case để lấy thống kê của các cache trong bộ nhớ
+ */
+@Service
+@RequiredArgsConstructor
+public class GetCacheStatsUseCase {
+    
+    private final CarDetailCache carDetailCache;
+    private final SearchResultCache searchResultCache;
+    
+    public Either<Failure, List<CacheStatsDto>> execute() {
+        return ExecuteUseCase.execute(
+                () -> Either.right(List.of(
+                        toDto("car-detail", carDetailCache.stats(),
+                                carDetailCache.estimatedSize(), carDetailCache.weightedSize()),
+                        toDto("search-l1", searchResultCache.l1Stats(),
+                                searchResultCache.l1EstimatedSize(), null))),
+                "GetCacheStatsUseCase.execute",
+                "Không thể lấy thống kê cache"
+        );
+    }
+    
+    private CacheStatsDto toDto(String name, CacheStats stats, long estimatedSize, Long weightedSize) {
+        return CacheStatsDto.builder()
+                .name(name)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .estimatedSize(estimatedSize)
+                .weightedSize(weightedSize)
+                .build();
+    }
+}
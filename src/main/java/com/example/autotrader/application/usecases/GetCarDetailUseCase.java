@@ -1,5 +1,8 @@
 package com.example.autotrader.application.usecases;
 
+import com.example.autotrader.application.caches.CarDetailCache;
+import com.example.autotrader.application.caches.ViewsCounter;
+import com.example.autotrader.application.dtos.CarBatchItemDto;
 import com.example.autotrader.application.dtos.CarDto;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
@@ -15,7 +18,12 @@ import org.springframework.stereotype.Service;
 
 import com.example.autotrader.core.usecase.ExecuteUseCase;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,20 +36,94 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GetCarDetailUseCase {
     
+    public static final int MAX_BATCH_SIZE = 50;
+    
     private final CarRepository carRepository;
+    private final CarDetailCache carDetailCache;
+    private final ViewsCounter viewsCounter;
     
+    /**
+     * Lấy chi tiết xe và đếm một lượt xem (ghi xuống DB theo batch)
+     */
     public Either<Failure, CarDto> getCarDetail(UUID carId) {
         return ExecuteUseCase.execute(
                 () -> {
-                    Car car = carRepository.findById(carId)
-                            .orElseThrow(() -> new ResourceNotFoundException("Car", carId));
-                    return Either.right(convertToDto(car));
+                    CarDetailCache.CachedCar cached = carDetailCache.get(carId, this::loadCar);
+                    viewsCounter.increment(carId);
+                    // Copy: the cached instance is shared
+                    CarDto car = cached.car().toBuilder()
+                            .viewsCount(viewsCounter.withUnflushed(carId, cached.viewsCount()))
+                            .build();
+                    return Either.right(car);
                 },
                 "GetCarDetailUseCase.getCarDetail",
                 "Không thể lấy thông tin xe"
         );
     }
     
+    /**
+     * Lấy chi tiết nhiều xe (trang so sánh, danh sách yêu thích)
+     * 
+     * Cached cars are served from CarDetailCache, all misses load in one
+     * query. Items keep the request order; an id that does not exist is
+     * reported on its item instead of failing the request. Not counted
+     * as views.
+     * 
+     * @param carIds requested ids (1..MAX_BATCH_SIZE, duplicates allowed)
+     */
+    public Either<Failure, List<CarBatchItemDto>> getCarDetails(List<UUID> carIds) {
+        return ExecuteUseCase.execute(
+                () -> {
+                    if (carIds == null || carIds.isEmpty()) {
+                        return Either.left(Failure.validation("EMPTY_IDS", "At least one car id is required"));
+                    }
+                    if (carIds.size() > MAX_BATCH_SIZE) {
+                        return Either.left(Failure.validation(
+                                "TOO_MANY_IDS", "At most " + MAX_BATCH_SIZE + " car ids per request"));
+                    }
+                    if (carIds.stream().anyMatch(Objects::isNull)) {
+                        return Either.left(Failure.validation("INVALID_ID", "Car ids must not be null"));
+                    }
+                    
+                    Map<UUID, CarDetailCache.CachedCar> cars = carDetailCache.getAll(new LinkedHashSet<>(carIds), this::loadCars);
+                    List<CarBatchItemDto> items = carIds.stream()
+                            .map(carId -> {
+                                CarDetailCache.CachedCar cached = cars.get(carId);
+                                if (cached == null) {
+                                    return CarBatchItemDto.notFound(carId);
+                                }
+                                CarDto car = cached.car().toBuilder()
+                                        .viewsCount(viewsCounter.withUnflushed(carId, cached.viewsCount()))
+                                        .build();
+                                return CarBatchItemDto.found(carId, car);
+                            })
+                            .collect(Collectors.toList());
+                    return Either.right(items);
+                },
+                "GetCarDetailUseCase.getCarDetails",
+                "Không thể lấy thông tin xe"
+        );
+    }
+    
+    private Map<UUID, CarDetailCache.CachedCar> loadCars(Set<? extends UUID> carIds) {
+        // One query for every miss: cars + reference rows + dealers + badges
+        Map<UUID, CarDetailCache.CachedCar> loaded = new HashMap<>();
+        for (Car car : carRepository.findDetailsByIds(List.copyOf(carIds))) {
+            loaded.put(car.getId(), new CarDetailCache.CachedCar(
+                    convertToDto(car),
+                    car.getDealer() != null ? car.getDealer().getId() : null));
+        }
+        return loaded;
+    }
+    
+    private CarDetailCache.CachedCar loadCar(UUID carId) {
+        // One query: car + reference rows + dealer + badges
+        Car car = carRepository.findDetailById(carId)
+                .orElseThrow(() -> new ResourceNotFoundException("Car", carId));
+        return new CarDetailCache.CachedCar(
+                convertToDto(car),
+                car.getDealer() != null ? car.getDealer().getId() : null);
+    }
     
     private CarDto convertToDto(Car car) {
         // Convert badges
@@ -71,6 +153,7 @@ public class GetCarDetailUseCase {
                 .isSold(car.getIsSold())
                 .viewsCount(car.getViewsCount())
                 .createdAt(car.getCreatedAt())
+                .updatedAt(car.getUpdatedAt())
                 .build();
     }
     
@@ -0,0 +1,182 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.CarFacetsDto;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.search.FilterIdResolver;
+import com.example.autotrader.application.search.NameSearchIndex;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.domain.repositories.CarListingViewRepository;
+import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Use case to count search facets (make, model, body type, transmission,
+ * condition) for the current filters
+ * 
+ * All facets come from one grouped query over car_listings: filters of the
+ * faceted dimensions are evaluated inside the aggregates, so each facet
+ * leaves out its own filter. Labels come from the in-memory
+ * ReferenceDataDictionary.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GetCarFacetsUseCase {
+    private final CarListingViewRepository carListingViewRepository;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final NameSearchIndex nameSearchIndex;
+    private final FilterIdResolver filterIdResolver;
+
+    /**
+     * Execute facet counting with filters
+     * 
+     * @param criteria Filter criteria (sort and paging are ignored)
+     * @return Either with Failure or CarFacetsDto
+     */
+    public Either<Failure, CarFacetsDto> execute(CarFilterCriteria criteria) {
+        return ExecuteUseCase.execute(
+            () -> executeFacets(criteria),
+            "GetCarFacetsUseCase.execute",
+            "Failed to count facets"
+        );
+    }
+
+    private Either<Failure, CarFacetsDto> executeFacets(CarFilterCriteria criteria) {
+        log.info("Executing GetCarFacetsUseCase with criteria: {}", criteria);
+
+        // Validate criteria
+        if (criteria.getMinPrice() != null && criteria.getMaxPrice() != null 
+            && criteria.getMinPrice().compareTo(criteria.getMaxPrice()) > 0) {
+            return Either.left(Failure.validation(
+                "INVALID_PRICE_RANGE",
+                "Max price must be greater than min price"
+            ));
+        }
+
+        // Resolve text search to make/model/trim ids in memory
+        NameSearchIndex.Match textMatch = null;
+        if (criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
+            textMatch = nameSearchIndex.search(criteria.getValue()).orElse(null);
+            if (textMatch != null && textMatch.isEmpty()) {
+                // No make/model/trim name contains the text: every count is 0
+                return Either.right(buildFacets(List.of()));
+            }
+        }
+
+        // Resolve filter names to ids in memory
+        FilterIdResolver.FilterIds filterIds = filterIdResolver.resolve(criteria).orElse(null);
+
+        // Filters shared by all facets (not faceted themselves)
+        CarFilterCriteria shared = CarFilterCriteria.builder()
+                .value(criteria.getValue())
+                .minPrice(criteria.getMinPrice())
+                .maxPrice(criteria.getMaxPrice())
+                .selectedTrim(criteria.getSelectedTrim())
+                .build();
+        if (filterIds != null && filterIds.onlyTrims().matchesNothing()) {
+            // Unknown trim: every count is 0
+            return Either.right(buildFacets(List.of()));
+        }
+        Specification<CarListingView> spec = CarListingViewSpecification.filterByCriteria(
+                shared, textMatch, filterIds != null ? filterIds.onlyTrims() : null);
+
+        // Filters of the faceted dimensions, keyed by facet attribute
+        // (an unknown name still leaves the other values of its own facet)
+        Map<String, Specification<CarListingView>> dimensionFilters = new LinkedHashMap<>();
+        if (hasText(criteria.getSelectedMake())) {
+            dimensionFilters.put("makeId", CarListingViewSpecification.filterByCriteria(
+                    CarFilterCriteria.builder().selectedMake(criteria.getSelectedMake()).build(),
+                    null, filterIds != null ? filterIds.onlyMakes() : null));
+        }
+        if (hasText(criteria.getSelectedModel())) {
+            dimensionFilters.put("modelId", CarListingViewSpecification.filterByCriteria(
+                    CarFilterCriteria.builder().selectedModel(criteria.getSelectedModel()).build(),
+                    null, filterIds != null ? filterIds.onlyModels() : null));
+        }
+        if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
+            dimensionFilters.put("bodyTypeId", CarListingViewSpecification.filterByCriteria(
+                    CarFilterCriteria.builder().selectedBodyTypes(criteria.getSelectedBodyTypes()).build(),
+                    null, filterIds != null ? filterIds.onlyBodyTypes() : null));
+        }
+        if (hasText(criteria.getSelectedTransmission())
+            && !criteria.getSelectedTransmission().equalsIgnoreCase("All")) {
+            dimensionFilters.put("transmissionId", CarListingViewSpecification.filterByCriteria(
+                    CarFilterCriteria.builder().selectedTransmission(criteria.getSelectedTransmission()).build(),
+                    null, filterIds != null ? filterIds.onlyTransmissions() : null));
+        }
+
+        return Either.right(buildFacets(carListingViewRepository.countFacets(spec, dimensionFilters)));
+    }
+
+    /**
+     * Roll the grouped buckets up into one count per facet value
+     */
+    private CarFacetsDto buildFacets(List<CarListingViewRepository.FacetBucket> buckets) {
+        Map<String, Map<UUID, Long>> counts = new HashMap<>();
+        long total = 0;
+        for (CarListingViewRepository.FacetBucket bucket : buckets) {
+            total += bucket.count();
+            for (String attribute : CarListingViewRepository.FACET_ATTRIBUTES) {
+                UUID id = bucket.ids().get(attribute);
+                long count = bucket.countsExcluding().get(attribute);
+                if (id != null && count > 0) {
+                    counts.computeIfAbsent(attribute, key -> new HashMap<>()).merge(id, count, Long::sum);
+                }
+            }
+        }
+
+        ReferenceDataDictionary.Snapshot options = referenceDataDictionary.current();
+
+        return CarFacetsDto.builder()
+                .total(total)
+                .makes(toFacetValues(counts.get("makeId"), options))
+                .models(toFacetValues(counts.get("modelId"), options))
+                .bodyTypes(toFacetValues(counts.get("bodyTypeId"), options))
+                .transmissions(toFacetValues(counts.get("transmissionId"), options))
+                .conditions(toFacetValues(counts.get("conditionId"), options))
+                .build();
+    }
+
+    private List<CarFacetsDto.FacetValueDto> toFacetValues(Map<UUID, Long> counts, ReferenceDataDictionary.Snapshot options) {
+        if (counts == null) {
+            return new ArrayList<>();
+        }
+
+        return counts.entrySet().stream()
+                .filter(entry -> options.get(entry.getKey()).isPresent())
+                .map(entry -> {
+                    ReferenceDataDictionary.Entry option = options.get(entry.getKey()).get();
+                    return CarFacetsDto.FacetValueDto.builder()
+                            .id(option.id())
+                            .label(option.label())
+                            .parentId(option.parentId())
+                            .count(entry.getValue())
+                            .build();
+                })
+                .sorted(Comparator.comparing(CarFacetsDto.FacetValueDto::getLabel,
+                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .collect(Collectors.toList());
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -1,53 +1,78 @@
 package com.example.autotrader.application.usecases;
 
+import com.example.autotrader.application.caches.SearchCountCache;
+import com.example.autotrader.application.caches.SearchResultCache;
 import com.example.autotrader.application.dtos.CarDto;
 import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.dtos.SearchCursor;
+import com.example.autotrader.application.mappers.CarListingMapper;
+import com.example.autotrader.application.search.BitmapSearchEngine;
+import com.example.autotrader.application.search.FilterIdResolver;
+import com.example.autotrader.application.search.NameSearchIndex;
+import com.example.autotrader.application.search.SlowSearchRecorder;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
 import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.example.autotrader.core.usecase.FanOut;
 import com.example.autotrader.domain.entities.CarListingView;
 import com.example.autotrader.domain.repositories.CarListingViewRepository;
 import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import com.example.autotrader.core.data.Pagination;
 
 /**
- * Use case to get car listings from car_listings view
+ * Use case to get car listings from car_listings table
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GetCarListUseCase {
     private final CarListingViewRepository carListingViewRepository;
-    private final ObjectMapper objectMapper;
+    private final SearchCountCache searchCountCache;
+    private final SearchResultCache searchResultCache;
+    private final NameSearchIndex nameSearchIndex;
+    private final FilterIdResolver filterIdResolver;
+    private final BitmapSearchEngine bitmapSearchEngine;
+    private final CarListingMapper carListingMapper;
+    private final FanOut fanOut;
+    private final SlowSearchRecorder slowSearchRecorder;
 
     /**
      * Execute search with filters
      * 
+     * Results are served from the two-tier search cache when possible.
+     * A load slower than autotrader.slow-search.threshold-ms is recorded
+     * (SQL, bind values, sampled plan) by SlowSearchRecorder.
+     * 
      * @param criteria Filter criteria
      * @return Either with Failure or CarListResponseDto
      */
     public Either<Failure, Pagination<CarDto>> execute(CarFilterCriteria criteria) {
         return ExecuteUseCase.execute(
-            () -> executeSearch(criteria),
+            () -> searchResultCache.getOrLoad(criteria,
+                    () -> slowSearchRecorder.record(criteria, () -> executeSearch(criteria))),
             "GetCarListUseCase.execute",
             "Failed to search cars"
         );
@@ -68,19 +93,248 @@ public class GetCarListUseCase {
             ));
         }
 
+        // Resolve text search to make/model/trim ids in memory
+        NameSearchIndex.Match textMatch = null;
+        if (criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
+            textMatch = nameSearchIndex.search(criteria.getValue()).orElse(null);
+            if (textMatch != null && textMatch.isEmpty()) {
+                // No make/model/trim name contains the text: nothing to query
+                return Either.right(emptyPage(criteria));
+            }
+        }
+
+        // Resolve filter names to ids in memory
+        FilterIdResolver.FilterIds filterIds = filterIdResolver.resolve(criteria).orElse(null);
+        if (filterIds != null && filterIds.matchesNothing()) {
+            // A filter names a make/model/... that does not exist: nothing to query
+            return Either.right(emptyPage(criteria));
+        }
+
+        // Bitmap engine: ids from the in-memory index, rows hydrated by id
+        if (useBitmapEngine(criteria)) {
+            Optional<Either<Failure, Pagination<CarDto>>> bitmapResult = executeBitmapSearch(criteria, textMatch);
+            if (bitmapResult.isPresent()) {
+                return bitmapResult.get();
+            }
+            log.debug("Bitmap index cannot answer this search, falling back to JPA");
+        }
+
+        Specification<CarListingView> spec = CarListingViewSpecification.filterByCriteria(criteria, textMatch, filterIds);
+
+        // Keyset mode: continue after the cursor row, no OFFSET
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            return executeKeysetSearch(criteria, spec);
+        }
+
         // Build pageable with sorting
         Pageable pageable = buildPageable(criteria);
+        CarFilterCriteria.SortOption sortOption = resolveSortOption(criteria.getSort());
 
-        // Query from car_listings view - SINGLE QUERY!
-        // Use specification for dynamic filtering
-        Page<CarListingView> carPage = carListingViewRepository.findAll(
-            CarListingViewSpecification.filterByCriteria(criteria), 
-            pageable
+        // Estimated mode: fetch size + 1 rows, no COUNT query
+        if (isEstimated(criteria)) {
+            Slice<CarListingView> carSlice = carListingViewRepository.findSlice(spec, pageable);
+            Pagination<CarDto> response = buildSliceResponse(
+                criteria, spec, carSlice.getContent(),
+                pageable.getPageNumber(), pageable.getPageSize(), carSlice.hasNext()
+            );
+            if (carSlice.hasNext()) {
+                response.setNextCursor(buildCursor(carSlice.getContent(), sortOption));
+            }
+            return Either.right(response);
+        }
+
+        // Query from car_listings table - SINGLE QUERY, no GROUP BY!
+        // Page rows and exact COUNT run concurrently
+        return fanOut.join(
+            () -> Either.right(carListingViewRepository.findSlice(spec, pageable)),
+            () -> Either.right(carListingViewRepository.count(spec)),
+            (carSlice, total) -> {
+                Pagination<CarDto> response = buildPaginationResponse(carSlice, total);
+                if (carSlice.hasNext()) {
+                    response.setNextCursor(buildCursor(carSlice.getContent(), sortOption));
+                }
+                return Either.right(response);
+            },
+            "GetCarListUseCase.executeSearch"
         );
+    }
 
-        Pagination<CarDto> response = buildPaginationResponse(carPage);
-        
-        return Either.right(response);
+    /**
+     * Keyset (cursor) pagination: fetch the rows following the cursor row
+     * using "(sortKey, id) > (lastSortKey, lastId)" on the sort index
+     */
+    private Either<Failure, Pagination<CarDto>> executeKeysetSearch(
+            CarFilterCriteria criteria,
+            Specification<CarListingView> spec) {
+        CarFilterCriteria.SortOption sortOption = resolveSortOption(criteria.getSort());
+        SearchCursor cursor = SearchCursor.decode(criteria.getCursor(), sortOption);
+        if (cursor == null) {
+            return Either.left(Failure.validation(
+                "INVALID_CURSOR",
+                "Cursor is invalid or was issued for a different sort order"
+            ));
+        }
+
+        int size = criteria.getSize() != null ? criteria.getSize() : 20;
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+
+        LinkedHashMap<String, Object> keys = new LinkedHashMap<>();
+        keys.put(sortProperty(sortOption), cursor.getSortValue());
+        keys.put("id", cursor.getId());
+
+        Sort sort = buildSort(criteria.getSort());
+
+        if (isEstimated(criteria)) {
+            Window<CarListingView> window = carListingViewRepository.findAll(
+                spec, sort, size, ScrollPosition.forward(keys)
+            );
+            Pagination<CarDto> response = buildSliceResponse(
+                criteria, spec, window.getContent(), page, size, window.hasNext()
+            );
+            if (window.hasNext()) {
+                response.setNextCursor(buildCursor(window.getContent(), sortOption));
+            }
+            return Either.right(response);
+        }
+
+        // Window rows and exact COUNT run concurrently
+        return fanOut.join(
+            () -> Either.right(carListingViewRepository.findAll(spec, sort, size, ScrollPosition.forward(keys))),
+            () -> Either.right(carListingViewRepository.count(spec)),
+            (window, total) -> {
+                List<CarDto> carDtos = window.getContent().stream()
+                        .map(carListingMapper::toDto)
+                        .collect(Collectors.toList());
+                Pagination<CarDto> response = Pagination.ofSlice(
+                        carDtos,
+                        page + 1,
+                        size,
+                        window.hasNext(),
+                        total,
+                        Pagination.TotalType.EXACT
+                );
+                if (window.hasNext()) {
+                    response.setNextCursor(buildCursor(window.getContent(), sortOption));
+                }
+                return Either.right(response);
+            },
+            "GetCarListUseCase.executeKeysetSearch"
+        );
+    }
+
+    private boolean useBitmapEngine(CarFilterCriteria criteria) {
+        if (criteria.getEngine() == null || criteria.getEngine().isBlank()) {
+            return bitmapSearchEngine.isDefaultEngine();
+        }
+        return CarFilterCriteria.SearchEngine.fromValue(criteria.getEngine())
+                == CarFilterCriteria.SearchEngine.BITMAP;
+    }
+
+    /**
+     * Search with the bitmap engine, then load only the page's rows by id
+     * 
+     * Total is the exact bitmap cardinality (no COUNT query, any countMode).
+     * 
+     * @return response, or empty if the index cannot answer (use JPA)
+     */
+    private Optional<Either<Failure, Pagination<CarDto>>> executeBitmapSearch(
+            CarFilterCriteria criteria,
+            NameSearchIndex.Match textMatch) {
+        CarFilterCriteria.SortOption sortOption = resolveSortOption(criteria.getSort());
+        int size = criteria.getSize() != null ? criteria.getSize() : 20;
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+
+        SearchCursor cursor = null;
+        if (criteria.getCursor() != null && !criteria.getCursor().isBlank()) {
+            cursor = SearchCursor.decode(criteria.getCursor(), sortOption);
+            if (cursor == null) {
+                return Optional.of(Either.left(Failure.validation(
+                    "INVALID_CURSOR",
+                    "Cursor is invalid or was issued for a different sort order"
+                )));
+            }
+        }
+
+        Optional<BitmapSearchEngine.Result> result = bitmapSearchEngine.search(
+            criteria, textMatch, sortOption, cursor, page, size
+        );
+        if (result.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Hydrate in index order; rows deleted since are skipped
+        Map<UUID, CarListingView> rowsById = carListingViewRepository.findAllByIds(result.get().ids()).stream()
+                .collect(Collectors.toMap(CarListingView::getId, row -> row));
+        List<CarListingView> rows = result.get().ids().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        Pagination<CarDto> response = Pagination.ofSlice(
+                rows.stream().map(carListingMapper::toDto).collect(Collectors.toList()),
+                page + 1,
+                size,
+                result.get().hasNext(),
+                result.get().total(),
+                Pagination.TotalType.EXACT
+        );
+        if (result.get().hasNext()) {
+            response.setNextCursor(buildCursor(rows, sortOption));
+        }
+        return Optional.of(Either.right(response));
+    }
+
+    private Pagination<CarDto> emptyPage(CarFilterCriteria criteria) {
+        int size = criteria.getSize() != null ? criteria.getSize() : 20;
+        int page = criteria.getPage() != null ? criteria.getPage() : 0;
+        return Pagination.of(new ArrayList<>(), page + 1, size, 0);
+    }
+
+    private boolean isEstimated(CarFilterCriteria criteria) {
+        return CarFilterCriteria.CountMode.fromValue(criteria.getCountMode())
+                == CarFilterCriteria.CountMode.ESTIMATED;
+    }
+
+    /**
+     * Build a page response without running COUNT on the request thread
+     * 
+     * Total is the exact count cached by an earlier page of the same search
+     * ("cached") or, on a miss, an estimate ("estimated"): the planner row
+     * estimate when nothing is filtered, otherwise the lower bound implied by
+     * this page. A miss schedules the exact count in the background so the
+     * next pages get a cached total.
+     */
+    private Pagination<CarDto> buildSliceResponse(
+            CarFilterCriteria criteria,
+            Specification<CarListingView> spec,
+            List<CarListingView> rows,
+            int page,
+            int size,
+            boolean hasNext) {
+        List<CarDto> carDtos = rows.stream()
+                .map(carListingMapper::toDto)
+                .collect(Collectors.toList());
+
+        String countKey = criteria.filterKey();
+        OptionalLong cached = searchCountCache.get(countKey);
+        if (cached.isPresent()) {
+            return Pagination.ofSlice(carDtos, page + 1, size, hasNext,
+                    cached.getAsLong(), Pagination.TotalType.CACHED);
+        }
+
+        searchCountCache.refreshAsync(countKey, spec);
+
+        // At least everything up to this page, plus one if more rows follow
+        long lowerBound = (long) page * size + rows.size() + (hasNext ? 1 : 0);
+        long estimate = lowerBound;
+        if (!criteria.hasFilters()) {
+            OptionalLong plannerEstimate = carListingViewRepository.estimateActiveCount();
+            if (plannerEstimate.isPresent()) {
+                estimate = Math.max(lowerBound, plannerEstimate.getAsLong());
+            }
+        }
+        return Pagination.ofSlice(carDtos, page + 1, size, hasNext,
+                estimate, Pagination.TotalType.ESTIMATED);
     }
 
     private Pageable buildPageable(CarFilterCriteria criteria) {
@@ -95,95 +349,54 @@ public class GetCarListUseCase {
         return PageRequest.of(pageValue, sizeValue, sort);
     }
 
-    private Sort buildSort(String sortOption) {
+    private CarFilterCriteria.SortOption resolveSortOption(String sortOption) {
         if (sortOption == null || sortOption.isEmpty()) {
             sortOption = "relevance";
         }
         
-        CarFilterCriteria.SortOption sortEnum = CarFilterCriteria.SortOption.fromValue(sortOption);
-        
-        return switch (sortEnum) {
-            case PRICE_ASC -> Sort.by("price").ascending();
-            case PRICE_DESC -> Sort.by("price").descending();
-            case YEAR_ASC -> Sort.by("year").ascending();
-            case YEAR_DESC -> Sort.by("year").descending();
-            case MILEAGE_ASC -> Sort.by("mileage").ascending();
-            case MILEAGE_DESC -> Sort.by("mileage").descending();
-            default -> Sort.by("createdAt").descending(); // relevance = newest first
-        };
+        return CarFilterCriteria.SortOption.fromValue(sortOption);
     }
 
-            private Pagination<CarDto> buildPaginationResponse(Page<CarListingView> carPage) {
-                List<CarDto> carDtos = carPage.getContent().stream()
-                        .map(this::convertToDto)
-                        .collect(Collectors.toList());
-                return Pagination.of(
-                        carDtos,
-                        carPage.getNumber() + 1, 
-                        carPage.getSize(),
-                        carPage.getTotalElements()
-                );
-            }
+    private Sort buildSort(String sortOption) {
+        return CarListingViewSpecification.sortBy(resolveSortOption(sortOption));
+    }
 
-    /**
-     * Convert CarListingView to CarDto
-     * All data is already denormalized in the view - no lazy loading needed!
-     */
-    private CarDto convertToDto(CarListingView view) {
-        // Parse badges JSON from view
-        List<CarDto.BadgeDto> badgeDtos = parseBadgesJson(view.getBadgesJson());
-
-        return CarDto.builder()
-                .id(view.getId())
-                .year(view.getYear())
-                .mileage(view.getMileage())
-                .price(view.getPrice())
-                .imageUrl(view.getImageUrl())
-                // Denormalized data from view - already joined!
-                .makeName(view.getMakeName())
-                .modelName(view.getModelName())
-                .trimName(view.getTrimName())
-                .bodyTypeName(view.getBodyTypeName())
-                .bodyTypeIcon(view.getBodyTypeIcon())
-                .transmissionType(view.getTransmissionType())
-                .conditionName(view.getConditionName())
-                .dealerName(view.getDealerName())
-                .dealerLocation(view.getDealerLocation())
-                .badges(badgeDtos)
-                .isFeatured(view.getIsFeatured())
-                .isSold(view.getIsSold())
-                .viewsCount(view.getViewsCount())
-                .createdAt(view.getCreatedAt())
-                .build();
+    private String sortProperty(CarFilterCriteria.SortOption sortOption) {
+        return switch (sortOption) {
+            case PRICE_ASC, PRICE_DESC -> "price";
+            case YEAR_ASC, YEAR_DESC -> "year";
+            case MILEAGE_ASC, MILEAGE_DESC -> "mileage";
+            default -> "createdAt";
+        };
     }
 
     /**
-     * Parse badges JSON from database view
-     * View returns: [{"id":"uuid","name":"Great Price","color":"#10B981"}]
+     * Build the cursor pointing at the last row of the page
      */
-    private List<CarDto.BadgeDto> parseBadgesJson(String badgesJson) {
-        if (badgesJson == null || badgesJson.trim().isEmpty() || badgesJson.equals("[]")) {
-            return new ArrayList<>();
+    private String buildCursor(List<CarListingView> rows, CarFilterCriteria.SortOption sortOption) {
+        if (rows.isEmpty()) {
+            return null;
         }
 
-        try {
-            // Parse JSON array to List of Maps
-            List<Map<String, Object>> badgesList = objectMapper.readValue(
-                badgesJson, 
-                new TypeReference<List<Map<String, Object>>>() {}
-            );
+        CarListingView last = rows.get(rows.size() - 1);
+        Object sortValue = switch (sortOption) {
+            case PRICE_ASC, PRICE_DESC -> last.getPrice();
+            case YEAR_ASC, YEAR_DESC -> last.getYear();
+            case MILEAGE_ASC, MILEAGE_DESC -> last.getMileage();
+            default -> last.getCreatedAt();
+        };
+        return new SearchCursor(sortOption, sortValue, last.getId()).encode();
+    }
 
-            return badgesList.stream()
-                .map(badgeMap -> CarDto.BadgeDto.builder()
-                    .id(UUID.fromString((String) badgeMap.get("id")))
-                    .name((String) badgeMap.get("name"))
-                    .color((String) badgeMap.get("color"))
-                    .build())
+    private Pagination<CarDto> buildPaginationResponse(Slice<CarListingView> carSlice, long total) {
+        List<CarDto> carDtos = carSlice.getContent().stream()
+                .map(carListingMapper::toDto)
                 .collect(Collectors.toList());
-
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse badges JSON: {}", badgesJson, e);
-            return new ArrayList<>();
-        }
+        return Pagination.of(
+                carDtos,
+                carSlice.getNumber() + 1,
+                carSlice.getSize(),
+                total
+        );
     }
 }
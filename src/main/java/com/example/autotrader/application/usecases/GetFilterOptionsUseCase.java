@@ -0,0 +1,79 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.FilterOptionsDto;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Use case để lấy danh sách giá trị filter (makes, models, trims, ...)
+ * 
+ * Served from the in-memory ReferenceDataDictionary, no query per request.
+ */
+@Service
+@RequiredArgsConstructor
+public class GetFilterOptionsUseCase {
+    
+    private final ReferenceDataDictionary referenceDataDictionary;
+    
+    /**
+     * @param parentId optional make id (only its models and their trims) or model id (only its trims)
+     */
+    public Either<Failure, FilterOptionsDto> execute(UUID parentId) {
+        return ExecuteUseCase.execute(
+                () -> buildOptions(parentId),
+                "GetFilterOptionsUseCase.execute",
+                "Không thể lấy danh sách filter"
+        );
+    }
+    
+    private Either<Failure, FilterOptionsDto> buildOptions(UUID parentId) {
+        ReferenceDataDictionary.Snapshot dictionary = referenceDataDictionary.current();
+        
+        List<ReferenceDataDictionary.Entry> models = dictionary.entries(ReferenceDataDictionary.MODELS);
+        List<ReferenceDataDictionary.Entry> trims = dictionary.entries(ReferenceDataDictionary.TRIMS);
+        if (parentId != null) {
+            ReferenceDataDictionary.Entry parent = dictionary.get(parentId).orElse(null);
+            if (parent == null) {
+                return Either.left(Failure.validation("UNKNOWN_PARENT", "Unknown make or model id: " + parentId));
+            }
+            if (ReferenceDataDictionary.MAKES.equals(parent.type())) {
+                models = dictionary.children(parentId);
+                trims = models.stream()
+                        .flatMap(model -> dictionary.children(model.id()).stream())
+                        .toList();
+            } else if (ReferenceDataDictionary.MODELS.equals(parent.type())) {
+                models = List.of(parent);
+                trims = dictionary.children(parentId);
+            } else {
+                return Either.left(Failure.validation("INVALID_PARENT", "Parent must be a make or model id"));
+            }
+        }
+        
+        return Either.right(FilterOptionsDto.builder()
+                .makes(toOptions(dictionary.entries(ReferenceDataDictionary.MAKES)))
+                .models(toOptions(models))
+                .trims(toOptions(trims))
+                .bodyTypes(toOptions(dictionary.entries(ReferenceDataDictionary.BODY_TYPES)))
+                .transmissions(toOptions(dictionary.entries(ReferenceDataDictionary.TRANSMISSIONS)))
+                .conditions(toOptions(dictionary.entries(ReferenceDataDictionary.CONDITIONS)))
+                .badges(List.copyOf(dictionary.badges()))
+                .build());
+    }
+    
+    private List<FilterOptionsDto.OptionDto> toOptions(List<ReferenceDataDictionary.Entry> entries) {
+        return entries.stream()
+                .map(entry -> FilterOptionsDto.OptionDto.builder()
+                        .id(entry.id())
+                        .label(entry.label())
+                        .parentId(entry.parentId())
+                        .build())
+                .toList();
+    }
+}
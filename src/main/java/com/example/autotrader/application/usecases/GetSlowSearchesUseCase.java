@@ -0,0 +1,98 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.dtos.SlowSearchShapeDto;
+import com.example.autotrader.application.search.SlowSearchRecorder;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.example.autotrader.infrastructure.sql.SqlTrace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Use case để liệt kê các dạng filter search chậm nhất, kèm execution plan
+ */
+@Service
+@RequiredArgsConstructor
+public class GetSlowSearchesUseCase {
+    
+    private static final int MAX_LIMIT = 100;
+    
+    private final SlowSearchRecorder slowSearchRecorder;
+    
+    /**
+     * @param limit number of shapes, slowest first
+     */
+    public Either<Failure, List<SlowSearchShapeDto>> execute(int limit) {
+        return ExecuteUseCase.execute(
+                () -> {
+                    if (limit < 1 || limit > MAX_LIMIT) {
+                        return Either.left(Failure.validation(
+                                "INVALID_LIMIT",
+                                "Limit must be between 1 and " + MAX_LIMIT));
+                    }
+                    Map<String, List<SlowSearchRecorder.Sample>> byShape = slowSearchRecorder.samples().stream()
+                            .collect(Collectors.groupingBy(SlowSearchRecorder.Sample::shape));
+                    return Either.right(byShape.entrySet().stream()
+                            .map(entry -> toDto(entry.getKey(), entry.getValue()))
+                            .sorted(Comparator.comparingDouble(SlowSearchShapeDto::getMaxMillis).reversed())
+                            .limit(limit)
+                            .toList());
+                },
+                "GetSlowSearchesUseCase.execute",
+                "Không thể lấy danh sách search chậm"
+        );
+    }
+    
+    /**
+     * @param samples samples of the shape, oldest first
+     */
+    private SlowSearchShapeDto toDto(String shape, List<SlowSearchRecorder.Sample> samples) {
+        SlowSearchRecorder.Sample worst = samples.stream()
+                .max(Comparator.comparingLong(SlowSearchRecorder.Sample::nanos))
+                .orElseThrow();
+        SlowSearchRecorder.Plan plan = samples.stream()
+                .map(SlowSearchRecorder.Sample::plan)
+                .filter(Objects::nonNull)
+                .max(Comparator.comparing(SlowSearchRecorder.Plan::capturedAt))
+                .orElse(null);
+        return SlowSearchShapeDto.builder()
+                .shape(shape)
+                .count(samples.size())
+                .maxMillis(millis(worst.nanos()))
+                .avgMillis(millis((long) samples.stream().mapToLong(SlowSearchRecorder.Sample::nanos).average().orElse(0)))
+                .lastSeenAt(samples.get(samples.size() - 1).at().toString())
+                .worst(SlowSearchShapeDto.SampleDto.builder()
+                        .at(worst.at().toString())
+                        .durationMillis(millis(worst.nanos()))
+                        .criteria(worst.criteria())
+                        .statements(worst.statements().stream().map(this::toDto).toList())
+                        .build())
+                .plan(plan == null ? null : SlowSearchShapeDto.PlanDto.builder()
+                        .capturedAt(plan.capturedAt().toString())
+                        .sql(plan.sql())
+                        .plan(plan.text())
+                        .build())
+                .build();
+    }
+    
+    private SlowSearchShapeDto.StatementDto toDto(SqlTrace.Statement statement) {
+        return SlowSearchShapeDto.StatementDto.builder()
+                .sql(statement.sql())
+                .binds(statement.binds().stream()
+                        .map(value -> value instanceof SqlTrace.Unsupported ? value.toString() : value)
+                        .toList())
+                .durationMillis(millis(statement.nanos()))
+                .build();
+    }
+    
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.CarExport;
+import com.example.autotrader.application.dtos.DealerFeedResultDto;
+import com.example.autotrader.application.feeds.DealerFeedParser;
+import com.example.autotrader.application.feeds.DealerFeedRow;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import com.example.autotrader.domain.repositories.DealerFeedRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Use case to ingest a dealer inventory feed (CSV or NDJSON)
+ *
+ * Rows are validated in memory against the reference data dictionary
+ * (make, model of the make, trim of the model, body type, transmission,
+ * condition) so no row reaches the database before the whole feed is read.
+ * Invalid rows are rejected and reported; the valid ones are merged by
+ * DealerFeedRepository: new stock numbers inserted, changed cars updated,
+ * cars missing from a full feed marked sold.
+ */
+@Service
+@Slf4j
+public class IngestDealerFeedUseCase {
+
+    // Same bounds as the CHECK constraints of the cars table
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2030;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("9999999999.99");
+    private static final int MAX_STOCK_NUMBER_LENGTH = 64;
+    private static final int MAX_IMAGE_URL_LENGTH = 500;
+
+    private final DealerFeedParser dealerFeedParser;
+    private final ReferenceDataDictionary referenceDataDictionary;
+    private final DealerFeedRepository dealerFeedRepository;
+    private final int maxRows;
+    private final int rejectedRowsLimit;
+
+    public IngestDealerFeedUseCase(DealerFeedParser dealerFeedParser,
+                                   ReferenceDataDictionary referenceDataDictionary,
+                                   DealerFeedRepository dealerFeedRepository,
+                                   @Value("${autotrader.feeds.max-rows:200000}") int maxRows,
+                                   @Value("${autotrader.feeds.rejected-rows-limit:100}") int rejectedRowsLimit) {
+        this.dealerFeedParser = dealerFeedParser;
+        this.referenceDataDictionary = referenceDataDictionary;
+        this.dealerFeedRepository = dealerFeedRepository;
+        this.maxRows = maxRows;
+        this.rejectedRowsLimit = rejectedRowsLimit;
+    }
+
+    /**
+     * Read, validate and merge a feed
+     *
+     * @param dealerId dealer the feed belongs to
+     * @param body feed content, read once
+     * @param format csv or ndjson
+     * @param partial true if the feed holds only some cars: none is marked sold
+     * @return Either with Failure or the counts of the ingestion
+     */
+    public Either<Failure, DealerFeedResultDto> execute(UUID dealerId, InputStream body, String format, boolean partial) {
+        return ExecuteUseCase.execute(
+            () -> ingest(dealerId, body, format, partial),
+            "IngestDealerFeedUseCase.execute",
+            "Failed to ingest dealer feed"
+        );
+    }
+
+    private Either<Failure, DealerFeedResultDto> ingest(UUID dealerId, InputStream body, String format, boolean partial) {
+        CarExport.Format feedFormat = CarExport.Format.fromValue(format);
+        if (feedFormat == null) {
+            return Either.left(Failure.validation(
+                "INVALID_FEED_FORMAT",
+                "Format must be ndjson or csv"
+            ));
+        }
+
+        long start = System.currentTimeMillis();
+        ReferenceDataDictionary.Snapshot reference = referenceDataDictionary.current();
+        List<DealerFeedRepository.FeedCar> cars = new ArrayList<>();
+        List<DealerFeedResultDto.RejectedRowDto> rejectedRows = new ArrayList<>();
+        Set<String> rejectedStockNumbers = new HashSet<>();
+        Map<String, Long> firstLines = new HashMap<>();
+        int[] rejected = {0};
+
+        int received;
+        try {
+            received = dealerFeedParser.parse(body, feedFormat, maxRows, row -> {
+                String stockNumber = row.value(DealerFeedRow.STOCK_NUMBER);
+                Either<String, DealerFeedRepository.FeedCar> car = row.error() != null
+                        ? Either.left(row.error())
+                        : resolve(row, stockNumber, reference, firstLines);
+                if (car.isRight()) {
+                    cars.add(car.rightOrNull());
+                    return;
+                }
+                rejected[0]++;
+                if (stockNumber != null) {
+                    rejectedStockNumbers.add(stockNumber);
+                }
+                if (rejectedRows.size() < rejectedRowsLimit) {
+                    rejectedRows.add(DealerFeedResultDto.RejectedRowDto.builder()
+                            .line(row.line())
+                            .stockNumber(stockNumber)
+                            .reason(car.leftOrNull())
+                            .build());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Could not read the feed of dealer {}: {}", dealerId, e.getMessage());
+            return Either.left(Failure.validation(
+                "INVALID_FEED",
+                "Could not read the feed body"
+            ));
+        }
+        long parseMillis = System.currentTimeMillis() - start;
+
+        // An empty or fully rejected full feed would mark every car of the dealer sold
+        if (cars.isEmpty() && !partial) {
+            String message;
+            if (received == 0) {
+                message = "Feed has no rows";
+            } else if (rejectedRows.isEmpty()) {
+                // rejected-rows-limit=0: no row details kept
+                message = "No valid row in the feed (" + rejected[0] + " rejected)";
+            } else {
+                message = "No valid row in the feed (" + rejected[0] + " rejected, line "
+                        + rejectedRows.get(0).getLine() + ": " + rejectedRows.get(0).getReason() + ")";
+            }
+            return Either.left(Failure.validation("EMPTY_FEED", message));
+        }
+
+        long mergeStart = System.currentTimeMillis();
+        Optional<DealerFeedRepository.MergeResult> merged =
+                dealerFeedRepository.merge(dealerId, cars, rejectedStockNumbers, !partial);
+        if (merged.isEmpty()) {
+            return Either.left(Failure.notFound("Dealer not found: " + dealerId));
+        }
+        DealerFeedRepository.MergeResult result = merged.get();
+        long end = System.currentTimeMillis();
+        long durationMillis = end - start;
+
+        log.info("Ingested {} feed of dealer {}: {} rows in {} ms ({} parse, {} merge), {} rejected",
+                feedFormat.getValue(), dealerId, received, durationMillis, parseMillis, end - mergeStart, rejected[0]);
+        return Either.right(DealerFeedResultDto.builder()
+                .dealerId(dealerId)
+                .format(feedFormat.getValue())
+                .partial(partial)
+                .strategy(result.strategy())
+                .received(received)
+                .inserted(result.inserted())
+                .updated(result.updated())
+                .unchanged(result.unchanged())
+                .markedSold(result.markedSold())
+                .rejected(rejected[0])
+                .rejectedRows(rejectedRows)
+                .parseMillis(parseMillis)
+                .mergeMillis(end - mergeStart)
+                .durationMillis(durationMillis)
+                .rowsPerSecond(received * 1000L / Math.max(durationMillis, 1))
+                .build());
+    }
+
+    /**
+     * Validate a row and resolve its names to reference ids
+     *
+     * @return the car, or why the row is rejected
+     */
+    private Either<String, DealerFeedRepository.FeedCar> resolve(DealerFeedRow row,
+                                                                  String stockNumber,
+                                                                  ReferenceDataDictionary.Snapshot reference,
+                                                                  Map<String, Long> firstLines) {
+        if (stockNumber == null) {
+            return Either.left("Missing stock_number");
+        }
+        if (stockNumber.length() > MAX_STOCK_NUMBER_LENGTH) {
+            return Either.left("stock_number longer than " + MAX_STOCK_NUMBER_LENGTH + " characters");
+        }
+        Long firstLine = firstLines.putIfAbsent(stockNumber, row.line());
+        if (firstLine != null) {
+            return Either.left("Duplicate stock_number (first on line " + firstLine + ")");
+        }
+
+        Integer year = parseInt(row.value(DealerFeedRow.YEAR));
+        if (year == null || year < MIN_YEAR || year > MAX_YEAR) {
+            return Either.left("year must be a number between " + MIN_YEAR + " and " + MAX_YEAR);
+        }
+        Integer mileage = parseInt(row.value(DealerFeedRow.MILEAGE));
+        if (mileage == null || mileage < 0) {
+            return Either.left("mileage must be a positive number");
+        }
+        BigDecimal price = parsePrice(row.value(DealerFeedRow.PRICE));
+        if (price == null) {
+            return Either.left("price must be a positive amount with at most 2 decimals");
+        }
+        String imageUrl = row.value(DealerFeedRow.IMAGE_URL);
+        if (imageUrl != null && imageUrl.length() > MAX_IMAGE_URL_LENGTH) {
+            return Either.left("image_url longer than " + MAX_IMAGE_URL_LENGTH + " characters");
+        }
+        Boolean featured = null;
+        String featuredValue = row.value(DealerFeedRow.FEATURED);
+        if (featuredValue != null) {
+            featured = parseBoolean(featuredValue);
+            if (featured == null) {
+                return Either.left("featured must be true or false");
+            }
+        }
+
+        // make -> model of the make -> trim of the model
+        String makeName = row.value(DealerFeedRow.MAKE);
+        ReferenceDataDictionary.Entry make = first(reference.findByName(ReferenceDataDictionary.MAKES, makeName));
+        if (make == null) {
+            return Either.left(makeName == null ? "Missing make" : "Unknown make: " + makeName);
+        }
+        String modelName = row.value(DealerFeedRow.MODEL);
+        ReferenceDataDictionary.Entry model = childOf(reference.findByName(ReferenceDataDictionary.MODELS, modelName), make);
+        if (model == null) {
+            return Either.left(modelName == null
+                    ? "Missing model"
+                    : "Model " + modelName + " does not belong to make " + make.label());
+        }
+        String trimName = row.value(DealerFeedRow.TRIM);
+        ReferenceDataDictionary.Entry trim = null;
+        if (trimName != null) {
+            trim = childOf(reference.findByName(ReferenceDataDictionary.TRIMS, trimName), model);
+            if (trim == null) {
+                return Either.left("Trim " + trimName + " does not belong to model " + model.label());
+            }
+        }
+
+        String bodyTypeName = row.value(DealerFeedRow.BODY_TYPE);
+        ReferenceDataDictionary.Entry bodyType = first(reference.findByName(ReferenceDataDictionary.BODY_TYPES, bodyTypeName));
+        if (bodyType == null) {
+            return Either.left(bodyTypeName == null ? "Missing body_type" : "Unknown body_type: " + bodyTypeName);
+        }
+        String transmissionName = row.value(DealerFeedRow.TRANSMISSION);
+        ReferenceDataDictionary.Entry transmission = first(reference.findByName(ReferenceDataDictionary.TRANSMISSIONS, transmissionName));
+        if (transmission == null) {
+            return Either.left(transmissionName == null ? "Missing transmission" : "Unknown transmission: " + transmissionName);
+        }
+        String conditionName = row.value(DealerFeedRow.CONDITION);
+        ReferenceDataDictionary.Entry condition = first(reference.findByName(ReferenceDataDictionary.CONDITIONS, conditionName));
+        if (condition == null) {
+            return Either.left(conditionName == null ? "Missing condition" : "Unknown condition: " + conditionName);
+        }
+
+        return Either.right(new DealerFeedRepository.FeedCar(stockNumber, year, mileage, price, imageUrl,
+                make.id(), make.label(), model.id(), trim != null ? trim.id() : null, bodyType.id(),
+                transmission.id(), condition.id(), featured));
+    }
+
+    private static ReferenceDataDictionary.Entry first(List<ReferenceDataDictionary.Entry> entries) {
+        return entries.isEmpty() ? null : entries.get(0);
+    }
+
+    /**
+     * The entry whose parent is the given one (names repeat across parents, e.g. trim "LE")
+     */
+    private static ReferenceDataDictionary.Entry childOf(List<ReferenceDataDictionary.Entry> entries,
+                                                         ReferenceDataDictionary.Entry parent) {
+        for (ReferenceDataDictionary.Entry entry : entries) {
+            if (parent.id().equals(entry.parentId())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private static Integer parseInt(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal price = new BigDecimal(value);
+            if (price.signum() < 0 || price.compareTo(MAX_PRICE) > 0 || price.stripTrailingZeros().scale() > 2) {
+                return null;
+            }
+            return price;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes", "y" -> Boolean.TRUE;
+            case "false", "0", "no", "n" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+}
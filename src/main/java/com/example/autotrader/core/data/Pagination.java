@@ -1,6 +1,8 @@
 package com.example.autotrader.core.data;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -59,6 +61,46 @@ public class Pagination<T> {
     @JsonProperty("error")
     private String error;
     
+    /**
+     * Opaque keyset cursor for fetching the next page (null on the last page)
+     */
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+    
+    /**
+     * How total was obtained: exact COUNT, cached COUNT or planner estimate
+     */
+    @JsonProperty("totalType")
+    @Builder.Default
+    private TotalType totalType = TotalType.EXACT;
+    
+    /**
+     * Whether a next page exists, when known from a slice (size + 1 rows)
+     * rather than derived from total. Null means "derive from total".
+     */
+    @JsonIgnore
+    private Boolean sliceHasNext;
+    
+    /**
+     * Source of the total count
+     */
+    public enum TotalType {
+        EXACT("exact"),
+        CACHED("cached"),
+        ESTIMATED("estimated");
+        
+        private final String value;
+        
+        TotalType(String value) {
+            this.value = value;
+        }
+        
+        @JsonValue
+        public String getValue() {
+            return value;
+        }
+    }
+    
     /**
      * Create an empty pagination
      */
@@ -86,11 +128,26 @@ public class Pagination<T> {
                 .build();
     }
     
+    /**
+     * Create pagination from a slice (page is 1-based)
+     * hasNext comes from the slice itself, total may be cached or estimated
+     */
+    public static <T> Pagination<T> ofSlice(List<T> list, int page, int pageSize, boolean hasNext,
+                                            long total, TotalType totalType) {
+        Pagination<T> pagination = of(list, page, pageSize, total);
+        pagination.setSliceHasNext(hasNext);
+        pagination.setTotalType(totalType);
+        return pagination;
+    }
+    
     /**
      * Whether the current page is the last page
      */
     @JsonProperty("last")
     public boolean isLast() {
+        if (sliceHasNext != null) {
+            return !sliceHasNext;
+        }
         return page >= pageCount;
     }
     
@@ -120,6 +177,9 @@ public class Pagination<T> {
                 .pageSize(newPageSize != null ? newPageSize : this.pageSize)
                 .total(newTotal != null ? newTotal : this.total)
                 .error(this.error)
+                .nextCursor(this.nextCursor)
+                .totalType(this.totalType)
+                .sliceHasNext(this.sliceHasNext)
                 .build();
     }
     
@@ -138,6 +198,9 @@ public class Pagination<T> {
                 .pageCount(this.pageCount)
                 .total(this.total)
                 .error(this.error)
+                .nextCursor(this.nextCursor)
+                .totalType(this.totalType)
+                .sliceHasNext(this.sliceHasNext)
                 .build();
     }
     
@@ -156,6 +219,9 @@ public class Pagination<T> {
                 .pageCount(this.pageCount)
                 .total(this.total)
                 .error(this.error)
+                .nextCursor(this.nextCursor)
+                .totalType(this.totalType)
+                .sliceHasNext(this.sliceHasNext)
                 .build();
     }
     
@@ -3,6 +3,7 @@ package com.example.autotrader.core.usecase;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
 import com.example.autotrader.core.exceptions.BusinessException;
+import com.example.autotrader.core.usecase.UseCaseMetrics.Category;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
@@ -16,6 +17,7 @@ import java.util.function.Supplier;
 /**
  * ExecuteUseCase - Unified error handling for use cases in Spring Boot.
  * Inspired by Flutter's ExecuteMixin pattern.
+ * Every call is timed and its failures counted per funcTitle (UseCaseMetrics).
  */
 @Slf4j
 public class ExecuteUseCase {
@@ -47,8 +49,9 @@ public class ExecuteUseCase {
             Function<BusinessException, Either<Failure, T>> onBusinessException,
             Function<Exception, Either<Failure, T>> onOtherException
     ) {
+        long start = System.nanoTime();
         try {
-            return func.get();
+            return UseCaseMetrics.record(funcTitle, start, null, func.get());
 
         } catch (BusinessException ex) {
             log.warn("Business exception in {}: {} - {}", funcTitle, ex.getErrorCode(), ex.getMessage());
@@ -56,26 +59,28 @@ public class ExecuteUseCase {
             if (onBusinessException != null) {
                 Either<Failure, T> handled = onBusinessException.apply(ex);
                 if (handled != null) {
-                    return handled;
+                    return UseCaseMetrics.record(funcTitle, start, Category.BUSINESS, handled);
                 }
             }
 
-            return Either.left(Failure.builder()
+            return UseCaseMetrics.record(funcTitle, start, Category.BUSINESS, Either.left(Failure.builder()
                     .errorCode(ex.getErrorCode())
                     .message(ex.getMessage())
                     .statusCode(ex.getStatusCode())
                     .details(ex.getDetails())
                     .cause(ex)
-                    .build());
+                    .build()));
 
         } catch (ResourceAccessException ex) {
             log.error("Network error in {}: {}", funcTitle, ex.getMessage());
-            return Either.left(Failure.network("Network connection error. Please try again later."));
+            return UseCaseMetrics.record(funcTitle, start, Category.NETWORK,
+                    Either.left(Failure.network("Network connection error. Please try again later.")));
 
         } catch (HttpServerErrorException ex) {
             log.error("Server error in {}: {} - {}", funcTitle, ex.getStatusCode(), ex.getMessage());
             String message = extractServiceErrorMessage(ex);
-            return Either.left(Failure.server(message != null ? message : "The system is experiencing issues. Please try again later."));
+            return UseCaseMetrics.record(funcTitle, start, Category.REMOTE,
+                    Either.left(Failure.server(message != null ? message : "The system is experiencing issues. Please try again later.")));
 
         } catch (HttpClientErrorException ex) {
             log.warn("Client error in {}: {} - {}", funcTitle, ex.getStatusCode(), ex.getMessage());
@@ -94,15 +99,16 @@ public class ExecuteUseCase {
                         defaultErrorMessage;
                 };
             }
-            return Either.left(Failure.custom(
+            return UseCaseMetrics.record(funcTitle, start, Category.REMOTE, Either.left(Failure.custom(
                     "HTTP_" + ex.getStatusCode().value(),
                     message,
                     ex.getStatusCode().value()
-            ));
+            )));
 
         } catch (DataAccessException ex) {
             log.error("Database error in {}: {}", funcTitle, ex.getMessage());
-            return Either.left(Failure.server("Database access error. Please try again later."));
+            return UseCaseMetrics.record(funcTitle, start, Category.DATA_ACCESS,
+                    Either.left(Failure.server("Database access error. Please try again later.")));
 
         } catch (Exception ex) {
             log.error("Unexpected error in {}: {}", funcTitle, ex.getMessage(), ex);
@@ -110,16 +116,16 @@ public class ExecuteUseCase {
             if (onOtherException != null) {
                 Either<Failure, T> handled = onOtherException.apply(ex);
                 if (handled != null) {
-                    return handled;
+                    return UseCaseMetrics.record(funcTitle, start, Category.UNKNOWN, handled);
                 }
             }
 
-            return Either.left(Failure.builder()
+            return UseCaseMetrics.record(funcTitle, start, Category.UNKNOWN, Either.left(Failure.builder()
                     .errorCode("UNKNOWN_ERROR")
                     .message(defaultErrorMessage)
                     .statusCode(500)
                     .cause(ex)
-                    .build());
+                    .build()));
         }
     }
 
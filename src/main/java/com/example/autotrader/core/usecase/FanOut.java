@@ -0,0 +1,166 @@
+package com.example.autotrader.core.usecase;
+
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * FanOut - Runs independent sub-queries of a use case concurrently.
+ *
+ * Each branch is a {@code Supplier<Either<Failure, T>>} run through
+ * ExecuteUseCase on a bounded pool, so exceptions become Failures the same
+ * way they do for a whole use case. The first Left (or the deadline) wins:
+ * the remaining branches are cancelled and that Failure is returned.
+ *
+ * When the pool and its queue are full, branches run on the calling thread
+ * (same result, only sequential). Every branch gets its own transaction and
+ * database connection: size the pool below the connection pool.
+ */
+@Slf4j
+public class FanOut implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration deadline;
+
+    /**
+     * @param name thread name prefix
+     * @param threads maximum concurrent branches
+     * @param queueCapacity branches waiting for a thread before running on the caller
+     * @param deadline maximum time to wait for all branches of one call
+     */
+    public FanOut(String name, int threads, int queueCapacity, Duration deadline) {
+        this(name, threads, queueCapacity, deadline, UnaryOperator.identity());
+    }
+
+    /**
+     * @param decorator wraps each branch on the calling thread, to carry its
+     *                  thread-local context (per-request SQL stats...) over to the pool
+     */
+    public FanOut(String name, int threads, int queueCapacity, Duration deadline,
+                  UnaryOperator<Runnable> decorator) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()) {
+            @Override
+            public void execute(Runnable command) {
+                super.execute(decorator.apply(command));
+            }
+        };
+        this.executor.allowCoreThreadTimeOut(true);
+        this.deadline = deadline;
+    }
+
+    /**
+     * Run two branches concurrently and merge their results
+     *
+     * @param first first branch
+     * @param second second branch
+     * @param merge combines both results (runs on the calling thread)
+     * @param funcTitle name used in logs
+     * @return merged result, or the first Failure / a timeout Failure
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B, R> Either<Failure, R> join(
+            Supplier<Either<Failure, A>> first,
+            Supplier<Either<Failure, B>> second,
+            BiFunction<A, B, Either<Failure, R>> merge,
+            String funcTitle
+    ) {
+        Either<Failure, List<Object>> results = all(
+                List.of(() -> (Either<Failure, Object>) first.get(),
+                        () -> (Either<Failure, Object>) second.get()),
+                funcTitle);
+        if (results.isLeft()) {
+            return Either.left(results.leftOrNull());
+        }
+        List<Object> values = results.rightOrNull();
+        return merge.apply((A) values.get(0), (B) values.get(1));
+    }
+
+    /**
+     * Run branches concurrently
+     *
+     * @param branches independent sub-queries
+     * @param funcTitle name used in logs
+     * @return results in branch order, or the first Failure / a timeout Failure
+     */
+    public <T> Either<Failure, List<T>> all(List<Supplier<Either<Failure, T>>> branches, String funcTitle) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        CompletionService<Either<Failure, T>> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<Either<Failure, T>>, Integer> positions = new IdentityHashMap<>();
+        List<Future<Either<Failure, T>>> futures = new ArrayList<>(branches.size());
+
+        for (int i = 0; i < branches.size(); i++) {
+            Supplier<Either<Failure, T>> branch = branches.get(i);
+            Future<Either<Failure, T>> future = completion.submit(
+                    () -> ExecuteUseCase.execute(branch, funcTitle, "Failed to run sub-query"));
+            futures.add(future);
+            positions.put(future, i);
+        }
+
+        List<T> results = new ArrayList<>(branches.size());
+        for (int i = 0; i < branches.size(); i++) {
+            results.add(null);
+        }
+        try {
+            for (int done = 0; done < branches.size(); done++) {
+                Future<Either<Failure, T>> future = completion.poll(
+                        deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    log.warn("Timed out in {} after {} ms", funcTitle, deadline.toMillis());
+                    cancel(futures);
+                    return Either.left(Failure.timeout("Request timeout. Please try again."));
+                }
+                Either<Failure, T> result = future.get();
+                if (result.isLeft()) {
+                    cancel(futures);
+                    return Either.left(result.leftOrNull());
+                }
+                results.set(positions.get(future), result.rightOrNull());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            return Either.left(Failure.timeout("Request interrupted. Please try again."));
+        } catch (ExecutionException e) {
+            // ExecuteUseCase turns exceptions into Failures; only Errors get here
+            cancel(futures);
+            log.error("Unexpected error in {}: {}", funcTitle, e.getCause().getMessage(), e.getCause());
+            return Either.left(Failure.server("Unexpected error. Please try again later."));
+        }
+        return Either.right(results);
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.autotrader.core.usecase;
+
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and failure metrics of ExecuteUseCase, one series per funcTitle
+ *
+ * - usecase.duration (timer + histogram): tags usecase, outcome (success | failure)
+ * - usecase.failures (counter): tags usecase, category, error_code
+ *
+ * ExecuteUseCase is static, so meters go to Micrometer's global registry;
+ * Spring Boot adds its registries to it (management.metrics.use-global-registry),
+ * and it is a no-op when no registry is configured. Meters are looked up
+ * once per tag combination, then cached.
+ */
+final class UseCaseMetrics {
+
+    /**
+     * Where a failure came from
+     */
+    enum Category {
+        // Left returned by the use case itself (validation, not found...)
+        RETURNED("returned"),
+        BUSINESS("business"),
+        NETWORK("network"),
+        // 4xx / 5xx answer of a remote service
+        REMOTE("remote"),
+        DATA_ACCESS("data_access"),
+        UNKNOWN("unknown");
+
+        private final String tag;
+
+        Category(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String DURATION = "usecase.duration";
+    private static final String FAILURES = "usecase.failures";
+
+    // Histogram buckets between 1ms and 30s: enough for p50..p99.9 of any use case
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(30);
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private static final MeterRegistry REGISTRY = Metrics.globalRegistry;
+
+    private UseCaseMetrics() {
+    }
+
+    /**
+     * Record the duration and, for a Left, the failure; returns the result unchanged
+     *
+     * @param category category of a failure raised as an exception; null if
+     *                 the use case returned normally
+     */
+    static <T> Either<Failure, T> record(String funcTitle, long startNanos, Category category,
+                                         Either<Failure, T> result) {
+        boolean failed = result.isLeft();
+        timer(funcTitle, failed).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            Failure failure = result.leftOrNull();
+            String errorCode = failure != null && failure.getErrorCode() != null ? failure.getErrorCode() : "NONE";
+            counter(funcTitle, category != null ? category : Category.RETURNED, errorCode).increment();
+        }
+        return result;
+    }
+
+    private static Timer timer(String funcTitle, boolean failed) {
+        String outcome = failed ? "failure" : "success";
+        return TIMERS.computeIfAbsent(funcTitle + '|' + outcome, key -> Timer.builder(DURATION)
+                .description("Duration of ExecuteUseCase.execute per use case")
+                .tag("usecase", funcTitle)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(REGISTRY));
+    }
+
+    private static Counter counter(String funcTitle, Category category, String errorCode) {
+        return COUNTERS.computeIfAbsent(funcTitle + '|' + category.tag + '|' + errorCode, key -> Counter.builder(FAILURES)
+                .description("Failures of ExecuteUseCase.execute per use case, category and error code")
+                .tag("usecase", funcTitle)
+                .tag("category", category.tag)
+                .tag("error_code", errorCode)
+                .register(REGISTRY));
+    }
+}
@@ -3,9 +3,13 @@ package com.example.autotrader.core.utilities;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
 import com.example.autotrader.presentation.dtos.ApiResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
+import java.util.function.Function;
+
 /**
  * Helper utility to convert Either<Failure, T> to ResponseEntity
  * 
@@ -91,6 +95,40 @@ public class EitherResponseHelper {
         );
     }
     
+    /**
+     * Convert Either to a cacheable ResponseEntity (conditional GET)
+     *
+     * On success the response carries ETag, Last-Modified and Cache-Control.
+     * Spring MVC compares them with If-None-Match / If-Modified-Since of a
+     * GET or HEAD and answers 304 Not Modified without writing the body.
+     * Failures are returned as with toResponse, without validators.
+     *
+     * @param etag weak or strong ETag of the data
+     * @param lastModified last modification of the data, or null if unknown
+     * @param cacheControl Cache-Control of a successful response
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> toConditionalResponse(
+        Either<Failure, T> either,
+        String successMessage,
+        Function<T, String> etag,
+        Function<T, Instant> lastModified,
+        CacheControl cacheControl
+    ) {
+        if (either.isLeft()) {
+            return toResponse(either, successMessage);
+        }
+
+        T data = either.rightOrNull();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .eTag(etag.apply(data))
+            .cacheControl(cacheControl);
+        Instant modified = lastModified.apply(data);
+        if (modified != null) {
+            builder.lastModified(modified);
+        }
+        return builder.body(ApiResponse.success(successMessage, data));
+    }
+
     /**
      * Handle Either with custom error mapper
      * Useful when you want to customize error response based on failure type
@@ -98,7 +136,7 @@ public class EitherResponseHelper {
     public static <T> ResponseEntity<ApiResponse<T>> toResponseWithErrorMapper(
         Either<Failure, T> either,
         String successMessage,
-        java.util.function.Function<Failure, String> errorMessageMapper
+        Function<Failure, String> errorMessageMapper
     ) {
         return either.fold(
             // Left case - Failure with custom mapper
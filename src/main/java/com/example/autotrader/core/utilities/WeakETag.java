@@ -0,0 +1,68 @@
+package com.example.autotrader.core.utilities;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Builds a weak ETag (W/"...") from the values a response depends on
+ *
+ * The values are folded into a 64-bit hash instead of hashing the
+ * serialized body: the tag can be computed before (or without) writing
+ * the response. "Weak" because two responses with the same tag are
+ * equivalent, not byte-identical (e.g. the timestamp differs).
+ *
+ * Example usage:
+ * <pre>
+ * {@code
+ * String etag = new WeakETag().add(car.getId()).add(car.getUpdatedAt()).build();
+ * }
+ * </pre>
+ */
+public class WeakETag {
+
+    private static final long PRIME = 0x100000001b3L;
+
+    private long hash = 0xcbf29ce484222325L;
+
+    public WeakETag add(long value) {
+        hash = (hash ^ mix(value)) * PRIME;
+        return this;
+    }
+
+    public WeakETag add(UUID value) {
+        if (value == null) {
+            return add(0L);
+        }
+        return add(value.getMostSignificantBits()).add(value.getLeastSignificantBits());
+    }
+
+    public WeakETag add(OffsetDateTime value) {
+        if (value == null) {
+            return add(0L);
+        }
+        return add(value.toEpochSecond()).add(value.getNano());
+    }
+
+    /**
+     * Add a value by its hashCode (String, Boolean, BigDecimal, ...)
+     * Only for values whose hashCode is the same in every JVM: not enums or
+     * other identity hashes, or instances would send different tags
+     */
+    public WeakETag add(Object value) {
+        return add(value != null ? value.hashCode() : 0L);
+    }
+
+    /**
+     * @return the ETag header value, e.g. W/"3f9a0c2e71d4b8a5"
+     */
+    public String build() {
+        return "W/\"" + Long.toHexString(mix(hash)) + "\"";
+    }
+
+    // SplitMix64 finalizer: spreads every input bit over the whole hash
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
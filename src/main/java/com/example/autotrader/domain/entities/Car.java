@@ -36,7 +36,11 @@ public class Car {
     
     @Column(name = "image_url", length = 500)
     private String imageUrl;
-    
+
+    // Dealer's own reference, unique per dealer (key of dealer feeds)
+    @Column(name = "stock_number", length = 64)
+    private String stockNumber;
+
     // Foreign Keys - Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "make_id", nullable = false)
@@ -85,7 +89,9 @@ public class Car {
     @Builder.Default
     private Boolean isSold = false;
     
-    @Column(name = "views_count")
+    // Only incremented by the ViewsCounter flush (CarRepository.addViews):
+    // saving a car must not overwrite counts flushed since it was loaded
+    @Column(name = "views_count", updatable = false)
     @Builder.Default
     private Integer viewsCount = 0;
     
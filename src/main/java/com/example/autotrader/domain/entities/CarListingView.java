@@ -6,24 +6,30 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 /**
- * Read-only entity mapping to car_listings database view
+ * Read-only entity mapping to car_listings denormalized table
  * 
- * This view provides:
+ * This table provides:
  * - All JOINs pre-computed (makes, models, trims, body_types, transmissions, conditions, dealers)
  * - Denormalized data for fast queries
  * - Badges aggregated as JSON
  * - Badge names as array for filtering
  * 
+ * Rows are maintained incrementally by database triggers whenever cars,
+ * car_badges or reference rows change (see refresh_car_listings in
+ * database-schema.sql), so the application never writes to it.
+ * 
  * Performance benefits:
  * - Single query instead of N+1 queries
  * - No need for lazy loading
- * - Database-level optimization with indexes on view
+ * - No GROUP BY at query time: filters and sorts hit real indexes
  */
 @Entity
 @Table(name = "car_listings")
@@ -57,7 +63,32 @@ public class CarListingView {
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
     
-    // Denormalized make/model/trim info (already joined in view)
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+    
+    // Foreign keys of the source car row
+    @Column(name = "make_id")
+    private UUID makeId;
+    
+    @Column(name = "model_id")
+    private UUID modelId;
+    
+    @Column(name = "trim_id")
+    private UUID trimId;
+    
+    @Column(name = "body_type_id")
+    private UUID bodyTypeId;
+    
+    @Column(name = "transmission_id")
+    private UUID transmissionId;
+    
+    @Column(name = "condition_id")
+    private UUID conditionId;
+    
+    @Column(name = "dealer_id")
+    private UUID dealerId;
+    
+    // Denormalized make/model/trim info (already joined in table)
     @Column(name = "make_name")
     private String makeName;
     
@@ -98,9 +129,10 @@ public class CarListingView {
     @Column(name = "badge_names", columnDefinition = "text[]")
     private String badgeNamesArray;
     
-    // Badges as JSON for display
-    // Example: [{"id":"uuid","name":"Great Price","color":"#10B981"}]
-    @Column(name = "badges", columnDefinition = "json")
-    private String badgesJson;
+    // Badge ids for display, resolved against BadgeCatalog
+    // Example: {"3f0c...", "9a1b..."}
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "badge_ids", columnDefinition = "uuid[]")
+    private UUID[] badgeIds;
 }
 
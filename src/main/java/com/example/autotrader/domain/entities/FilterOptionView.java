@@ -0,0 +1,42 @@
+package com.example.autotrader.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Read-only entity mapping to filter_options view
+ * 
+ * One row per reference value (make, model, trim, body type, transmission,
+ * condition) with its display label and parent id (model -> make,
+ * trim -> model). Small dictionary, loaded in full by in-process indexes.
+ */
+@Entity
+@Table(name = "filter_options")
+@Immutable  // Read-only entity - view
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterOptionView {
+    
+    // Reference row id (UUIDs are unique across reference tables)
+    @Id
+    @Column(name = "value")
+    private UUID value;
+    
+    // makes | models | trims | body_types | transmissions | conditions
+    @Column(name = "filter_type")
+    private String filterType;
+    
+    @Column(name = "label")
+    private String label;
+    
+    @Column(name = "parent_value")
+    private UUID parentValue;
+}
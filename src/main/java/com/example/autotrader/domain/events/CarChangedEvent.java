@@ -0,0 +1,25 @@
+package com.example.autotrader.domain.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published when cars are saved or deleted
+ * 
+ * The car_listings rows of these cars are rebuilt by database triggers in
+ * the same transaction, so listeners reading car_listings must run after
+ * commit (@TransactionalEventListener).
+ */
+@Getter
+@RequiredArgsConstructor
+public class CarChangedEvent {
+    
+    private final Set<UUID> carIds;
+    
+    // Make names of the cars before and after the change (lowercase);
+    // empty when not known, listeners must then assume any make changed
+    private final Set<String> makeNames;
+}
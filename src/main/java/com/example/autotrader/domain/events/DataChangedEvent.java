@@ -0,0 +1,54 @@
+package com.example.autotrader.domain.events;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Published when the database reports a committed row change
+ * (PostgreSQL NOTIFY on channel autotrader_changes)
+ * 
+ * Covers changes made outside the application (admin SQL, imports) as
+ * well as its own writes, so listeners must be idempotent.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DataChangedEvent {
+    
+    public static final String CARS = "cars";
+    public static final String CAR_BADGES = "car_badges";
+    // cars row whose only change is views_count (ViewsCounter flush)
+    public static final String CAR_VIEWS = "car_views";
+    public static final String DEALERS = "dealers";
+    public static final String BADGES = "badges";
+    
+    // Notifications may have been missed (listener reconnected): treat
+    // every table as changed
+    public static final String ALL = "*";
+    
+    // Table name: cars, car_badges, dealers, badges, makes, models, trims,
+    // body_types, transmissions, conditions (or car_views)
+    private final String table;
+    
+    // Row id (car id for car_badges)
+    private final UUID id;
+    
+    /**
+     * Event for "anything may have changed"
+     */
+    public static DataChangedEvent all() {
+        return new DataChangedEvent(ALL, null);
+    }
+    
+    public boolean isAll() {
+        return ALL.equals(table);
+    }
+    
+    /**
+     * Whether the change is to a car (its row, its badges or its views)
+     */
+    public boolean isCarChange() {
+        return CARS.equals(table) || CAR_BADGES.equals(table) || CAR_VIEWS.equals(table);
+    }
+}
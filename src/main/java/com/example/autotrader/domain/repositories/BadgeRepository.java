@@ -0,0 +1,16 @@
+package com.example.autotrader.domain.repositories;
+
+import com.example.autotrader.domain.entities.Badge;
+
+import java.util.List;
+
+/**
+ * Domain repository interface for badges
+ */
+public interface BadgeRepository {
+    
+    /**
+     * Find all badges (the table holds a handful of rows)
+     */
+    List<Badge> findAll();
+}
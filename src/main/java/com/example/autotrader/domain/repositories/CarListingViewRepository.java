@@ -3,15 +3,24 @@ import org.springframework.data.jpa.domain.Specification;
 import com.example.autotrader.domain.entities.CarListingView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Domain repository interface for CarListingView
  * 
  * This repository provides optimized read operations for car listings:
- * - Uses car_listings database view for performance
+ * - Uses car_listings denormalized table for performance
  * - All JOINs pre-computed at database level
  * - Single query instead of N+1 queries
  * 
@@ -20,7 +29,7 @@ import java.util.UUID;
  * - Pagination and sorting
  * - Display operations
  * 
- * Note: This is a read-only repository for the view.
+ * Note: This is a read-only repository (rows are maintained by triggers).
  * For CUD operations, use CarRepository instead.
  */
 public interface CarListingViewRepository {
@@ -42,6 +51,46 @@ public interface CarListingViewRepository {
      */
     Page<CarListingView> findAll(Specification<CarListingView> spec, Pageable pageable);
     
+    /**
+     * Find a slice of car listings without a COUNT query
+     * 
+     * Fetches size + 1 rows to know whether a next page exists.
+     * 
+     * @param spec specification for filtering
+     * @param pageable pagination and sorting information
+     * @return Slice of filtered car listings
+     */
+    Slice<CarListingView> findSlice(Specification<CarListingView> spec, Pageable pageable);
+    
+    /**
+     * Find car listings after a keyset position (cursor pagination)
+     * 
+     * No OFFSET and no COUNT query: rows are fetched with a keyset predicate
+     * on the sort properties, so every page costs the same as the first one.
+     * 
+     * @param spec specification for filtering
+     * @param sort sort order, must end with a unique property (id)
+     * @param limit maximum number of rows to return
+     * @param position keyset position of the last row of the previous page
+     * @return Window of car listings with hasNext information
+     */
+    Window<CarListingView> findAll(Specification<CarListingView> spec, Sort sort, int limit, ScrollPosition position);
+    
+    /**
+     * Stream every car listing matching spec, in sort order
+     * 
+     * Single query read through a forward-only JDBC cursor (fetch size
+     * batches, no persistence context), so memory use does not grow with
+     * the number of rows. Rows are handed to the consumer one at a time and
+     * must not be retained.
+     * 
+     * @param spec specification for filtering
+     * @param sort sort order
+     * @param consumer receives each row
+     * @return number of rows streamed
+     */
+    long streamAll(Specification<CarListingView> spec, Sort sort, Consumer<CarListingView> consumer);
+    
     /**
      * Find car listing by ID
      * 
@@ -50,6 +99,14 @@ public interface CarListingViewRepository {
      */
     Optional<CarListingView> findById(UUID id);
     
+    /**
+     * Find car listings by IDs (single query, order not guaranteed)
+     * 
+     * @param ids car listing IDs
+     * @return car listings found (missing ids are skipped)
+     */
+    List<CarListingView> findAllByIds(Collection<UUID> ids);
+    
     /**
      * Count total car listings
      * 
@@ -65,6 +122,32 @@ public interface CarListingViewRepository {
      */
     long count(Specification<CarListingView> spec);
     
+    /**
+     * Count listings per facet value combination in one grouped query
+     * 
+     * Groups the rows matching spec by all facet ids (FACET_ATTRIBUTES) and,
+     * for every dimension with a filter, also counts the rows that match all
+     * the other filters, so each facet can leave out its own filter without
+     * a separate query.
+     * 
+     * @param spec filters that apply to every facet
+     * @param dimensionFilters filter of each faceted dimension, keyed by its
+     *                         facet attribute (e.g. "makeId" -> make name filter)
+     * @return one bucket per distinct facet id combination
+     */
+    List<FacetBucket> countFacets(Specification<CarListingView> spec,
+                                  Map<String, Specification<CarListingView>> dimensionFilters);
+    
+    /**
+     * Planner estimate of the number of active (unsold) car listings
+     * 
+     * Read from table statistics (no scan), so it is only as fresh as the
+     * last ANALYZE.
+     * 
+     * @return estimated count, or empty if statistics are not available
+     */
+    OptionalLong estimateActiveCount();
+    
     /**
      * Check if car listing exists by ID
      * 
@@ -72,4 +155,20 @@ public interface CarListingViewRepository {
      * @return true if exists, false otherwise
      */
     boolean existsById(UUID id);
+    
+    /**
+     * Facet id attributes of CarListingView, in bucket order
+     */
+    List<String> FACET_ATTRIBUTES = List.of("makeId", "modelId", "bodyTypeId", "transmissionId", "conditionId");
+    
+    /**
+     * Listing count of one facet id combination
+     * 
+     * @param ids facet attribute -> id
+     * @param count rows matching every filter
+     * @param countsExcluding facet attribute -> rows matching every filter
+     *                        except that dimension's own
+     */
+    record FacetBucket(Map<String, UUID> ids, long count, Map<String, Long> countsExcluding) {
+    }
 }
@@ -5,6 +5,9 @@ import com.example.autotrader.domain.entities.Car;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +23,18 @@ public interface CarRepository {
      */
     Optional<Car> findById(UUID id);
     
+    /**
+     * Tìm xe theo ID kèm toàn bộ dữ liệu hiển thị (reference rows, dealer,
+     * badges) trong một query, không lazy loading
+     */
+    Optional<Car> findDetailById(UUID id);
+    
+    /**
+     * Tìm nhiều xe theo ID kèm toàn bộ dữ liệu hiển thị trong một query
+     * (thứ tự không xác định, ID không tồn tại bị bỏ qua)
+     */
+    List<Car> findDetailsByIds(Collection<UUID> ids);
+    
     /**
      * Lấy tất cả xe với phân trang
      */
@@ -44,4 +59,12 @@ public interface CarRepository {
      * Đếm tổng số xe
      */
     long count();
+    
+    /**
+     * Cộng dồn lượt xem (views_count) cho nhiều xe trong một transaction,
+     * bằng một JDBC batch thay vì một UPDATE cho mỗi lượt xem
+     * 
+     * @param deltas số lượt xem cần cộng thêm theo car id
+     */
+    void addViews(Map<UUID, Long> deltas);
 }
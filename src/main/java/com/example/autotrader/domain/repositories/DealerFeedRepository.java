@@ -0,0 +1,54 @@
+package com.example.autotrader.domain.repositories;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Domain repository interface for dealer inventory feeds
+ *
+ * A feed is the dealer's whole stock, keyed by stock number: cars not yet
+ * listed are inserted, listed cars whose data changed are updated (and
+ * listed again if they were sold), and listed cars missing from the feed
+ * are marked sold. Cars without a stock number (created through the API)
+ * are never touched.
+ */
+public interface DealerFeedRepository {
+
+    /**
+     * Diff a validated feed against the dealer's current inventory and apply
+     * the changes in one transaction (the dealer row is locked, so two
+     * feeds of the same dealer are applied one after the other)
+     *
+     * @param dealerId dealer the feed belongs to
+     * @param cars validated rows, one per stock number
+     * @param keptStockNumbers stock numbers of rejected rows: the dealer still
+     *                         lists these cars, they are left as they are
+     * @param markMissingSold false for a partial feed (no car is marked sold)
+     * @return counts of the applied changes, empty if the dealer does not exist
+     */
+    Optional<MergeResult> merge(UUID dealerId, List<FeedCar> cars, Collection<String> keptStockNumbers,
+                                boolean markMissingSold);
+
+    /**
+     * A feed row with its reference names resolved to ids
+     *
+     * @param featured null keeps the current flag (false for a new car)
+     */
+    record FeedCar(String stockNumber, int year, int mileage, BigDecimal price, String imageUrl,
+                   UUID makeId, String makeName, UUID modelId, UUID trimId, UUID bodyTypeId,
+                   UUID transmissionId, UUID conditionId, Boolean featured) {
+    }
+
+    /**
+     * @param strategy how the rows were written: copy (PostgreSQL staging
+     *                 table) or batch (JDBC batches)
+     * @param changedIds ids of the inserted, updated and sold cars
+     */
+    record MergeResult(int inserted, int updated, int unchanged, int markedSold, String strategy,
+                       Set<UUID> changedIds) {
+    }
+}
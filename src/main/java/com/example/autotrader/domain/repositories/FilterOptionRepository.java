@@ -0,0 +1,21 @@
+package com.example.autotrader.domain.repositories;
+
+import com.example.autotrader.domain.entities.FilterOptionView;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Domain repository interface for filter_options view
+ * Read-only access to the reference data dictionary
+ */
+public interface FilterOptionRepository {
+    
+    /**
+     * Find all options of the given filter types
+     * 
+     * @param filterTypes e.g. ["makes", "models", "trims"]
+     * @return options of those types
+     */
+    List<FilterOptionView> findByFilterTypes(Collection<String> filterTypes);
+}
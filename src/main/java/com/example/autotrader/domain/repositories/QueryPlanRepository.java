@@ -0,0 +1,22 @@
+package com.example.autotrader.domain.repositories;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Domain repository interface for execution plans of captured statements
+ */
+public interface QueryPlanRepository {
+
+    /**
+     * Run the statement under EXPLAIN ANALYZE (the query really executes,
+     * read-only) and return the plan text
+     *
+     * @param sql a SELECT, as sent to the database
+     * @param binds parameter values in order
+     * @param timeout statement timeout of the explained run
+     * @return plan lines joined by newlines, empty if the statement is not a SELECT
+     */
+    Optional<String> explainAnalyze(String sql, List<Object> binds, Duration timeout);
+}
@@ -0,0 +1,53 @@
+package com.example.autotrader.infrastructure.caches;
+
+import com.example.autotrader.application.caches.SearchCacheStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for RedisSearchCacheStore
+ * 
+ * Used by tests and single-instance setups without Redis
+ * (autotrader.cache.l2=local). Expired entries are dropped on read.
+ */
+public class LocalSearchCacheStore implements SearchCacheStore {
+    
+    private final Map<String, Entry> values = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    
+    @Override
+    public Optional<String> get(String key) {
+        Entry entry = values.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() >= entry.expiresAt()) {
+            values.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+    
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        values.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+    
+    @Override
+    public long getGeneration(String name) {
+        AtomicLong generation = generations.get(name);
+        return generation != null ? generation.get() : 0L;
+    }
+    
+    @Override
+    public long incrementGeneration(String name) {
+        return generations.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+    }
+    
+    private record Entry(String value, long expiresAt) {
+    }
+}
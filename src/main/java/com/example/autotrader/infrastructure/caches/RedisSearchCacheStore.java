@@ -0,0 +1,44 @@
+package com.example.autotrader.infrastructure.caches;
+
+import com.example.autotrader.application.caches.SearchCacheStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redis implementation of SearchCacheStore
+ * 
+ * Shared by all application instances: generation counters live in Redis
+ * (INCR), so a write on one instance invalidates the entries of all.
+ */
+@RequiredArgsConstructor
+public class RedisSearchCacheStore implements SearchCacheStore {
+    
+    private static final String GENERATION_PREFIX = "search:gen:";
+    
+    private final StringRedisTemplate redisTemplate;
+    
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+    }
+    
+    @Override
+    public void put(String key, String value, Duration ttl) {
+        redisTemplate.opsForValue().set(key, value, ttl);
+    }
+    
+    @Override
+    public long getGeneration(String name) {
+        String value = redisTemplate.opsForValue().get(GENERATION_PREFIX + name);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+    
+    @Override
+    public long incrementGeneration(String name) {
+        Long value = redisTemplate.opsForValue().increment(GENERATION_PREFIX + name);
+        return value != null ? value : 0L;
+    }
+}
@@ -1,16 +1,43 @@
 package com.example.autotrader.infrastructure.config;
 
+import com.example.autotrader.application.caches.SearchCacheStore;
+import com.example.autotrader.core.usecase.FanOut;
 import com.example.autotrader.domain.repositories.CarRepository;
 import com.example.autotrader.domain.repositories.CarListingViewRepository;
+import com.example.autotrader.domain.repositories.BadgeRepository;
+import com.example.autotrader.domain.repositories.DealerFeedRepository;
+import com.example.autotrader.domain.repositories.FilterOptionRepository;
+import com.example.autotrader.domain.repositories.QueryPlanRepository;
+import com.example.autotrader.infrastructure.caches.LocalSearchCacheStore;
+import com.example.autotrader.infrastructure.caches.RedisSearchCacheStore;
+import com.example.autotrader.infrastructure.repositories.BadgeJpaRepository;
+import com.example.autotrader.infrastructure.repositories.BadgeRepositoryImpl;
 import com.example.autotrader.infrastructure.repositories.CarRepositoryImpl;
 import com.example.autotrader.infrastructure.repositories.CarListingViewRepositoryImpl;
 import com.example.autotrader.infrastructure.repositories.CarListingViewJpaRepository;
+import com.example.autotrader.infrastructure.repositories.DealerFeedRepositoryImpl;
+import com.example.autotrader.infrastructure.repositories.FilterOptionJpaRepository;
+import com.example.autotrader.infrastructure.repositories.FilterOptionRepositoryImpl;
+import com.example.autotrader.infrastructure.repositories.QueryPlanRepositoryImpl;
+import com.example.autotrader.infrastructure.sql.SqlStats;
+import com.example.autotrader.infrastructure.sql.SqlStatsDataSource;
+import com.example.autotrader.infrastructure.sql.SqlTrace;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
 
 @Configuration
 @RequiredArgsConstructor
@@ -22,22 +49,108 @@ public class ApplicationConfig {
      */
     @Bean
     @Primary
-    public CarRepository carRepository(com.example.autotrader.infrastructure.repositories.CarJpaRepository carJpaRepository) {
-        return new CarRepositoryImpl(carJpaRepository);
+    public CarRepository carRepository(com.example.autotrader.infrastructure.repositories.CarJpaRepository carJpaRepository,
+                                       CarListingViewJpaRepository carListingViewJpaRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       JdbcTemplate jdbcTemplate) {
+        return new CarRepositoryImpl(carJpaRepository, carListingViewJpaRepository, eventPublisher, jdbcTemplate);
     }
     
     /**
      * Cấu hình Dependency Injection cho CarListingViewRepository
-     * Domain repository cho car_listings view
+     * Domain repository cho bảng car_listings
+     */
+    @Bean
+    public CarListingViewRepository carListingViewRepository(CarListingViewJpaRepository carListingViewJpaRepository,
+                                                             EntityManager entityManager) {
+        return new CarListingViewRepositoryImpl(carListingViewJpaRepository, entityManager);
+    }
+    
+    /**
+     * Cấu hình Dependency Injection cho FilterOptionRepository
+     * Domain repository cho view filter_options (từ điển dữ liệu tham chiếu)
+     */
+    @Bean
+    public FilterOptionRepository filterOptionRepository(FilterOptionJpaRepository filterOptionJpaRepository) {
+        return new FilterOptionRepositoryImpl(filterOptionJpaRepository);
+    }
+    
+    /**
+     * Cấu hình Dependency Injection cho BadgeRepository
+     * Nguồn của BadgeCatalog (danh mục badge trong bộ nhớ)
+     */
+    @Bean
+    public BadgeRepository badgeRepository(BadgeJpaRepository badgeJpaRepository) {
+        return new BadgeRepositoryImpl(badgeJpaRepository);
+    }
+    
+    /**
+     * Cấu hình Dependency Injection cho DealerFeedRepository
+     * Merge feed tồn kho của dealer (JDBC: COPY staging trên PostgreSQL, batch ở DB khác)
+     */
+    @Bean
+    public DealerFeedRepository dealerFeedRepository(JdbcTemplate jdbcTemplate,
+                                                     ApplicationEventPublisher eventPublisher) {
+        return new DealerFeedRepositoryImpl(jdbcTemplate, eventPublisher);
+    }
+    
+    /**
+     * Cấu hình Dependency Injection cho QueryPlanRepository
+     * EXPLAIN ANALYZE các câu search chậm (chạy nền, read-only, có timeout)
+     */
+    @Bean
+    public QueryPlanRepository queryPlanRepository(JdbcTemplate jdbcTemplate) {
+        return new QueryPlanRepositoryImpl(jdbcTemplate);
+    }
+    
+    /**
+     * L2 search cache trên Redis (mặc định, dùng chung giữa các instance)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "autotrader.cache.l2", havingValue = "redis", matchIfMissing = true)
+    public SearchCacheStore redisSearchCacheStore(StringRedisTemplate stringRedisTemplate) {
+        return new RedisSearchCacheStore(stringRedisTemplate);
+    }
+    
+    /**
+     * L2 search cache trong bộ nhớ (test / chạy không có Redis)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "autotrader.cache.l2", havingValue = "local")
+    public SearchCacheStore localSearchCacheStore() {
+        return new LocalSearchCacheStore();
+    }
+    
+    /**
+     * Pool chạy song song các sub-query độc lập của use case (page + count, ...)
+     * Mỗi nhánh dùng một connection riêng: giữ threads nhỏ hơn Hikari pool
+     */
+    @Bean(destroyMethod = "close")
+    public FanOut useCaseFanOut(@Value("${autotrader.fanout.threads:8}") int threads,
+                                @Value("${autotrader.fanout.queue-capacity:64}") int queueCapacity,
+                                @Value("${autotrader.fanout.deadline-ms:10000}") long deadlineMs) {
+        return new FanOut("use-case-fanout", threads, queueCapacity, Duration.ofMillis(deadlineMs),
+                task -> SqlStats.propagate(SqlTrace.propagate(task)));
+    }
+    
+    /**
+     * Bọc DataSource để đếm câu SQL, số dòng và thời gian DB của mỗi request (Server-Timing)
      */
     @Bean
-    public CarListingViewRepository carListingViewRepository(CarListingViewJpaRepository carListingViewJpaRepository) {
-        return new CarListingViewRepositoryImpl(carListingViewJpaRepository);
+    @ConditionalOnProperty(name = "autotrader.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlStatsDataSource)
+                        ? new SqlStatsDataSource(dataSource) : bean;
+            }
+        };
     }
     
     /**
      * ObjectMapper bean for JSON parsing
-     * Used to parse badges JSON from car_listings view
+     * Used to parse badges JSON from car_listings table
      */
     @Bean
     public ObjectMapper objectMapper() {
@@ -0,0 +1,134 @@
+package com.example.autotrader.infrastructure.notifications;
+
+import com.example.autotrader.domain.events.DataChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Turns PostgreSQL change notifications into DataChangedEvent
+ * 
+ * Triggers in database-schema.sql (notify_data_change) NOTIFY
+ * '<table>:<id>' on channel autotrader_changes when cars, car_badges,
+ * dealers, badges or reference rows change. This listener holds one pooled
+ * connection in LISTEN mode on a background thread and republishes each
+ * notification as an application event, so caches can evict precisely,
+ * including for changes made outside the application.
+ * 
+ * Notifications sent while the connection was down are lost, so after
+ * reconnecting it publishes DataChangedEvent.all().
+ */
+@Component
+@Slf4j
+public class PostgresChangeListener {
+    
+    private static final String CHANNEL = "autotrader_changes";
+    private static final int POLL_TIMEOUT_MS = 5_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    
+    private volatile boolean running;
+    private Thread thread;
+    
+    public PostgresChangeListener(DataSource dataSource,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${autotrader.notifications.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "pg-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+    
+    private void listen() {
+        long backoff = 1_000;
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Database is not PostgreSQL, change notifications disabled");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for database changes on {}", CHANNEL);
+                if (reconnect) {
+                    eventPublisher.publishEvent(DataChangedEvent.all());
+                }
+                backoff = 1_000;
+                
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Change listener connection failed, retrying in {} ms: {}", backoff, e.getMessage());
+                reconnect = true;
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+    
+    private void dispatch(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        try {
+            UUID id = UUID.fromString(payload.substring(separator + 1));
+            eventPublisher.publishEvent(new DataChangedEvent(payload.substring(0, separator), id));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed change notification: {}", payload);
+        } catch (RuntimeException e) {
+            // A failing listener must not stop the notification loop
+            log.warn("Failed to handle change notification {}: {}", payload, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.entities.Badge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for Badge
+ * 
+ * Used by BadgeRepositoryImpl, should not be used directly by use cases.
+ */
+@Repository
+public interface BadgeJpaRepository extends JpaRepository<Badge, UUID> {
+}
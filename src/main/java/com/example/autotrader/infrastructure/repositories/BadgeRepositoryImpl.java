@@ -0,0 +1,22 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.repositories.BadgeRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Implementation of BadgeRepository
+ * Adapter between domain layer and Spring Data JPA
+ */
+@RequiredArgsConstructor
+public class BadgeRepositoryImpl implements BadgeRepository {
+    
+    private final BadgeJpaRepository jpaRepository;
+    
+    @Override
+    public List<Badge> findAll() {
+        return jpaRepository.findAll();
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.autotrader.infrastructure.repositories;
 
 import com.example.autotrader.domain.entities.Car;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -15,4 +18,21 @@ public interface CarJpaRepository extends JpaRepository<Car, UUID>, JpaSpecifica
      * Tìm xe chưa bán
      */
     List<Car> findByIsSoldFalse();
+    
+    /**
+     * Tìm xe kèm make, model, trim, body type, transmission, condition,
+     * dealer và badges trong một query (LEFT JOIN FETCH)
+     */
+    @EntityGraph(attributePaths = {
+            "make", "model", "trim", "bodyType", "transmission", "condition", "dealer", "badges"
+    })
+    Optional<Car> findWithDetailsById(UUID id);
+    
+    /**
+     * Như findWithDetailsById cho nhiều xe, trong một query (WHERE id IN)
+     */
+    @EntityGraph(attributePaths = {
+            "make", "model", "trim", "bodyType", "transmission", "condition", "dealer", "badges"
+    })
+    List<Car> findWithDetailsByIdIn(Collection<UUID> ids);
 }
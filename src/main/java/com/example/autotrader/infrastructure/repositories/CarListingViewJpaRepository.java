@@ -3,15 +3,17 @@ package com.example.autotrader.infrastructure.repositories;
 import com.example.autotrader.domain.entities.CarListingView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA repository for CarListingView
  * 
  * This is the low-level JPA repository that handles:
- * - Database operations on car_listings view
+ * - Database operations on car_listings table
  * - Specification-based dynamic queries
  * - Basic CRUD operations
  * 
@@ -28,5 +30,15 @@ public interface CarListingViewJpaRepository extends
     // - findById(UUID id)
     // - count(Specification<CarListingView> spec)
     // - existsById(UUID id)
-    // - save() methods (but shouldn't be used for views)
+    // - save() methods (but shouldn't be used: rows are trigger-maintained)
+    
+    /**
+     * Planner row estimate for active listings
+     * 
+     * idx_car_listings_created_at is a partial index on is_sold = FALSE,
+     * so its reltuples statistic is the planner's active listing count.
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'idx_car_listings_created_at'",
+           nativeQuery = true)
+    Optional<Long> findActiveCountEstimate();
 }
@@ -3,31 +3,63 @@ package com.example.autotrader.infrastructure.repositories;
 import com.example.autotrader.domain.entities.CarListingView;
 import com.example.autotrader.domain.repositories.CarListingViewRepository;
 import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Infrastructure implementation of CarListingViewRepository
  * 
  * This implementation uses Spring Data JPA with specifications
- * for dynamic query building on the car_listings view.
+ * for dynamic query building on the car_listings table.
  * 
  * Performance benefits:
  * - Single query for all car data (vs N+1 queries)
- * - Database view optimization
+ * - Trigger-maintained denormalized table, no GROUP BY at query time
  * - Dynamic filtering with specifications
  */
 @Repository
 @RequiredArgsConstructor
+@Slf4j
 public class CarListingViewRepositoryImpl implements CarListingViewRepository {
     
     private final CarListingViewJpaRepository jpaRepository;
+    private final EntityManager entityManager;
+    
+    // Rows per round trip of the export cursor
+    private static final int STREAM_FETCH_SIZE = 1000;
     
     @Override
     public Page<CarListingView> findAll(Pageable pageable) {
@@ -41,6 +73,11 @@ public class CarListingViewRepositoryImpl implements CarListingViewRepository {
         return jpaRepository.findById(id);
     }
     
+    @Override
+    public List<CarListingView> findAllByIds(Collection<UUID> ids) {
+        return jpaRepository.findAllById(ids);
+    }
+    
     @Override
     public long count() {
         // Use default specification (no filters)
@@ -58,8 +95,136 @@ public class CarListingViewRepositoryImpl implements CarListingViewRepository {
         return jpaRepository.findAll(spec, pageable);
     }
     
+    @Override
+    public Slice<CarListingView> findSlice(Specification<CarListingView> spec, Pageable pageable) {
+        return jpaRepository.findBy(spec, query -> query.slice(pageable));
+    }
+    
+    @Override
+    public Window<CarListingView> findAll(Specification<CarListingView> spec, Sort sort, int limit, ScrollPosition position) {
+        return jpaRepository.findBy(spec, query -> query
+                .sortBy(sort)
+                .limit(limit)
+                .scroll(position));
+    }
+    
     @Override
     public long count(Specification<CarListingView> spec) {
         return jpaRepository.count(spec);
     }
+    
+    /**
+     * Streams through a StatelessSession: no first-level cache, so rows are
+     * garbage as soon as the consumer returns. PostgreSQL only uses a
+     * server-side cursor for fetchSize inside a transaction (autocommit off).
+     */
+    @Override
+    public long streamAll(Specification<CarListingView> spec, Sort sort, Consumer<CarListingView> consumer) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                CriteriaBuilder cb = session.getCriteriaBuilder();
+                CriteriaQuery<CarListingView> query = cb.createQuery(CarListingView.class);
+                Root<CarListingView> root = query.from(CarListingView.class);
+                Predicate predicate = spec.toPredicate(root, query, cb);
+                if (predicate != null) {
+                    query.where(predicate);
+                }
+                query.orderBy(QueryUtils.toOrders(sort, root, cb));
+                
+                long count = 0;
+                try (ScrollableResults<CarListingView> rows = session.createQuery(query)
+                        .setFetchSize(STREAM_FETCH_SIZE)
+                        .scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        consumer.accept(rows.get());
+                        count++;
+                    }
+                }
+                transaction.commit();
+                return count;
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * SELECT make_id, model_id, ..., COUNT(*),
+     *        SUM(CASE WHEN <all filters except make> THEN 1 ELSE 0 END), ...
+     * FROM car_listings WHERE <spec> GROUP BY make_id, model_id, ...
+     * 
+     * Dimension filters only appear inside aggregates, so the GROUP BY stays
+     * on plain columns and the table is scanned once.
+     */
+    @Override
+    public List<FacetBucket> countFacets(Specification<CarListingView> spec,
+                                         Map<String, Specification<CarListingView>> dimensionFilters) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<CarListingView> root = query.from(CarListingView.class);
+        
+        List<Expression<?>> groupBy = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : FACET_ATTRIBUTES) {
+            Expression<?> id = root.get(attribute);
+            groupBy.add(id);
+            selections.add(id.alias(attribute));
+        }
+        
+        List<Predicate> allFilters = new ArrayList<>();
+        dimensionFilters.values().forEach(filter -> allFilters.add(filter.toPredicate(root, query, cb)));
+        selections.add(cb.sum(cb.<Long>selectCase()
+                .when(cb.and(allFilters.toArray(Predicate[]::new)), 1L)
+                .otherwise(0L)).alias("count"));
+        
+        for (String dimension : dimensionFilters.keySet()) {
+            List<Predicate> otherFilters = new ArrayList<>();
+            dimensionFilters.forEach((other, filter) -> {
+                if (!other.equals(dimension)) {
+                    otherFilters.add(filter.toPredicate(root, query, cb));
+                }
+            });
+            selections.add(cb.sum(cb.<Long>selectCase()
+                    .when(cb.and(otherFilters.toArray(Predicate[]::new)), 1L)
+                    .otherwise(0L)).alias("excluding_" + dimension));
+        }
+        
+        query.multiselect(selections)
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(groupBy);
+        
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+            Map<String, UUID> ids = new HashMap<>();
+            FACET_ATTRIBUTES.forEach(attribute -> ids.put(attribute, tuple.get(attribute, UUID.class)));
+            
+            long count = ((Number) tuple.get("count")).longValue();
+            Map<String, Long> countsExcluding = new HashMap<>();
+            FACET_ATTRIBUTES.forEach(attribute -> countsExcluding.put(attribute, count));
+            dimensionFilters.keySet().forEach(dimension -> countsExcluding.put(
+                    dimension, ((Number) tuple.get("excluding_" + dimension)).longValue()));
+            
+            buckets.add(new FacetBucket(ids, count, countsExcluding));
+        }
+        return buckets;
+    }
+    
+    @Override
+    public OptionalLong estimateActiveCount() {
+        try {
+            return jpaRepository.findActiveCountEstimate()
+                    .filter(estimate -> estimate >= 0) // -1 = never analyzed
+                    .map(OptionalLong::of)
+                    .orElse(OptionalLong.empty());
+        } catch (DataAccessException e) {
+            // Statistics catalog not available (non-PostgreSQL database)
+            log.debug("Planner estimate not available: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
 }
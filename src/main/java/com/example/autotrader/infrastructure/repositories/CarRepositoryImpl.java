@@ -2,15 +2,28 @@ package com.example.autotrader.infrastructure.repositories;
 
 import com.example.autotrader.application.dtos.CarFilterCriteria;
 import com.example.autotrader.domain.entities.Car;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.domain.events.CarChangedEvent;
 import com.example.autotrader.domain.repositories.CarRepository;
 import com.example.autotrader.infrastructure.specifications.CarSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -18,12 +31,30 @@ import java.util.UUID;
 @Slf4j
 public class CarRepositoryImpl implements CarRepository {
     
+    private static final String ADD_VIEWS_SQL =
+            "UPDATE cars SET views_count = COALESCE(views_count, 0) + ? WHERE id = ?";
+    
     private final CarJpaRepository carJpaRepository;
+    private final CarListingViewJpaRepository carListingViewJpaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
     
     @Override
     public Car save(Car car) {
         log.info("Saving car");
-        return carJpaRepository.save(car);
+        // Make before the change, from the listing row (not yet rebuilt)
+        Set<String> makeNames = car.getId() != null ? currentMakeNames(car.getId()) : new HashSet<>();
+        
+        Car saved = carJpaRepository.save(car);
+        
+        if (saved.getMake() != null && Hibernate.isInitialized(saved.getMake()) && saved.getMake().getName() != null) {
+            makeNames.add(saved.getMake().getName().toLowerCase(Locale.ROOT));
+            eventPublisher.publishEvent(new CarChangedEvent(Set.of(saved.getId()), makeNames));
+        } else {
+            // New make not loaded: affected makes unknown
+            eventPublisher.publishEvent(new CarChangedEvent(Set.of(saved.getId()), Set.of()));
+        }
+        return saved;
     }
     
     @Override
@@ -32,6 +63,21 @@ public class CarRepositoryImpl implements CarRepository {
         return carJpaRepository.findById(id);
     }
     
+    @Override
+    public Optional<Car> findDetailById(UUID id) {
+        log.info("Finding car detail by id: {}", id);
+        return carJpaRepository.findWithDetailsById(id);
+    }
+    
+    @Override
+    public List<Car> findDetailsByIds(Collection<UUID> ids) {
+        log.info("Finding car details by {} ids", ids.size());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return carJpaRepository.findWithDetailsByIdIn(ids);
+    }
+    
     @Override
     public Page<Car> findAll(Pageable pageable) {
         log.info("Finding all cars with pageable: {}", pageable);
@@ -47,7 +93,9 @@ public class CarRepositoryImpl implements CarRepository {
     @Override
     public void deleteById(UUID id) {
         log.info("Deleting car by id: {}", id);
+        Set<String> makeNames = currentMakeNames(id);
         carJpaRepository.deleteById(id);
+        eventPublisher.publishEvent(new CarChangedEvent(Set.of(id), makeNames));
     }
     
     @Override
@@ -61,4 +109,30 @@ public class CarRepositoryImpl implements CarRepository {
         log.info("Counting total cars");
         return carJpaRepository.count();
     }
+    
+    @Override
+    @Transactional
+    public void addViews(Map<UUID, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Same lock order in every instance: no deadlocks between concurrent flushes
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> rows.add(new Object[]{entry.getValue(), entry.getKey()}));
+        jdbcTemplate.batchUpdate(ADD_VIEWS_SQL, rows);
+        log.debug("Added views to {} cars", rows.size());
+    }
+    
+    /**
+     * Make name currently listed for a car (lowercase), empty if not listed
+     */
+    private Set<String> currentMakeNames(UUID carId) {
+        Set<String> makeNames = new HashSet<>();
+        carListingViewJpaRepository.findById(carId)
+                .map(CarListingView::getMakeName)
+                .ifPresent(name -> makeNames.add(name.toLowerCase(Locale.ROOT)));
+        return makeNames;
+    }
 }
@@ -0,0 +1,392 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.events.CarChangedEvent;
+import com.example.autotrader.domain.repositories.DealerFeedRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Dealer feed merge: diff in memory, then set-based writes
+ *
+ * PostgreSQL: the changed rows are COPYed into a temporary staging table
+ * and merged with one INSERT ... SELECT and one UPDATE ... FROM. The
+ * transaction sets autotrader.bulk_merge so the per-row car triggers
+ * (updated_at, consistency check, listing rebuild, NOTIFY) stand aside;
+ * the rows were validated by the use case, and the listings are rebuilt
+ * and the change notifications sent once for all changed cars.
+ * Other databases: JDBC batches of INSERT / UPDATE.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DealerFeedRepositoryImpl implements DealerFeedRepository {
+
+    private static final String LOCK_DEALER_SQL = "SELECT id FROM dealers WHERE id = ? FOR UPDATE";
+
+    private static final String INVENTORY_SQL = """
+            SELECT c.id, c.stock_number, c.year, c.mileage, c.price, c.image_url, c.make_id, c.model_id,
+                   c.trim_id, c.body_type_id, c.transmission_id, c.condition_id, c.is_featured, c.is_sold,
+                   mk.name AS make_name
+            FROM cars c
+            JOIN makes mk ON mk.id = c.make_id
+            WHERE c.dealer_id = ? AND c.stock_number IS NOT NULL""";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO cars (id, stock_number, year, mileage, price, image_url, make_id, model_id, trim_id,
+                              body_type_id, transmission_id, condition_id, dealer_id, is_featured, is_sold,
+                              views_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, 0, ?, ?)""";
+
+    private static final String UPDATE_SQL = """
+            UPDATE cars SET year = ?, mileage = ?, price = ?, image_url = ?, make_id = ?, model_id = ?,
+                            trim_id = ?, body_type_id = ?, transmission_id = ?, condition_id = ?,
+                            is_featured = ?, is_sold = FALSE, updated_at = ?
+            WHERE id = ?""";
+
+    private static final String MARK_SOLD_SQL = "UPDATE cars SET is_sold = TRUE, updated_at = ? WHERE id = ?";
+
+    private static final String STAGING_COLUMNS = "op, id, stock_number, year, mileage, price, image_url, make_id, "
+            + "model_id, trim_id, body_type_id, transmission_id, condition_id, is_featured";
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMPORARY TABLE dealer_feed_staging (
+                op CHAR(1) NOT NULL,
+                id UUID NOT NULL,
+                stock_number VARCHAR(64) NOT NULL,
+                year INTEGER NOT NULL,
+                mileage INTEGER NOT NULL,
+                price DECIMAL(12,2) NOT NULL,
+                image_url VARCHAR(500),
+                make_id UUID NOT NULL,
+                model_id UUID NOT NULL,
+                trim_id UUID,
+                body_type_id UUID NOT NULL,
+                transmission_id UUID NOT NULL,
+                condition_id UUID NOT NULL,
+                is_featured BOOLEAN NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String MERGE_INSERT_SQL = """
+            INSERT INTO cars (id, stock_number, year, mileage, price, image_url, make_id, model_id, trim_id,
+                              body_type_id, transmission_id, condition_id, dealer_id, is_featured, is_sold,
+                              views_count, created_at, updated_at)
+            SELECT s.id, s.stock_number, s.year, s.mileage, s.price, s.image_url, s.make_id, s.model_id, s.trim_id,
+                   s.body_type_id, s.transmission_id, s.condition_id, ?, s.is_featured, FALSE,
+                   0, now(), now()
+            FROM dealer_feed_staging s
+            WHERE s.op = 'I'""";
+
+    private static final String MERGE_UPDATE_SQL = """
+            UPDATE cars c SET year = s.year, mileage = s.mileage, price = s.price, image_url = s.image_url,
+                              make_id = s.make_id, model_id = s.model_id, trim_id = s.trim_id,
+                              body_type_id = s.body_type_id, transmission_id = s.transmission_id,
+                              condition_id = s.condition_id, is_featured = s.is_featured,
+                              is_sold = FALSE, updated_at = now()
+            FROM dealer_feed_staging s
+            WHERE s.op = 'U' AND c.id = s.id""";
+
+    private static final String MERGE_SOLD_SQL = "UPDATE cars SET is_sold = TRUE, updated_at = now() WHERE id = ANY(?)";
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public Optional<MergeResult> merge(UUID dealerId, List<FeedCar> cars, Collection<String> keptStockNumbers,
+                                       boolean markMissingSold) {
+        if (jdbcTemplate.queryForList(LOCK_DEALER_SQL, UUID.class, dealerId).isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, StockedCar> stock = new HashMap<>();
+        jdbcTemplate.query(INVENTORY_SQL, (RowCallbackHandler) rs -> {
+            StockedCar car = StockedCar.from(rs);
+            stock.put(car.stockNumber(), car);
+        }, dealerId);
+
+        // Diff against the current inventory
+        List<Change> inserts = new ArrayList<>();
+        List<Change> updates = new ArrayList<>();
+        Set<String> listed = new HashSet<>(keptStockNumbers);
+        Set<String> makeNames = new HashSet<>();
+        for (FeedCar car : cars) {
+            listed.add(car.stockNumber());
+            StockedCar current = stock.get(car.stockNumber());
+            if (current == null) {
+                inserts.add(new Change(UUID.randomUUID(), car, Boolean.TRUE.equals(car.featured())));
+                makeNames.add(car.makeName().toLowerCase(Locale.ROOT));
+            } else if (current.differsFrom(car)) {
+                boolean featured = car.featured() != null ? car.featured() : current.featured();
+                updates.add(new Change(current.id(), car, featured));
+                makeNames.add(current.makeName());
+                makeNames.add(car.makeName().toLowerCase(Locale.ROOT));
+            }
+        }
+        int unchanged = cars.size() - inserts.size() - updates.size();
+        List<UUID> sold = new ArrayList<>();
+        if (markMissingSold) {
+            for (StockedCar current : stock.values()) {
+                if (!current.sold() && !listed.contains(current.stockNumber())) {
+                    sold.add(current.id());
+                    makeNames.add(current.makeName());
+                }
+            }
+        }
+
+        Set<UUID> changedIds = new LinkedHashSet<>();
+        inserts.forEach(change -> changedIds.add(change.id()));
+        updates.forEach(change -> changedIds.add(change.id()));
+        changedIds.addAll(sold);
+        if (changedIds.isEmpty()) {
+            return Optional.of(new MergeResult(0, 0, unchanged, 0, "none", Set.of()));
+        }
+
+        // Same lock order in every transaction: no deadlocks with the views flush
+        updates.sort((left, right) -> left.id().compareTo(right.id()));
+        sold.sort(UUID::compareTo);
+
+        String strategy = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copyMerge(connection, dealerId, inserts, updates, sold, changedIds);
+                return "copy";
+            }
+            batchMerge(dealerId, inserts, updates, sold);
+            return "batch";
+        });
+        log.info("Merged feed of dealer {} ({}): {} inserted, {} updated, {} unchanged, {} sold",
+                dealerId, strategy, inserts.size(), updates.size(), unchanged, sold.size());
+
+        // Listeners run after commit: the listing rows are rebuilt by then
+        eventPublisher.publishEvent(new CarChangedEvent(Set.copyOf(changedIds), makeNames));
+        return Optional.of(new MergeResult(inserts.size(), updates.size(), unchanged, sold.size(), strategy,
+                changedIds));
+    }
+
+    private void copyMerge(Connection connection, UUID dealerId, List<Change> inserts, List<Change> updates,
+                           List<UUID> sold, Set<UUID> changedIds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET LOCAL autotrader.bulk_merge = 'on'");
+            statement.execute(CREATE_STAGING_SQL);
+        }
+
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY dealer_feed_staging (" + STAGING_COLUMNS + ") FROM STDIN (FORMAT csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            for (Change change : inserts) {
+                appendStagingRow(buffer, 'I', change);
+                flushIfFull(copy, buffer);
+            }
+            for (Change change : updates) {
+                appendStagingRow(buffer, 'U', change);
+                flushIfFull(copy, buffer);
+            }
+            writeToCopy(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(MERGE_INSERT_SQL)) {
+            insert.setObject(1, dealerId);
+            insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(MERGE_UPDATE_SQL);
+        }
+        if (!sold.isEmpty()) {
+            try (PreparedStatement markSold = connection.prepareStatement(MERGE_SOLD_SQL)) {
+                markSold.setArray(1, uuidArray(connection, sold));
+                markSold.executeUpdate();
+            }
+        }
+
+        // What the per-row triggers would have done, once for the whole feed
+        Array ids = uuidArray(connection, changedIds);
+        try (PreparedStatement refresh = connection.prepareStatement("SELECT refresh_car_listings(?)")) {
+            refresh.setArray(1, ids);
+            refresh.execute();
+        }
+        try (PreparedStatement notify = connection.prepareStatement(
+                "SELECT count(pg_notify('autotrader_changes', 'cars:' || id)) FROM unnest(?) AS changed(id)")) {
+            notify.setArray(1, ids);
+            notify.execute();
+        }
+    }
+
+    private void batchMerge(UUID dealerId, List<Change> inserts, List<Change> updates, List<UUID> sold) {
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts, 1000, (ps, change) -> {
+            FeedCar car = change.car();
+            ps.setObject(1, change.id());
+            ps.setString(2, car.stockNumber());
+            ps.setInt(3, car.year());
+            ps.setInt(4, car.mileage());
+            ps.setBigDecimal(5, car.price());
+            ps.setString(6, car.imageUrl());
+            ps.setObject(7, car.makeId());
+            ps.setObject(8, car.modelId());
+            ps.setObject(9, car.trimId());
+            ps.setObject(10, car.bodyTypeId());
+            ps.setObject(11, car.transmissionId());
+            ps.setObject(12, car.conditionId());
+            ps.setObject(13, dealerId);
+            ps.setBoolean(14, change.featured());
+            ps.setObject(15, now);
+            ps.setObject(16, now);
+        });
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates, 1000, (ps, change) -> {
+            FeedCar car = change.car();
+            ps.setInt(1, car.year());
+            ps.setInt(2, car.mileage());
+            ps.setBigDecimal(3, car.price());
+            ps.setString(4, car.imageUrl());
+            ps.setObject(5, car.makeId());
+            ps.setObject(6, car.modelId());
+            ps.setObject(7, car.trimId());
+            ps.setObject(8, car.bodyTypeId());
+            ps.setObject(9, car.transmissionId());
+            ps.setObject(10, car.conditionId());
+            ps.setBoolean(11, change.featured());
+            ps.setObject(12, now);
+            ps.setObject(13, change.id());
+        });
+        jdbcTemplate.batchUpdate(MARK_SOLD_SQL, sold, 1000, (ps, id) -> {
+            ps.setObject(1, now);
+            ps.setObject(2, id);
+        });
+    }
+
+    private static void appendStagingRow(StringBuilder buffer, char op, Change change) {
+        FeedCar car = change.car();
+        buffer.append(op).append(',')
+                .append(change.id()).append(',');
+        appendCsv(buffer, car.stockNumber());
+        buffer.append(',').append(car.year())
+                .append(',').append(car.mileage())
+                .append(',').append(car.price().toPlainString())
+                .append(',');
+        appendCsv(buffer, car.imageUrl());
+        buffer.append(',').append(car.makeId())
+                .append(',').append(car.modelId())
+                .append(',').append(car.trimId() != null ? car.trimId().toString() : "")
+                .append(',').append(car.bodyTypeId())
+                .append(',').append(car.transmissionId())
+                .append(',').append(car.conditionId())
+                .append(',').append(change.featured())
+                .append('\n');
+    }
+
+    /**
+     * COPY csv field: unquoted empty is NULL, anything else is quoted
+     */
+    private static void appendCsv(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void flushIfFull(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.length() >= COPY_BUFFER_CHARS) {
+            writeToCopy(copy, buffer);
+        }
+    }
+
+    private static void writeToCopy(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static Array uuidArray(Connection connection, Collection<UUID> ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids.toArray());
+    }
+
+    /**
+     * A row to write: id of the new or listed car, featured flag resolved
+     */
+    private record Change(UUID id, FeedCar car, boolean featured) {
+    }
+
+    /**
+     * A car of the dealer's current inventory (columns compared with the feed)
+     */
+    private record StockedCar(UUID id, String stockNumber, int year, int mileage, BigDecimal price,
+                              String imageUrl, UUID makeId, UUID modelId, UUID trimId, UUID bodyTypeId,
+                              UUID transmissionId, UUID conditionId, boolean featured, boolean sold,
+                              String makeName) {
+
+        static StockedCar from(ResultSet rs) throws SQLException {
+            return new StockedCar(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("stock_number"),
+                    rs.getInt("year"),
+                    rs.getInt("mileage"),
+                    rs.getBigDecimal("price"),
+                    rs.getString("image_url"),
+                    rs.getObject("make_id", UUID.class),
+                    rs.getObject("model_id", UUID.class),
+                    rs.getObject("trim_id", UUID.class),
+                    rs.getObject("body_type_id", UUID.class),
+                    rs.getObject("transmission_id", UUID.class),
+                    rs.getObject("condition_id", UUID.class),
+                    rs.getBoolean("is_featured"),
+                    rs.getBoolean("is_sold"),
+                    rs.getString("make_name").toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * A sold car listed again counts as a change
+         */
+        boolean differsFrom(FeedCar car) {
+            return sold
+                    || year != car.year()
+                    || mileage != car.mileage()
+                    || price.compareTo(car.price()) != 0
+                    || !Objects.equals(imageUrl, car.imageUrl())
+                    || !makeId.equals(car.makeId())
+                    || !modelId.equals(car.modelId())
+                    || !Objects.equals(trimId, car.trimId())
+                    || !bodyTypeId.equals(car.bodyTypeId())
+                    || !transmissionId.equals(car.transmissionId())
+                    || !conditionId.equals(car.conditionId())
+                    || (car.featured() != null && car.featured() != featured);
+        }
+    }
+}
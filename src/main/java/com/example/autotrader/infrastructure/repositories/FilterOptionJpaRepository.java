@@ -0,0 +1,20 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.entities.FilterOptionView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA repository for FilterOptionView
+ * 
+ * Used by FilterOptionRepositoryImpl, should not be used directly by use cases.
+ */
+@Repository
+public interface FilterOptionJpaRepository extends JpaRepository<FilterOptionView, UUID> {
+    
+    List<FilterOptionView> findByFilterTypeIn(Collection<String> filterTypes);
+}
@@ -0,0 +1,23 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.entities.FilterOptionView;
+import com.example.autotrader.domain.repositories.FilterOptionRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of FilterOptionRepository
+ * Adapter between domain layer and Spring Data JPA
+ */
+@RequiredArgsConstructor
+public class FilterOptionRepositoryImpl implements FilterOptionRepository {
+    
+    private final FilterOptionJpaRepository jpaRepository;
+    
+    @Override
+    public List<FilterOptionView> findByFilterTypes(Collection<String> filterTypes) {
+        return jpaRepository.findByFilterTypeIn(filterTypes);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.autotrader.infrastructure.repositories;
+
+import com.example.autotrader.domain.repositories.QueryPlanRepository;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * EXPLAIN through JdbcTemplate
+ *
+ * PostgreSQL: EXPLAIN (ANALYZE, BUFFERS), one row per plan line.
+ * Other databases (H2): EXPLAIN ANALYZE, the plan in one row.
+ * Runs in a read-only transaction with a statement timeout, so a plan
+ * never writes and never holds a connection longer than the timeout.
+ */
+@RequiredArgsConstructor
+public class QueryPlanRepositoryImpl implements QueryPlanRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> explainAnalyze(String sql, List<Object> binds, Duration timeout) {
+        if (!sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            String explain = connection.isWrapperFor(PGConnection.class)
+                    ? "EXPLAIN (ANALYZE, BUFFERS) "
+                    : "EXPLAIN ANALYZE ";
+            try (PreparedStatement statement = connection.prepareStatement(explain + sql)) {
+                statement.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+                for (int i = 0; i < binds.size(); i++) {
+                    statement.setObject(i + 1, binds.get(i));
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        }));
+    }
+}
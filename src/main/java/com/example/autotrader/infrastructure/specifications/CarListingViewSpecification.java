@@ -1,18 +1,25 @@
 package com.example.autotrader.infrastructure.specifications;
 
 import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.search.FilterIdResolver;
+import com.example.autotrader.application.search.NameSearchIndex;
 import com.example.autotrader.domain.entities.CarListingView;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 /**
- * JPA Specification for filtering car_listings view
+ * JPA Specification for filtering car_listings table
  * 
  * Much simpler than CarSpecification because:
- * - No JOINs needed (view already has all data denormalized)
+ * - No JOINs needed (table already has all data denormalized)
  * - Direct field access (make_name, model_name, etc.)
  * - Better performance
  */
@@ -26,17 +33,80 @@ public class CarListingViewSpecification {
         return (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
     }
     
+    /**
+     * Sort order of a sort option, with id as tie-breaker so every row has a
+     * unique position (required for keyset pagination and stable offset pages)
+     */
+    public static Sort sortBy(CarFilterCriteria.SortOption sortOption) {
+        return switch (sortOption) {
+            case PRICE_ASC -> Sort.by("price", "id").ascending();
+            case PRICE_DESC -> Sort.by("price", "id").descending();
+            case YEAR_ASC -> Sort.by("year", "id").ascending();
+            case YEAR_DESC -> Sort.by("year", "id").descending();
+            case MILEAGE_ASC -> Sort.by("mileage", "id").ascending();
+            case MILEAGE_DESC -> Sort.by("mileage", "id").descending();
+            default -> Sort.by("createdAt", "id").descending(); // relevance = newest first
+        };
+    }
+    
     public static Specification<CarListingView> filterByCriteria(CarFilterCriteria criteria) {
+        return filterByCriteria(criteria, null);
+    }
+    
+    /**
+     * Filter by criteria, with the text search pre-resolved to ids
+     * 
+     * @param criteria filter criteria
+     * @param textMatch ids whose name contains criteria.value (from
+     *                  NameSearchIndex), or null to match names with LIKE
+     */
+    public static Specification<CarListingView> filterByCriteria(
+            CarFilterCriteria criteria,
+            NameSearchIndex.Match textMatch) {
+        return filterByCriteria(criteria, textMatch, null);
+    }
+    
+    /**
+     * Filter by criteria, with the text search and the filter names
+     * pre-resolved to ids
+     * 
+     * @param criteria filter criteria
+     * @param textMatch ids whose name contains criteria.value, or null to match names with LIKE
+     * @param filterIds ids of the make/model/trim/body type/transmission filters
+     *                  (from FilterIdResolver), or null to compare names; when
+     *                  set, the name filters of criteria are ignored
+     */
+    public static Specification<CarListingView> filterByCriteria(
+            CarFilterCriteria criteria,
+            NameSearchIndex.Match textMatch,
+            FilterIdResolver.FilterIds filterIds) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             
             // Always filter out sold cars
             predicates.add(criteriaBuilder.isFalse(root.get("isSold")));
             
+            // Text search resolved to ids: served by the make/model/trim id indexes
+            if (textMatch != null && criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
+                List<Predicate> idPredicates = new ArrayList<>();
+                if (!textMatch.makeIds().isEmpty()) {
+                    idPredicates.add(root.get("makeId").in(textMatch.makeIds()));
+                }
+                if (!textMatch.modelIds().isEmpty()) {
+                    idPredicates.add(root.get("modelId").in(textMatch.modelIds()));
+                }
+                if (!textMatch.trimIds().isEmpty()) {
+                    idPredicates.add(root.get("trimId").in(textMatch.trimIds()));
+                }
+                // No name matched: or() without predicates is always false
+                predicates.add(criteriaBuilder.or(idPredicates.toArray(Predicate[]::new)));
+            }
+            
             // Text search in make_name, model_name, trim_name
-            // No JOINs needed! Everything is denormalized in the view
-            if (criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
-                String searchPattern = "%" + criteria.getValue().toLowerCase() + "%";
+            // No JOINs needed! Everything is denormalized in car_listings
+            // (fallback, served by the pg_trgm GIN indexes)
+            else if (criteria.getValue() != null && !criteria.getValue().trim().isEmpty()) {
+                String searchPattern = "%" + criteria.getValue().trim().toLowerCase() + "%";
                 
                 predicates.add(criteriaBuilder.or(
                     criteriaBuilder.like(
@@ -69,53 +139,75 @@ public class CarListingViewSpecification {
                 ));
             }
             
-            // Make filter by name (direct field access, no JOIN!)
-            if (criteria.getSelectedMake() != null && !criteria.getSelectedMake().trim().isEmpty()) {
-                predicates.add(criteriaBuilder.equal(
-                    criteriaBuilder.lower(root.get("makeName")),
-                    criteria.getSelectedMake().toLowerCase()
-                ));
+            // Filters resolved to ids: served by idx_car_listings_filter
+            if (filterIds != null) {
+                addIdFilter(predicates, criteriaBuilder, root.get("makeId"), filterIds.makeIds());
+                addIdFilter(predicates, criteriaBuilder, root.get("modelId"), filterIds.modelIds());
+                addIdFilter(predicates, criteriaBuilder, root.get("trimId"), filterIds.trimIds());
+                addIdFilter(predicates, criteriaBuilder, root.get("bodyTypeId"), filterIds.bodyTypeIds());
+                addIdFilter(predicates, criteriaBuilder, root.get("transmissionId"), filterIds.transmissionIds());
             }
             
-            // Model filter by name
-            if (criteria.getSelectedModel() != null && !criteria.getSelectedModel().trim().isEmpty()) {
-                predicates.add(criteriaBuilder.equal(
-                    criteriaBuilder.lower(root.get("modelName")),
-                    criteria.getSelectedModel().toLowerCase()
-                ));
-            }
-            
-            // Trim filter by name
-            if (criteria.getSelectedTrim() != null && !criteria.getSelectedTrim().trim().isEmpty()) {
-                predicates.add(criteriaBuilder.equal(
-                    criteriaBuilder.lower(root.get("trimName")),
-                    criteria.getSelectedTrim().toLowerCase()
-                ));
-            }
-            
-            // Body type filter by names (multiple allowed)
-            if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
-                List<String> lowerCaseBodyTypes = criteria.getSelectedBodyTypes().stream()
-                    .map(String::toLowerCase)
-                    .collect(java.util.stream.Collectors.toList());
+            // Filters by name (dictionary not loaded)
+            else {
+                // Make filter by name (direct field access, no JOIN!)
+                if (criteria.getSelectedMake() != null && !criteria.getSelectedMake().trim().isEmpty()) {
+                    predicates.add(criteriaBuilder.equal(
+                        criteriaBuilder.lower(root.get("makeName")),
+                        criteria.getSelectedMake().toLowerCase()
+                    ));
+                }
                 
-                predicates.add(
-                    criteriaBuilder.lower(root.get("bodyTypeName")).in(lowerCaseBodyTypes)
-                );
-            }
-            
-            // Transmission filter by type name
-            if (criteria.getSelectedTransmission() != null 
-                && !criteria.getSelectedTransmission().trim().isEmpty()
-                && !criteria.getSelectedTransmission().equalsIgnoreCase("All")) {
-                predicates.add(criteriaBuilder.equal(
-                    criteriaBuilder.lower(root.get("transmissionType")),
-                    criteria.getSelectedTransmission().toLowerCase()
-                ));
+                // Model filter by name
+                if (criteria.getSelectedModel() != null && !criteria.getSelectedModel().trim().isEmpty()) {
+                    predicates.add(criteriaBuilder.equal(
+                        criteriaBuilder.lower(root.get("modelName")),
+                        criteria.getSelectedModel().toLowerCase()
+                    ));
+                }
+                
+                // Trim filter by name
+                if (criteria.getSelectedTrim() != null && !criteria.getSelectedTrim().trim().isEmpty()) {
+                    predicates.add(criteriaBuilder.equal(
+                        criteriaBuilder.lower(root.get("trimName")),
+                        criteria.getSelectedTrim().toLowerCase()
+                    ));
+                }
+                
+                // Body type filter by names (multiple allowed)
+                if (criteria.getSelectedBodyTypes() != null && !criteria.getSelectedBodyTypes().isEmpty()) {
+                    List<String> lowerCaseBodyTypes = criteria.getSelectedBodyTypes().stream()
+                        .map(String::toLowerCase)
+                        .collect(java.util.stream.Collectors.toList());
+                    
+                    predicates.add(
+                        criteriaBuilder.lower(root.get("bodyTypeName")).in(lowerCaseBodyTypes)
+                    );
+                }
+                
+                // Transmission filter by type name
+                if (criteria.getSelectedTransmission() != null 
+                    && !criteria.getSelectedTransmission().trim().isEmpty()
+                    && !criteria.getSelectedTransmission().equalsIgnoreCase("All")) {
+                    predicates.add(criteriaBuilder.equal(
+                        criteriaBuilder.lower(root.get("transmissionType")),
+                        criteria.getSelectedTransmission().toLowerCase()
+                    ));
+                }
             }
             
             return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
         };
     }
+    
+    private static void addIdFilter(List<Predicate> predicates,
+                                    CriteriaBuilder criteriaBuilder,
+                                    Path<UUID> attribute,
+                                    Set<UUID> ids) {
+        if (ids == null) {
+            return;
+        }
+        // Unknown name: always false (callers normally short-circuit before querying)
+        predicates.add(ids.isEmpty() ? criteriaBuilder.disjunction() : attribute.in(ids));
+    }
 }
-
@@ -0,0 +1,94 @@
+package com.example.autotrader.infrastructure.sql;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SQL statements, rows and database time of one HTTP request
+ *
+ * Bound to the request thread by SqlStatsFilter and filled by
+ * SqlStatsDataSource. FanOut branches run on other threads: they share the
+ * request's stats through {@link #propagate}, hence the thread-safe adders.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    /**
+     * Start collecting for the current thread
+     */
+    public static SqlStats start() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the current thread, null outside a request (scheduled flushes, listeners...)
+     */
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Run a task with the stats of the submitting thread (FanOut task decorator);
+     * the thread's previous stats are restored afterwards, as the task may run
+     * on the submitting thread itself when the pool is full
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    void recordStatement(long elapsedNanos) {
+        statements.increment();
+        nanos.add(elapsedNanos);
+    }
+
+    void recordRow() {
+        rows.increment();
+    }
+
+    /**
+     * Statements executed (a JDBC batch counts once: one round trip)
+     */
+    public long statements() {
+        return statements.sum();
+    }
+
+    /**
+     * Rows read from result sets
+     */
+    public long rows() {
+        return rows.sum();
+    }
+
+    /**
+     * Time spent in execute calls, summed over threads
+     */
+    public long nanos() {
+        return nanos.sum();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.autotrader.infrastructure.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DataSource counting statements, rows and execute time into SqlStats
+ *
+ * Wraps the pool's connections in JDK proxies: execute* calls of their
+ * statements are timed, next() of their result sets counted. Everything
+ * else, unwrap included (PGConnection, COPY), goes straight to the driver.
+ * Covers Hibernate and JdbcTemplate alike, unlike a Hibernate
+ * StatementInspector which only sees the SQL text of Hibernate statements.
+ * While a SqlTrace is open, the SQL and bind values of each executed
+ * statement are also recorded.
+ * Without current stats (threads outside a request) calls are only
+ * forwarded.
+ */
+public class SqlStatsDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = SqlStatsDataSource.class.getClassLoader();
+
+    public SqlStatsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                return statement(statement, method.getReturnType(), firstString(args));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * @param type Statement, PreparedStatement or CallableStatement, as returned by the connection
+     * @param sql SQL of a prepared statement, null for a plain Statement (passed to execute)
+     */
+    private static Object statement(Statement target, Class<?> type, String sql) {
+        Class<?> proxyType = type == CallableStatement.class || type == PreparedStatement.class
+                ? type : Statement.class;
+        // Bind values by index, kept only while a SqlTrace is open
+        Map<Integer, Object> binds = new TreeMap<>();
+        return proxy(proxyType, (proxy, method, args) -> {
+            SqlStats stats = SqlStats.current();
+            SqlTrace trace = SqlTrace.current();
+            if (stats == null && trace == null) {
+                return invoke(target, method, args);
+            }
+            String name = method.getName();
+            Object result;
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    result = invoke(target, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (stats != null) {
+                        stats.recordStatement(elapsed);
+                    }
+                    if (trace != null) {
+                        trace.record(sql != null ? sql : firstString(args), binds, elapsed);
+                    }
+                }
+            } else {
+                result = invoke(target, method, args);
+                if (trace != null) {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        binds.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        binds.clear();
+                    }
+                }
+            }
+            return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+        });
+    }
+
+    private static String firstString(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                SqlStats stats = SqlStats.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Proxy with identity equals / hashCode (the target's would not know the proxy)
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[]{type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
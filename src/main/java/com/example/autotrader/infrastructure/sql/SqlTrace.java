@@ -0,0 +1,134 @@
+package com.example.autotrader.infrastructure.sql;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * SQL text and bind values of the statements run by a block of code
+ *
+ * Unlike SqlStats (counters of the whole request), a trace keeps each
+ * statement, so it is only opened around the code to diagnose (a search
+ * load). SqlStatsDataSource fills it; FanOut branches share it through
+ * {@link #propagate}.
+ */
+public final class SqlTrace {
+
+    // Statements kept per trace; later ones are dropped
+    private static final int MAX_STATEMENTS = 32;
+
+    private static final ThreadLocal<SqlTrace> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @param binds values in parameter order;
+     *              values other than strings, numbers, booleans, UUIDs and
+     *              dates are replaced by their type name
+     */
+    public record Statement(String sql, List<Object> binds, long nanos) {
+
+        /**
+         * Whether the binds are the original values (the statement can be re-run)
+         */
+        public boolean replayable() {
+            return binds.stream().noneMatch(value -> value instanceof Unsupported);
+        }
+    }
+
+    /**
+     * Result of the traced block with its statements
+     */
+    public record Traced<T>(T result, List<Statement> statements) {
+    }
+
+    /**
+     * Placeholder of a bind value not kept (stream, blob, array...)
+     */
+    public record Unsupported(String type) {
+        @Override
+        public String toString() {
+            return "<" + type + ">";
+        }
+    }
+
+    private final List<Statement> statements = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Run the block, recording its statements (nested traces record into the outer one)
+     */
+    public static <T> Traced<T> trace(Supplier<T> block) {
+        SqlTrace outer = CURRENT.get();
+        SqlTrace trace = outer != null ? outer : new SqlTrace();
+        if (outer == null) {
+            CURRENT.set(trace);
+        }
+        int from = trace.statements.size();
+        try {
+            T result = block.get();
+            synchronized (trace.statements) {
+                return new Traced<>(result, List.copyOf(trace.statements.subList(from, trace.statements.size())));
+            }
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Run a task inside the trace of the submitting thread (FanOut task decorator)
+     */
+    public static Runnable propagate(Runnable task) {
+        SqlTrace trace = CURRENT.get();
+        if (trace == null) {
+            return task;
+        }
+        return () -> {
+            SqlTrace previous = CURRENT.get();
+            CURRENT.set(trace);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    static SqlTrace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param binds values by parameter index, in index order
+     */
+    void record(String sql, Map<Integer, Object> binds, long nanos) {
+        if (sql == null || statements.size() >= MAX_STATEMENTS) {
+            return;
+        }
+        List<Object> values = new ArrayList<>();
+        if (binds != null) {
+            binds.forEach((index, value) -> {
+                while (values.size() < index - 1) {
+                    values.add(null);
+                }
+                values.add(bindValue(value));
+            });
+        }
+        statements.add(new Statement(sql, Collections.unmodifiableList(values), nanos));
+    }
+
+    private static Object bindValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof UUID || value instanceof Temporal || value instanceof java.util.Date) {
+            return value;
+        }
+        return new Unsupported(value.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.autotrader.presentation.caches;
+
+import com.example.autotrader.application.caches.SearchResultCache;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized search responses (identity and gzip JSON bytes)
+ *
+ * SearchResultCache saves the query, but a hit still maps nothing and
+ * re-serializes Pagination → ApiResponse with Jackson on every request.
+ * This cache keeps the final bytes of the response, so a hot search page
+ * costs a key, a map lookup and a write to the servlet output stream.
+ *
+ * Entries are keyed by SearchResultCache.currentKey: a listing change moves
+ * the key of the searches that can contain the car, so their bytes stop
+ * matching together with L1/L2. Bounded by bytes (W-TinyLFU keeps the hot
+ * pages), expiring after the L1 TTL. The body's timestamp is the time the
+ * page was serialized.
+ */
+@Component
+@Slf4j
+public class SearchResponseCache {
+
+    // Key, ETag, headers and object overheads of an entry
+    private static final int BASE_WEIGHT = 512;
+
+    private final SearchResultCache searchResultCache;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> cache;
+
+    public SearchResponseCache(SearchResultCache searchResultCache,
+                               ObjectMapper objectMapper,
+                               @Value("${autotrader.cache.search.l1-ttl-seconds:30}") long ttlSeconds,
+                               @Value("${autotrader.cache.search.response-max-weight-bytes:16777216}") long maxWeightBytes) {
+        this.searchResultCache = searchResultCache;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumWeight(maxWeightBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Key of a search, empty if the search cache is unavailable (don't cache)
+     */
+    public Optional<String> key(CarFilterCriteria criteria) {
+        return searchResultCache.currentKey(criteria);
+    }
+
+    public Optional<CachedResponse> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /**
+     * Serialize a successful response once and cache its bytes
+     *
+     * @param key key from {@link #key}
+     * @param body response body (ApiResponse)
+     * @param etag ETag of the body
+     * @param cacheControl Cache-Control of the response
+     * @return the cached response, or empty if the body could not be serialized
+     */
+    public Optional<CachedResponse> put(String key, Object body, String etag, CacheControl cacheControl) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            CachedResponse response = new CachedResponse(identity, gzip(identity), etag,
+                    cacheControl.getHeaderValue());
+            cache.put(key, response);
+            return Optional.of(response);
+        } catch (IOException e) {
+            log.warn("Failed to serialize search response {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long weightedSize() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip (gzip or *, with q > 0)
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!name.equals("gzip") && !name.equals("*")) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            return quality > 0;
+        }
+        return false;
+    }
+
+    /**
+     * Serialized response: the JSON body as is and gzipped, with its validators
+     */
+    public record CachedResponse(byte[] identity, byte[] gzip, String etag, String cacheControl) {
+
+        int weight() {
+            return BASE_WEIGHT + identity.length + gzip.length;
+        }
+
+        /**
+         * Write the response: 304 if If-None-Match still matches, otherwise
+         * the gzip bytes when the client accepts them, else the identity bytes
+         */
+        public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            // Sets ETag, and the 304 status on a match
+            if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+
+            boolean gzipped = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            byte[] bytes = gzipped ? gzip : identity;
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            if (gzipped) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            response.setContentLength(bytes.length);
+            response.getOutputStream().write(bytes);
+        }
+    }
+}
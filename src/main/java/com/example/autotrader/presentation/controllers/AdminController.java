@@ -0,0 +1,96 @@
+package com.example.autotrader.presentation.controllers;
+
+import com.example.autotrader.application.dtos.CacheStatsDto;
+import com.example.autotrader.application.dtos.CarExport;
+import com.example.autotrader.application.dtos.DealerFeedResultDto;
+import com.example.autotrader.application.dtos.SlowSearchShapeDto;
+import com.example.autotrader.application.usecases.GetCacheStatsUseCase;
+import com.example.autotrader.application.usecases.GetSlowSearchesUseCase;
+import com.example.autotrader.application.usecases.IngestDealerFeedUseCase;
+import com.example.autotrader.core.utilities.EitherResponseHelper;
+import com.example.autotrader.presentation.dtos.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Operational endpoints (cache statistics, slow searches, dealer feeds...)
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+    
+    private final GetCacheStatsUseCase getCacheStatsUseCase;
+    private final IngestDealerFeedUseCase ingestDealerFeedUseCase;
+    private final GetSlowSearchesUseCase getSlowSearchesUseCase;
+    
+    /**
+     * GET /api/v1/admin/caches
+     * Hit/miss/eviction statistics of the in-process caches
+     */
+    @GetMapping("/caches")
+    public ResponseEntity<ApiResponse<List<CacheStatsDto>>> getCacheStats() {
+        return EitherResponseHelper.toResponse(getCacheStatsUseCase.execute(), "Get cache stats successfully");
+    }
+    
+    /**
+     * GET /api/v1/admin/slow-searches?limit=20
+     * 
+     * Các dạng filter (shape) của những search chậm gần đây, chậm nhất trước:
+     * số lần, thời gian max/avg, search chậm nhất (criteria, SQL, bind values)
+     * và EXPLAIN ANALYZE mới nhất của shape
+     */
+    @GetMapping("/slow-searches")
+    public ResponseEntity<ApiResponse<List<SlowSearchShapeDto>>> getSlowSearches(
+            @RequestParam(defaultValue = "20") int limit) {
+        return EitherResponseHelper.toResponse(getSlowSearchesUseCase.execute(limit), "Get slow searches successfully");
+    }
+    
+    /**
+     * POST /api/v1/admin/dealers/{dealerId}/feed
+     * 
+     * Nhận toàn bộ tồn kho của dealer (body CSV hoặc NDJSON), so với dữ liệu
+     * hiện tại theo stock_number: thêm xe mới, cập nhật xe thay đổi, đánh dấu
+     * sold xe không còn trong feed.
+     * 
+     * Params:
+     * - format: csv hoặc ndjson (mặc định theo Content-Type: text/csv, application/x-ndjson)
+     * - partial: true nếu feed chỉ chứa một phần tồn kho (không đánh dấu sold)
+     */
+    @PostMapping("/dealers/{dealerId}/feed")
+    public ResponseEntity<ApiResponse<DealerFeedResultDto>> ingestDealerFeed(
+            @PathVariable UUID dealerId,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean partial,
+            HttpServletRequest request) throws IOException {
+        
+        String feedFormat = format != null ? format : formatOf(request.getContentType());
+        try (InputStream body = request.getInputStream()) {
+            return EitherResponseHelper.toResponse(
+                    ingestDealerFeedUseCase.execute(dealerId, body, feedFormat, partial),
+                    "Ingest dealer feed successfully");
+        }
+    }
+    
+    /**
+     * Feed format of a Content-Type (ndjson when not csv)
+     */
+    private static String formatOf(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith(CarExport.Format.CSV.getContentType())) {
+            return CarExport.Format.CSV.getValue();
+        }
+        return CarExport.Format.NDJSON.getValue();
+    }
+}
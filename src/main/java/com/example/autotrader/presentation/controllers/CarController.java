@@ -1,23 +1,36 @@
 package com.example.autotrader.presentation.controllers;
 
 import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.application.dtos.CarExport;
+import com.example.autotrader.application.dtos.CarFacetsDto;
 import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.usecases.ExportCarListingsUseCase;
+import com.example.autotrader.application.usecases.GetCarFacetsUseCase;
 import com.example.autotrader.application.usecases.GetCarListUseCase;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
 import com.example.autotrader.core.data.Pagination;
 import com.example.autotrader.core.utilities.EitherResponseHelper;
+import com.example.autotrader.presentation.caches.SearchResponseCache;
 import com.example.autotrader.presentation.dtos.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,6 +41,10 @@ import java.util.stream.Collectors;
 public class CarController {
     
     private final GetCarListUseCase getCarListUseCase;
+    private final GetCarFacetsUseCase getCarFacetsUseCase;
+    private final ExportCarListingsUseCase exportCarListingsUseCase;
+    private final SearchResponseCache searchResponseCache;
+    private final ObjectMapper objectMapper;
     
     /**
      * Tìm kiếm và lọc xe với tất cả các tiêu chí
@@ -46,6 +63,13 @@ public class CarController {
      * - sort: relevance|price-asc|price-desc|year-asc|year-desc|mileage-asc|mileage-desc
      * - page: Số trang (bắt đầu từ 1)
      * - size: Số lượng kết quả mỗi trang
+     * - cursor: Cursor keyset (lấy từ nextCursor của trang trước), bỏ qua OFFSET
+     * - countMode: exact (mặc định, chạy COUNT) hoặc estimated (không COUNT, total cached/estimated)
+     * - engine: jpa (Specification) hoặc bitmap (index trong bộ nhớ), mặc định theo cấu hình
+     * 
+     * Response có ETag (weak) và Cache-Control: public, max-age=30; gửi lại ETag qua
+     * If-None-Match sẽ nhận 304 nếu trang kết quả không đổi.
+     * Response thành công được cache dưới dạng bytes (JSON + gzip, SearchResponseCache).
      */
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Pagination<CarDto>>> searchCars(
@@ -59,10 +83,15 @@ public class CarController {
             @RequestParam(required = false) String selectedTransmission,
             @RequestParam(defaultValue = "relevance") String sort,
                     @RequestParam(defaultValue = "1") @Min(1) int page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "exact") String countMode,
+            @RequestParam(required = false) String engine,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         
-        log.info("Searching cars with filters - value: {}, minPrice: {}, maxPrice: {}, makes: {}, models: {}, trims: {}, bodyTypes: {}, transmission: {}, sort: {}, page: {}, size: {}", 
-                value, minPrice, maxPrice, selectedMakes, selectedModels, selectedTrims, selectedBodyTypes, selectedTransmission, sort, page, size);
+        log.info("Searching cars with filters - value: {}, minPrice: {}, maxPrice: {}, makes: {}, models: {}, trims: {}, bodyTypes: {}, transmission: {}, sort: {}, page: {}, size: {}, cursor: {}, countMode: {}, engine: {}", 
+                value, minPrice, maxPrice, selectedMakes, selectedModels, selectedTrims, selectedBodyTypes, selectedTransmission, sort, page, size, cursor, countMode, engine);
         
         CarFilterCriteria criteria = CarFilterCriteria.builder()
                 .value(value)
@@ -76,13 +105,130 @@ public class CarController {
                 .sort(sort)
                 .page(page - 1)
                 .size(size)
+                .cursor(cursor)
+                .countMode(countMode)
+                .engine(engine)
                 .build();
         
+        // Hot page: bytes already serialized, written as is (null = response handled)
+        Optional<String> cacheKey = searchResponseCache.key(criteria);
+        Optional<SearchResponseCache.CachedResponse> cached = cacheKey.flatMap(searchResponseCache::get);
+        if (cached.isPresent()) {
+            cached.get().writeTo(request, response);
+            return null;
+        }
+        
                 // Execute search - returns Either<Failure, Pagination<CarDto>>
                 Either<Failure, Pagination<CarDto>> result = getCarListUseCase.execute(criteria);
         
-        // Convert Either to ResponseEntity using helper
-        return EitherResponseHelper.toResponse(result, "Search cars successfully");
+        if (result.isRight() && cacheKey.isPresent()) {
+            Pagination<CarDto> data = result.rightOrNull();
+            cached = searchResponseCache.put(cacheKey.get(),
+                    ApiResponse.success("Search cars successfully", data),
+                    CarETags.search(data), CarETags.SEARCH_CACHE_CONTROL);
+            if (cached.isPresent()) {
+                cached.get().writeTo(request, response);
+                return null;
+            }
+        }
+        
+        // Convert Either to ResponseEntity using helper (304 if the client's ETag still matches).
+        // No Last-Modified: a car leaving the results does not move the max updated_at
+        return EitherResponseHelper.toConditionalResponse(result, "Search cars successfully",
+                CarETags::search, pagination -> null, CarETags.SEARCH_CACHE_CONTROL);
+    }
+    
+    /**
+     * Đếm số xe theo từng giá trị filter (make, model, body type, transmission, condition)
+     * GET /api/v1/cars/facets
+     * 
+     * Nhận cùng các tham số filter như /search (sort, page, size bị bỏ qua).
+     * Số đếm của một nhóm không áp dụng filter của chính nhóm đó.
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<CarFacetsDto>> getFacets(
+            @RequestParam(required = false) String value,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String selectedMakes,
+            @RequestParam(required = false) String selectedModels,
+            @RequestParam(required = false) String selectedTrims,
+            @RequestParam(required = false) String selectedBodyTypes,
+            @RequestParam(required = false) String selectedTransmission) {
+        
+        log.info("Counting facets with filters - value: {}, minPrice: {}, maxPrice: {}, makes: {}, models: {}, trims: {}, bodyTypes: {}, transmission: {}", 
+                value, minPrice, maxPrice, selectedMakes, selectedModels, selectedTrims, selectedBodyTypes, selectedTransmission);
+        
+        CarFilterCriteria criteria = CarFilterCriteria.builder()
+                .value(value)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .selectedMake(selectedMakes)
+                .selectedModel(selectedModels)
+                .selectedTrim(selectedTrims)
+                .selectedBodyTypes(parseStringList(selectedBodyTypes))
+                .selectedTransmission(selectedTransmission)
+                .build();
+        
+        Either<Failure, CarFacetsDto> result = getCarFacetsUseCase.execute(criteria);
+        
+        return EitherResponseHelper.toResponse(result, "Count facets successfully");
+    }
+    
+    /**
+     * Xuất toàn bộ kết quả tìm kiếm (NDJSON hoặc CSV), stream trực tiếp từ database
+     * GET /api/v1/cars/export
+     * 
+     * Nhận cùng các tham số filter và sort như /search (page, size, cursor bị bỏ qua).
+     * Một query duy nhất, không COUNT/OFFSET, bộ nhớ không tăng theo số dòng.
+     * 
+     * Params:
+     * - format: ndjson (mặc định, một CarDto JSON mỗi dòng) hoặc csv
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCars(
+            @RequestParam(required = false) String value,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String selectedMakes,
+            @RequestParam(required = false) String selectedModels,
+            @RequestParam(required = false) String selectedTrims,
+            @RequestParam(required = false) String selectedBodyTypes,
+            @RequestParam(required = false) String selectedTransmission,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        log.info("Exporting cars with filters - value: {}, minPrice: {}, maxPrice: {}, makes: {}, models: {}, trims: {}, bodyTypes: {}, transmission: {}, sort: {}, format: {}", 
+                value, minPrice, maxPrice, selectedMakes, selectedModels, selectedTrims, selectedBodyTypes, selectedTransmission, sort, format);
+        
+        CarFilterCriteria criteria = CarFilterCriteria.builder()
+                .value(value)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .selectedMake(selectedMakes)
+                .selectedModel(selectedModels)
+                .selectedTrim(selectedTrims)
+                .selectedBodyTypes(parseStringList(selectedBodyTypes))
+                .selectedTransmission(selectedTransmission)
+                .sort(sort)
+                .build();
+        
+        Either<Failure, CarExport> result = exportCarListingsUseCase.execute(criteria, format);
+        if (result.isLeft()) {
+            // Same error body as the other endpoints, written by the streaming handler
+            ResponseEntity<ApiResponse<CarExport>> error = EitherResponseHelper.toResponse(result, "Export cars successfully");
+            return ResponseEntity.status(error.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error.getBody()));
+        }
+        
+        CarExport export = result.rightOrNull();
+        StreamingResponseBody body = export::writeTo;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.getFormat().getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"cars." + export.getFormat().getValue() + "\"")
+                .body(body);
     }
     
     /**
@@ -1,16 +1,19 @@
 package com.example.autotrader.presentation.controllers;
 
+import com.example.autotrader.application.dtos.CarBatchItemDto;
 import com.example.autotrader.application.dtos.CarDto;
 import com.example.autotrader.application.usecases.GetCarDetailUseCase;
 import com.example.autotrader.core.data.Either;
 import com.example.autotrader.core.data.Failure;
 import com.example.autotrader.core.utilities.EitherResponseHelper;
 import com.example.autotrader.presentation.dtos.ApiResponse;
+import com.example.autotrader.presentation.dtos.CarBatchRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -31,9 +34,39 @@ public class CarDetailController {
     
     private final GetCarDetailUseCase getCarDetailUseCase;
     
+    /**
+     * GET /api/v1/cars/batch?ids=id1,id2,...
+     * Get details of several cars in one call (compare page, favorites)
+     * 
+     * Items keep the request order; missing ids are reported per item
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<ApiResponse<List<CarBatchItemDto>>> getCarDetails(@RequestParam List<UUID> ids) {
+        log.info("Getting car details - {} ids", ids.size());
+        
+        Either<Failure, List<CarBatchItemDto>> result = getCarDetailUseCase.getCarDetails(ids);
+        
+        return EitherResponseHelper.toResponse(result, "Get car details successfully");
+    }
+    
+    /**
+     * POST /api/v1/cars/batch
+     * Same as GET, with the ids in the body ({"ids": [...]}) for long lists
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<CarBatchItemDto>>> getCarDetails(@RequestBody CarBatchRequest request) {
+        log.info("Getting car details - {} ids", request.getIds() != null ? request.getIds().size() : 0);
+        
+        Either<Failure, List<CarBatchItemDto>> result = getCarDetailUseCase.getCarDetails(request.getIds());
+        
+        return EitherResponseHelper.toResponse(result, "Get car details successfully");
+    }
+    
     /**
      * GET /api/v1/cars/{id}
      * Get car detail by ID with Either pattern
+     * 
+     * Sends ETag / Last-Modified; If-None-Match with the current ETag gets 304
      */
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<CarDto>> getCarDetail(@PathVariable UUID id) {
@@ -42,7 +75,8 @@ public class CarDetailController {
         // Execute use case - returns Either<Failure, CarDto>
         Either<Failure, CarDto> result = getCarDetailUseCase.getCarDetail(id);
         
-        // Convert to ResponseEntity using helper (MUCH cleaner!)
-        return EitherResponseHelper.toResponse(result, "Get car detail successfully");
+        // Convert to ResponseEntity using helper (MUCH cleaner!), 304 if unchanged
+        return EitherResponseHelper.toConditionalResponse(result, "Get car detail successfully",
+                CarETags::detail, CarETags::lastModified, CarETags.DETAIL_CACHE_CONTROL);
     }
 }
@@ -0,0 +1,88 @@
+package com.example.autotrader.presentation.controllers;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.core.data.Pagination;
+import com.example.autotrader.core.utilities.WeakETag;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Validators (ETag, Last-Modified) and Cache-Control of car responses
+ *
+ * A car changes when cars.updated_at changes, except for what lives in
+ * other tables (make/model names, dealer, badges): those are folded into
+ * the tag too. viewsCount is left out on purpose, otherwise every view
+ * would change the tag; a 304 may carry a slightly old count.
+ */
+final class CarETags {
+
+    /**
+     * Detail: cached by the browser only and always revalidated, so every
+     * view still reaches the server and is counted
+     */
+    static final CacheControl DETAIL_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Search: shared caches (nginx) may serve a page for 30s, then revalidate
+     */
+    static final CacheControl SEARCH_CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .mustRevalidate();
+
+    private CarETags() {
+    }
+
+    /**
+     * Detail ETag: id + updated_at (+ joined labels and badges)
+     */
+    static String detail(CarDto car) {
+        return add(new WeakETag(), car).build();
+    }
+
+    /**
+     * Detail Last-Modified (updated_at), null if unknown
+     */
+    static Instant lastModified(CarDto car) {
+        return car.getUpdatedAt() != null ? car.getUpdatedAt().toInstant() : null;
+    }
+
+    /**
+     * Search ETag: fingerprint of the result ids with the updated_at of each
+     * (stronger than ids + max updated_at: an older car replacing one on the
+     * page changes it too) and the paging fields
+     */
+    static String search(Pagination<CarDto> page) {
+        WeakETag tag = new WeakETag()
+                .add(page.getPage())
+                .add(page.getPageSize())
+                .add(page.getTotal())
+                .add(page.getTotalType() != null ? page.getTotalType().getValue() : null)
+                .add(page.hasNext())
+                .add(page.getNextCursor())
+                .add(page.getList().size());
+        page.getList().forEach(car -> add(tag, car));
+        return tag.build();
+    }
+
+    private static WeakETag add(WeakETag tag, CarDto car) {
+        tag.add(car.getId())
+                .add(car.getUpdatedAt())
+                .add(car.getMakeName())
+                .add(car.getModelName())
+                .add(car.getTrimName())
+                .add(car.getBodyTypeName())
+                .add(car.getBodyTypeIcon())
+                .add(car.getTransmissionType())
+                .add(car.getConditionName())
+                .add(car.getDealerName())
+                .add(car.getDealerLocation());
+        if (car.getBadges() != null) {
+            tag.add(car.getBadges().size());
+            car.getBadges().forEach(badge ->
+                    tag.add(badge.getId()).add(badge.getName()).add(badge.getColor()));
+        }
+        return tag;
+    }
+}
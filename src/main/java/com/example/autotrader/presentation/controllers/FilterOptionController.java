@@ -0,0 +1,40 @@
+package com.example.autotrader.presentation.controllers;
+
+import com.example.autotrader.application.dtos.FilterOptionsDto;
+import com.example.autotrader.application.usecases.GetFilterOptionsUseCase;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.utilities.EitherResponseHelper;
+import com.example.autotrader.presentation.dtos.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/filter-options")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class FilterOptionController {
+    
+    private final GetFilterOptionsUseCase getFilterOptionsUseCase;
+    
+    /**
+     * Danh sách giá trị cho các filter tìm kiếm (từ bộ nhớ, không query database)
+     * GET /api/v1/filter-options
+     * 
+     * Params:
+     * - parentId: id của make (chỉ trả về models/trims của hãng đó) hoặc model (chỉ trims của dòng đó)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<FilterOptionsDto>> getFilterOptions(
+            @RequestParam(required = false) UUID parentId) {
+        
+        Either<Failure, FilterOptionsDto> result = getFilterOptionsUseCase.execute(parentId);
+        
+        return EitherResponseHelper.toResponse(result, "Get filter options successfully");
+    }
+}
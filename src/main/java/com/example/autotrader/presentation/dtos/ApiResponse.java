@@ -3,6 +3,7 @@ package com.example.autotrader.presentation.dtos;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -14,6 +15,8 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    // Time of the response, not part of its content: two bodies with the same data are equal
+    @EqualsAndHashCode.Exclude
     private String timestamp;
     
     public static <T> ApiResponse<T> success(T data) {
@@ -0,0 +1,18 @@
+package com.example.autotrader.presentation.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of POST /api/v1/cars/batch
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarBatchRequest {
+    private List<UUID> ids;
+}
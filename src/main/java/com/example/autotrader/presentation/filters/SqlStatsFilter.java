@@ -0,0 +1,204 @@
+package com.example.autotrader.presentation.filters;
+
+import com.example.autotrader.infrastructure.sql.SqlStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request SQL statements, rows and database time
+ *
+ * Binds a SqlStats to the request (SqlStatsDataSource fills it, FanOut
+ * branches included) and reports it:
+ * - Server-Timing header: {@code db;dur=4.20;desc="3 statements, 21 rows", app;dur=12.75},
+ *   shown by browser dev tools next to the request timings. Added when the
+ *   response is about to commit (first body write), so it covers the
+ *   statements of the handler, not those after the first byte.
+ * - MDC fields sql_statements, sql_rows, sql_time_ms, http_route and a
+ *   summary line on logger com.example.autotrader.sql (DEBUG), picked up by
+ *   structured logging (logging.structured.format.console).
+ * - Budgets per route: more statements than expected (an N+1 coming back,
+ *   a lazy association in a loop) logs a WARN naming the route.
+ *
+ * Streaming exports (async) are reported for their first dispatch only.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "autotrader.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("com.example.autotrader.sql");
+
+    private static final String MDC_STATEMENTS = "sql_statements";
+    private static final String MDC_ROWS = "sql_rows";
+    private static final String MDC_TIME = "sql_time_ms";
+    private static final String MDC_ROUTE = "http_route";
+
+    private final boolean serverTiming;
+    private final Map<String, Integer> budgets;
+
+    /**
+     * @param budgets route pattern → maximum statements, e.g. {@code /api/v1/cars/{id}:2,/api/v1/cars/search:3}
+     */
+    public SqlStatsFilter(@Value("${autotrader.sql-stats.server-timing:true}") boolean serverTiming,
+                          @Value("${autotrader.sql-stats.budgets:}") String budgets) {
+        this.serverTiming = serverTiming;
+        this.budgets = parseBudgets(budgets);
+    }
+
+    static Map<String, Integer> parseBudgets(String value) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalid SQL budget '" + trimmed + "', expected <route>:<statements>");
+            }
+            budgets.put(trimmed.substring(0, colon).trim(), Integer.parseInt(trimmed.substring(colon + 1).trim()));
+        }
+        return Map.copyOf(budgets);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStats stats = SqlStats.start();
+        TimingResponse timingResponse = serverTiming ? new TimingResponse(response, stats, start) : null;
+        try {
+            chain.doFilter(request, timingResponse != null ? timingResponse : response);
+        } finally {
+            SqlStats.clear();
+            if (timingResponse != null) {
+                timingResponse.addHeader();
+            }
+            report(request, stats, System.nanoTime() - start);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats stats, long elapsedNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : request.getRequestURI();
+        long statements = stats.statements();
+        Integer budget = pattern != null ? budgets.get(route) : null;
+        boolean overBudget = budget != null && statements > budget;
+        if (!overBudget && !SQL_LOG.isDebugEnabled()) {
+            return;
+        }
+
+        MDC.put(MDC_STATEMENTS, Long.toString(statements));
+        MDC.put(MDC_ROWS, Long.toString(stats.rows()));
+        MDC.put(MDC_TIME, millis(stats.nanos()));
+        MDC.put(MDC_ROUTE, route);
+        try {
+            if (overBudget) {
+                SQL_LOG.warn("{} {} ran {} SQL statements, budget {} ({} rows, db {} ms, total {} ms)",
+                        request.getMethod(), route, statements, budget, stats.rows(),
+                        millis(stats.nanos()), millis(elapsedNanos));
+            } else {
+                SQL_LOG.debug("{} {}: {} SQL statements, {} rows, db {} ms, total {} ms",
+                        request.getMethod(), route, statements, stats.rows(),
+                        millis(stats.nanos()), millis(elapsedNanos));
+            }
+        } finally {
+            MDC.remove(MDC_STATEMENTS);
+            MDC.remove(MDC_ROWS);
+            MDC.remove(MDC_TIME);
+            MDC.remove(MDC_ROUTE);
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Adds Server-Timing once, right before the response commits
+     * (headers cannot change after the first byte of the body)
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStats stats;
+        private final long start;
+        private boolean added;
+
+        TimingResponse(HttpServletResponse response, SqlStats stats, long start) {
+            super(response);
+            this.stats = stats;
+            this.start = start;
+        }
+
+        void addHeader() {
+            if (added) {
+                return;
+            }
+            added = true;
+            if (isCommitted()) {
+                return;
+            }
+            setHeader(SERVER_TIMING, String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements, %d rows\", app;dur=%.2f",
+                    stats.nanos() / 1_000_000.0, stats.statements(), stats.rows(),
+                    (System.nanoTime() - start) / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.example.autotrader;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "autotrader.cache.l2=local")
 class AutotraderApplicationTests {
 
 	@Test
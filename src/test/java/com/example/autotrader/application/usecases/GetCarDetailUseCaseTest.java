@@ -0,0 +1,179 @@
+package com.example.autotrader.application.usecases;
+
+import com.example.autotrader.application.caches.CarDetailCache;
+import com.example.autotrader.application.caches.ViewsCounter;
+import com.example.autotrader.application.dtos.CarBatchItemDto;
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.BodyType;
+import com.example.autotrader.domain.entities.Car;
+import com.example.autotrader.domain.entities.Condition;
+import com.example.autotrader.domain.entities.Dealer;
+import com.example.autotrader.domain.entities.Make;
+import com.example.autotrader.domain.entities.Model;
+import com.example.autotrader.domain.entities.Transmission;
+import com.example.autotrader.domain.entities.Trim;
+import com.example.autotrader.domain.events.DataChangedEvent;
+import com.example.autotrader.infrastructure.repositories.CarRepositoryImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Car detail must load in a single SELECT (no N+1 over the lazy associations)
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:car-detail;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GetCarDetailUseCase.class, CarDetailCache.class, ViewsCounter.class, CarRepositoryImpl.class})
+class GetCarDetailUseCaseTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GetCarDetailUseCase getCarDetailUseCase;
+
+    @Autowired
+    private ViewsCounter viewsCounter;
+
+    @Autowired
+    private CarDetailCache carDetailCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UUID carId;
+
+    @BeforeEach
+    void setUp() {
+        Make make = entityManager.persist(Make.builder().name("Toyota").build());
+        Model model = entityManager.persist(Model.builder().make(make).name("RAV4").build());
+        Trim trim = entityManager.persist(Trim.builder().model(model).name("XLE").build());
+        Car car = Car.builder()
+                .year(2021)
+                .mileage(12000)
+                .price(new BigDecimal("28500.00"))
+                .make(make)
+                .model(model)
+                .trim(trim)
+                .bodyType(entityManager.persist(BodyType.builder().name("SUV").build()))
+                .transmission(entityManager.persist(Transmission.builder().type("Automatic").build()))
+                .condition(entityManager.persist(Condition.builder().name("Used").build()))
+                .dealer(entityManager.persist(Dealer.builder().name("Downtown Motors").location("Austin, TX").build()))
+                .badges(Set.of(
+                        entityManager.persist(Badge.builder().name("Great Price").build()),
+                        entityManager.persist(Badge.builder().name("No Accidents").build())))
+                .build();
+        carId = entityManager.persistAndFlush(car).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    void loadsCarDetailWithSingleStatement() {
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        Either<Failure, CarDto> result = getCarDetailUseCase.getCarDetail(carId);
+
+        assertThat(result.isRight()).isTrue();
+        CarDto car = result.rightOrNull();
+        assertThat(car.getMakeName()).isEqualTo("Toyota");
+        assertThat(car.getModelName()).isEqualTo("RAV4");
+        assertThat(car.getTrimName()).isEqualTo("XLE");
+        assertThat(car.getBodyTypeName()).isEqualTo("SUV");
+        assertThat(car.getTransmissionType()).isEqualTo("Automatic");
+        assertThat(car.getConditionName()).isEqualTo("Used");
+        assertThat(car.getDealerName()).isEqualTo("Downtown Motors");
+        assertThat(car.getBadges()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void servesRepeatedDetailFromCacheWithoutStatements() {
+        getCarDetailUseCase.getCarDetail(carId);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        assertThat(getCarDetailUseCase.getCarDetail(carId).isRight()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void loadsBatchInRequestOrderWithSingleStatement() {
+        UUID missing = UUID.randomUUID();
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        Either<Failure, List<CarBatchItemDto>> result =
+                getCarDetailUseCase.getCarDetails(List.of(missing, carId, carId));
+
+        List<CarBatchItemDto> items = result.rightOrNull();
+        assertThat(items).extracting(CarBatchItemDto::getId).containsExactly(missing, carId, carId);
+        assertThat(items).extracting(CarBatchItemDto::isFound).containsExactly(false, true, true);
+        assertThat(items.get(0).getErrorCode()).isEqualTo("CAR_NOT_FOUND");
+        assertThat(items.get(1).getCar().getBadges()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void countsViewsInMemoryAndFlushesThemInOneBatch() {
+        viewsCounter.flush(); // views counted by the other tests
+        getCarDetailUseCase.getCarDetail(carId);
+        getCarDetailUseCase.getCarDetail(carId);
+        Statistics statistics = statistics();
+        statistics.clear();
+
+        // Visible immediately, without writing
+        assertThat(getCarDetailUseCase.getCarDetail(carId).rightOrNull().getViewsCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(storedViews()).isZero();
+
+        assertThat(viewsCounter.flush()).isEqualTo(1);
+        assertThat(storedViews()).isEqualTo(3);
+        assertThat(viewsCounter.unflushed(carId)).isZero();
+
+        // Flushed car stays cached with the stored views added, not reloaded
+        carDetailCache.onDataChanged(new DataChangedEvent(DataChangedEvent.CAR_VIEWS, carId));
+        statistics.clear();
+        assertThat(getCarDetailUseCase.getCarDetail(carId).rightOrNull().getViewsCount()).isEqualTo(4);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // A reload reads the stored count instead (new persistence context, as per request)
+        carDetailCache.onDataChanged(new DataChangedEvent(DataChangedEvent.CARS, carId));
+        entityManager.clear();
+        assertThat(getCarDetailUseCase.getCarDetail(carId).rightOrNull().getViewsCount()).isEqualTo(5);
+    }
+
+    private int storedViews() {
+        return jdbcTemplate.queryForObject("SELECT views_count FROM cars WHERE id = ?", Integer.class, carId);
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.autotrader.benchmarks;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.core.data.Pagination;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.presentation.dtos.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of a search response, ApiResponse<Pagination<CarDto>>
+ * with 20 cars, with an ObjectMapper configured like Spring Boot's
+ *
+ * - serialize: what every uncached search pays
+ * - serializeAndGzip: one SearchResponseCache fill (identity + gzip bytes)
+ *
+ * mvn -Pbenchmark test -Djmh.args="ApiResponseSerialization -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<Pagination<CarDto>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Random random = new Random(42);
+        List<Badge> badges = BenchmarkData.badges(random);
+        List<CarListingView> rows = BenchmarkData.listings(random, badges);
+        List<CarDto> cars = rows.stream()
+                .map(BenchmarkData.mapper(badges, rows)::toDto)
+                .collect(Collectors.toList());
+        response = ApiResponse.success("Search cars successfully",
+                Pagination.of(cars, 1, BenchmarkData.PAGE_SIZE, 1_234));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip() throws IOException {
+        byte[] identity = objectMapper.writeValueAsBytes(response);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(identity);
+        }
+        return out.toByteArray();
+    }
+}
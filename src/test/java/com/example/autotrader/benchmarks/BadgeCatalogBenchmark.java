@@ -0,0 +1,123 @@
+package com.example.autotrader.benchmarks;
+
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.application.search.BadgeCatalog;
+import com.example.autotrader.domain.entities.Badge;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Badges of one search page (20 rows): per-row badge JSON parsed with
+ * ObjectMapper → List<Map> → BadgeDto (previous car_listings.badges) vs
+ * badge_ids resolved against BadgeCatalog
+ *
+ * Each JSON row is a fresh String, as JDBC returns them. Run with the GC
+ * profiler to compare gc.alloc.rate.norm (bytes per page):
+ * mvn -Pbenchmark test -Djmh.args="BadgeCatalog -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BadgeCatalogBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String[][] BADGES = {
+            {"Great Price", "#10B981"}, {"Good Price", "#3B82F6"}, {"Fair Price", "#F59E0B"},
+            {"No Accidents", "#8B5CF6"}, {"One Owner", "#EC4899"}, {"Low Mileage", "#06B6D4"}
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BadgeCatalog catalog;
+    private String[] jsonPage;
+    private UUID[][] idPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Badge> badges = new ArrayList<>();
+        for (String[] badge : BADGES) {
+            badges.add(Badge.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(badge[0])
+                    .color(badge[1])
+                    .build());
+        }
+        catalog = new BadgeCatalog(new ReferenceDataDictionary(types -> List.of(), () -> badges));
+
+        jsonPage = new String[PAGE_SIZE];
+        idPage = new UUID[PAGE_SIZE][];
+        for (int row = 0; row < PAGE_SIZE; row++) {
+            int count = random.nextInt(4);
+            StringBuilder json = new StringBuilder("[");
+            idPage[row] = new UUID[count];
+            for (int b = 0; b < count; b++) {
+                Badge badge = badges.get(random.nextInt(badges.size()));
+                if (b > 0) {
+                    json.append(',');
+                }
+                json.append("{\"id\":\"").append(badge.getId())
+                        .append("\",\"name\":\"").append(badge.getName())
+                        .append("\",\"color\":\"").append(badge.getColor()).append("\"}");
+                idPage[row][b] = badge.getId();
+            }
+            jsonPage[row] = json.append(']').toString();
+        }
+    }
+
+    @Benchmark
+    public void badgesJson(Blackhole blackhole) throws JsonProcessingException {
+        for (String row : jsonPage) {
+            blackhole.consume(parseBadgesJson(new String(row)));
+        }
+    }
+
+    @Benchmark
+    public void badgeCatalog(Blackhole blackhole) {
+        for (UUID[] row : idPage) {
+            blackhole.consume(catalog.resolve(row));
+        }
+    }
+
+    /**
+     * Previous GetCarListUseCase.parseBadgesJson
+     */
+    private List<CarDto.BadgeDto> parseBadgesJson(String badgesJson) throws JsonProcessingException {
+        if (badgesJson.equals("[]")) {
+            return new ArrayList<>();
+        }
+        List<Map<String, Object>> badgesList = objectMapper.readValue(
+                badgesJson, new TypeReference<List<Map<String, Object>>>() {});
+        return badgesList.stream()
+                .map(badgeMap -> CarDto.BadgeDto.builder()
+                        .id(UUID.fromString((String) badgeMap.get("id")))
+                        .name((String) badgeMap.get("name"))
+                        .color((String) badgeMap.get("color"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.autotrader.benchmarks;
+
+import com.example.autotrader.application.caches.CarDetailCache;
+import com.example.autotrader.application.caches.ReferenceDataDictionary;
+import com.example.autotrader.application.caches.ViewsCounter;
+import com.example.autotrader.application.mappers.CarListingMapper;
+import com.example.autotrader.application.search.BadgeCatalog;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.CarListingView;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic test data shared by the benchmarks: one search page of
+ * car_listings rows and the mapper that turns them into CarDto
+ */
+final class BenchmarkData {
+
+    static final int PAGE_SIZE = 20;
+
+    private static final String[][] BADGES = {
+            {"Great Price", "#10B981"}, {"Good Price", "#3B82F6"}, {"Fair Price", "#F59E0B"},
+            {"No Accidents", "#8B5CF6"}, {"One Owner", "#EC4899"}, {"Low Mileage", "#06B6D4"}
+    };
+    private static final String[][] MODELS = {
+            {"Toyota", "Camry", "LE"}, {"Toyota", "RAV4", "XLE"}, {"Honda", "Civic", "Sport"},
+            {"Honda", "CR-V", "EX"}, {"Ford", "F-150", "Lariat"}, {"BMW", "3 Series", "330i"}
+    };
+    private static final String[] BODY_TYPES = {"Sedan", "SUV", "Truck", "Coupe"};
+
+    private BenchmarkData() {
+    }
+
+    static List<Badge> badges(Random random) {
+        List<Badge> badges = new ArrayList<>();
+        for (String[] badge : BADGES) {
+            badges.add(Badge.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(badge[0])
+                    .color(badge[1])
+                    .build());
+        }
+        return badges;
+    }
+
+    /**
+     * One page of listing rows, as a search returns them
+     */
+    static List<CarListingView> listings(Random random, List<Badge> badges) {
+        OffsetDateTime now = OffsetDateTime.of(2025, 10, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+        List<CarListingView> rows = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            String[] model = MODELS[random.nextInt(MODELS.length)];
+            UUID[] badgeIds = new UUID[random.nextInt(4)];
+            for (int b = 0; b < badgeIds.length; b++) {
+                badgeIds[b] = badges.get(random.nextInt(badges.size())).getId();
+            }
+            rows.add(CarListingView.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .year(2010 + random.nextInt(16))
+                    .mileage(random.nextInt(150_000))
+                    .price(BigDecimal.valueOf(5_000 + random.nextInt(60_000), 0).setScale(2))
+                    .imageUrl("https://images.example.com/cars/" + i + ".jpg")
+                    .isFeatured(random.nextInt(10) == 0)
+                    .isSold(false)
+                    .viewsCount(random.nextInt(5_000))
+                    .createdAt(now.minusHours(random.nextInt(10_000)))
+                    .updatedAt(now.minusMinutes(random.nextInt(10_000)))
+                    .makeId(new UUID(0, model[0].hashCode()))
+                    .modelId(new UUID(1, model[1].hashCode()))
+                    .trimId(new UUID(2, model[2].hashCode()))
+                    .makeName(model[0])
+                    .modelName(model[1])
+                    .trimName(model[2])
+                    .bodyTypeName(BODY_TYPES[random.nextInt(BODY_TYPES.length)])
+                    .bodyTypeIcon("icon-body")
+                    .transmissionType(random.nextBoolean() ? "Automatic" : "Manual")
+                    .conditionName(random.nextBoolean() ? "Used" : "Certified")
+                    .dealerName("Dealer " + random.nextInt(50))
+                    .dealerLocation("Austin, TX")
+                    .badgeCount(badgeIds.length)
+                    .badgeIds(badgeIds)
+                    .build());
+        }
+        return rows;
+    }
+
+    /**
+     * CarListingMapper as wired in the application, with an idle views
+     * counter (some cars have unflushed views)
+     */
+    static CarListingMapper mapper(List<Badge> badges, List<CarListingView> rows) {
+        BadgeCatalog badgeCatalog = new BadgeCatalog(new ReferenceDataDictionary(types -> List.of(), () -> badges));
+        ViewsCounter viewsCounter = new ViewsCounter(null, new CarDetailCache(1 << 20), 60_000, 100_000);
+        for (int i = 0; i < rows.size(); i += 3) {
+            viewsCounter.increment(rows.get(i).getId());
+        }
+        return new CarListingMapper(badgeCatalog, viewsCounter);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.autotrader.benchmarks;
+
+import com.example.autotrader.application.mappers.CarListingMapper;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.CarListingView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CarListingMapper.toDto over one search page (20 rows), the mapping
+ * every search and export runs (formerly GetCarListUseCase.convertToDto;
+ * the badge JSON parsing it used to do is measured in BadgeCatalogBenchmark)
+ *
+ * mvn -Pbenchmark test -Djmh.args="CarListingMapper -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarListingMapperBenchmark {
+
+    private CarListingMapper mapper;
+    private List<CarListingView> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Badge> badges = BenchmarkData.badges(random);
+        page = BenchmarkData.listings(random, badges);
+        mapper = BenchmarkData.mapper(badges, page);
+    }
+
+    @Benchmark
+    public void toDto(Blackhole blackhole) {
+        for (CarListingView row : page) {
+            blackhole.consume(mapper.toDto(row));
+        }
+    }
+}
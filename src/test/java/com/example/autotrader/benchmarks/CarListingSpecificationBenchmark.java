@@ -0,0 +1,137 @@
+package com.example.autotrader.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.autotrader.application.dtos.CarFilterCriteria;
+import com.example.autotrader.application.search.FilterIdResolver;
+import com.example.autotrader.domain.entities.CarListingView;
+import com.example.autotrader.infrastructure.specifications.CarListingViewSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search query construction: CarListingViewSpecification.filterByCriteria
+ * turned into a criteria tree, and that tree translated by Hibernate
+ *
+ * - predicate: Specification built and applied to a new CriteriaQuery
+ *   (what Spring Data does before handing the query to Hibernate)
+ * - query: the same plus createQuery + getResultList on an empty H2
+ *   table; Hibernate does not cache plans of criteria queries, so this is
+ *   dominated by the SQM → SQL translation done on every search
+ *
+ * filters: "ids" (names resolved by FilterIdResolver, the normal path) or
+ * "names" (fallback lower(name) predicates)
+ *
+ * mvn -Pbenchmark test -Djmh.args="CarListingSpecification -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CarListingSpecificationBenchmark {
+
+    @Param({"ids", "names"})
+    public String filters;
+
+    private SessionFactory sessionFactory;
+    private Session session;
+    private CarFilterCriteria criteria;
+    private FilterIdResolver.FilterIds filterIds;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("org.hibernate")).setLevel(Level.ERROR);
+
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url",
+                        "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE")
+                .applySetting("hibernate.connection.username", "sa")
+                .applySetting("hibernate.hbm2ddl.auto", "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(CarListingView.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        session = sessionFactory.openSession();
+        // H2 has no uuid[]/text[] column types: create the table by hand
+        session.doWork(connection -> connection.createStatement().execute("""
+                CREATE TABLE car_listings (
+                    id UUID PRIMARY KEY, year INT, mileage INT, price NUMERIC(12, 2), image_url VARCHAR,
+                    is_featured BOOLEAN, is_sold BOOLEAN, views_count INT,
+                    created_at TIMESTAMP WITH TIME ZONE, updated_at TIMESTAMP WITH TIME ZONE,
+                    make_id UUID, model_id UUID, trim_id UUID, body_type_id UUID, transmission_id UUID,
+                    condition_id UUID, dealer_id UUID,
+                    make_name VARCHAR, model_name VARCHAR, trim_name VARCHAR, body_type_name VARCHAR,
+                    body_type_icon VARCHAR, transmission_type VARCHAR, condition_name VARCHAR,
+                    dealer_name VARCHAR, dealer_location VARCHAR, badge_count INT,
+                    badge_names VARCHAR, badge_ids UUID ARRAY)"""));
+
+        // Toyota SUVs and sedans, automatic, $15k-$40k
+        criteria = CarFilterCriteria.builder()
+                .minPrice(new BigDecimal("15000"))
+                .maxPrice(new BigDecimal("40000"))
+                .selectedMake("Toyota")
+                .selectedBodyTypes(List.of("SUV", "Sedan"))
+                .selectedTransmission("Automatic")
+                .build();
+        filterIds = filters.equals("ids")
+                ? new FilterIdResolver.FilterIds(Set.of(UUID.randomUUID()), null, null,
+                        Set.of(UUID.randomUUID(), UUID.randomUUID()), Set.of(UUID.randomUUID()))
+                : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<CarListingView> predicate() {
+        return criteriaQuery();
+    }
+
+    @Benchmark
+    public List<CarListingView> query() {
+        return session.createQuery(criteriaQuery())
+                .setMaxResults(BenchmarkData.PAGE_SIZE + 1)
+                .getResultList();
+    }
+
+    private CriteriaQuery<CarListingView> criteriaQuery() {
+        CriteriaBuilder criteriaBuilder = session.getCriteriaBuilder();
+        CriteriaQuery<CarListingView> query = criteriaBuilder.createQuery(CarListingView.class);
+        Root<CarListingView> root = query.from(CarListingView.class);
+        query.where(CarListingViewSpecification.filterByCriteria(criteria, null, filterIds)
+                .toPredicate(root, query, criteriaBuilder));
+        query.orderBy(criteriaBuilder.asc(root.get("price")), criteriaBuilder.asc(root.get("id")));
+        return query;
+    }
+}
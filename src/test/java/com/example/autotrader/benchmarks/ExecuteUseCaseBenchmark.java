@@ -0,0 +1,86 @@
+package com.example.autotrader.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import com.example.autotrader.core.exceptions.BusinessException;
+import com.example.autotrader.core.usecase.ExecuteUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of ExecuteUseCase.execute around a use case
+ *
+ * - direct: the supplier called without the wrapper (baseline)
+ * - success: Right through the wrapper
+ * - left: a Failure returned as Left (validation errors)
+ * - businessException / unexpectedException: a thrown exception turned
+ *   into a Failure (stack trace filled in, Failure built)
+ *
+ * Logging is switched off: the numbers exclude the appender, which would
+ * otherwise dominate and flood the benchmark output.
+ *
+ * mvn -Pbenchmark test -Djmh.args="ExecuteUseCase -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteUseCaseBenchmark {
+
+    private final Either<Failure, String> right = Either.right("car");
+    private final Either<Failure, String> left = Either.left(
+            Failure.validation("INVALID_PRICE_RANGE", "Max price must be greater than min price"));
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(ExecuteUseCase.class)).setLevel(Level.OFF);
+    }
+
+    @Benchmark
+    public Either<Failure, String> direct() {
+        return supply(right);
+    }
+
+    @Benchmark
+    public Either<Failure, String> success() {
+        return ExecuteUseCase.execute(() -> supply(right), "Benchmark.success", "Failed");
+    }
+
+    @Benchmark
+    public Either<Failure, String> left() {
+        return ExecuteUseCase.execute(() -> supply(left), "Benchmark.left", "Failed");
+    }
+
+    @Benchmark
+    public Either<Failure, String> businessException() {
+        return ExecuteUseCase.execute(() -> {
+            throw new BusinessException("CAR_NOT_FOUND", "Car not found", 404);
+        }, "Benchmark.businessException", "Failed");
+    }
+
+    @Benchmark
+    public Either<Failure, String> unexpectedException() {
+        return ExecuteUseCase.execute(() -> {
+            throw new IllegalStateException("boom");
+        }, "Benchmark.unexpectedException", "Failed");
+    }
+
+    private static Either<Failure, String> supply(Either<Failure, String> result) {
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.autotrader.benchmarks;
+
+import com.example.autotrader.application.dtos.CarDto;
+import com.example.autotrader.core.data.Pagination;
+import com.example.autotrader.domain.entities.Badge;
+import com.example.autotrader.domain.entities.CarListingView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Pagination.of and Pagination.map over one page of CarDto
+ *
+ * map is measured with an identity mapper, so the result is the overhead
+ * of the wrapper (stream, list copy, builder) and not of the mapping.
+ *
+ * mvn -Pbenchmark test -Djmh.args="Pagination -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationBenchmark {
+
+    private List<CarDto> cars;
+    private Pagination<CarDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Badge> badges = BenchmarkData.badges(random);
+        List<CarListingView> rows = BenchmarkData.listings(random, badges);
+        cars = rows.stream().map(BenchmarkData.mapper(badges, rows)::toDto).collect(Collectors.toList());
+        page = Pagination.of(cars, 3, BenchmarkData.PAGE_SIZE, 1_234);
+    }
+
+    @Benchmark
+    public Pagination<CarDto> of() {
+        return Pagination.of(cars, 3, BenchmarkData.PAGE_SIZE, 1_234);
+    }
+
+    @Benchmark
+    public Pagination<CarDto> map() {
+        return page.map(car -> car);
+    }
+}
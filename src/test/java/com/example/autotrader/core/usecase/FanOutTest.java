@@ -0,0 +1,90 @@
+package com.example.autotrader.core.usecase;
+
+import com.example.autotrader.core.data.Either;
+import com.example.autotrader.core.data.Failure;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FanOutTest {
+
+    private final FanOut fanOut = new FanOut("test-fanout", 2, 4, Duration.ofMillis(500));
+
+    @AfterEach
+    void tearDown() {
+        fanOut.close();
+    }
+
+    @Test
+    void runsBranchesConcurrentlyAndMerges() {
+        // Each branch waits for the other: only completes if both run at once
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Either<Failure, String> result = fanOut.join(
+                () -> Either.right(awaitOther(bothStarted, "page")),
+                () -> Either.right(awaitOther(bothStarted, 42L)),
+                (page, total) -> Either.right(page + ":" + total),
+                "FanOutTest.join");
+
+        assertEquals("page:42", result.rightOrNull());
+    }
+
+    @Test
+    void failureCancelsSibling() throws InterruptedException {
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+
+        Either<Failure, String> result = fanOut.join(
+                () -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.countDown();
+                    }
+                    return Either.right("page");
+                },
+                () -> {
+                    throw new IllegalStateException("count failed");
+                },
+                (page, total) -> Either.right(page + ":" + total),
+                "FanOutTest.join");
+
+        assertEquals("UNKNOWN_ERROR", result.leftOrNull().getErrorCode());
+        assertTrue(siblingInterrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void deadlineReturnsTimeout() {
+        Either<Failure, String> result = fanOut.join(
+                () -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Either.right("page");
+                },
+                () -> Either.right(1L),
+                (page, total) -> Either.right(page + ":" + total),
+                "FanOutTest.join");
+
+        assertEquals("TIMEOUT", result.leftOrNull().getErrorCode());
+    }
+
+    private static <T> T awaitOther(CountDownLatch latch, T value) {
+        latch.countDown();
+        try {
+            if (!latch.await(1, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("branches did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.autotrader.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * H2 in PostgreSQL mode: batched INSERTs into cars, car_badges and
+ * car_listings (H2 has no COPY and no triggers, so the denormalized
+ * listing row is built here from the catalog names)
+ *
+ * prepare creates the tables from loadtest/h2-schema.sql and, on an empty
+ * database, runs the reference seed INSERTs of database-schema.sql.
+ * Start the application on the same file database to drive it, see
+ * README "Load testing".
+ */
+final class H2InventoryWriter implements InventoryWriter {
+
+    private static final String SCHEMA_RESOURCE = "/loadtest/h2-schema.sql";
+
+    private static final String INSERT_CAR = """
+            INSERT INTO cars (id, year, mileage, price, image_url, make_id, model_id, trim_id, body_type_id,
+                              transmission_id, condition_id, dealer_id, is_featured, is_sold, views_count,
+                              created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String INSERT_CAR_BADGE = "INSERT INTO car_badges (car_id, badge_id, created_at) VALUES (?, ?, ?)";
+    private static final String INSERT_LISTING = """
+            INSERT INTO car_listings (id, year, mileage, price, image_url, is_featured, is_sold, views_count,
+                                      created_at, updated_at, make_id, model_id, trim_id, body_type_id,
+                                      transmission_id, condition_id, dealer_id, make_name, model_name, trim_name,
+                                      body_type_name, body_type_icon, transmission_type, condition_name,
+                                      dealer_name, dealer_location, badge_count, badge_names, badge_ids)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final Connection connection;
+    private final Path seedFile;
+
+    H2InventoryWriter(Connection connection, Path seedFile) {
+        this.connection = connection;
+        this.seedFile = seedFile;
+    }
+
+    @Override
+    public void prepare() throws SQLException, IOException {
+        try (InputStream schema = H2InventoryWriter.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (schema == null) {
+                throw new IllegalStateException(SCHEMA_RESOURCE + " not found on the classpath");
+            }
+            execute(statements(new String(schema.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        if (count("makes") == 0) {
+            execute(seedStatements(Files.readString(seedFile)));
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM car_listings");
+            statement.execute("DELETE FROM car_badges");
+            statement.execute("DELETE FROM cars");
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void begin() {
+    }
+
+    @Override
+    public void write(List<InventoryGenerator.GeneratedCar> cars) throws SQLException {
+        try (PreparedStatement insertCar = connection.prepareStatement(INSERT_CAR);
+             PreparedStatement insertBadge = connection.prepareStatement(INSERT_CAR_BADGE);
+             PreparedStatement insertListing = connection.prepareStatement(INSERT_LISTING)) {
+            for (InventoryGenerator.GeneratedCar car : cars) {
+                UUID trimId = car.trim() != null ? car.trim().id() : null;
+                insertCar.setObject(1, car.id());
+                insertCar.setInt(2, car.year());
+                insertCar.setInt(3, car.mileage());
+                insertCar.setBigDecimal(4, BigDecimal.valueOf(car.price()));
+                insertCar.setString(5, car.imageUrl());
+                insertCar.setObject(6, car.model().makeId());
+                insertCar.setObject(7, car.model().id());
+                insertCar.setObject(8, trimId);
+                insertCar.setObject(9, car.bodyType().id());
+                insertCar.setObject(10, car.transmission().id());
+                insertCar.setObject(11, car.condition().id());
+                insertCar.setObject(12, car.dealer().id());
+                insertCar.setBoolean(13, car.featured());
+                insertCar.setBoolean(14, car.sold());
+                insertCar.setInt(15, car.views());
+                insertCar.setObject(16, car.createdAt());
+                insertCar.setObject(17, car.updatedAt());
+                insertCar.addBatch();
+
+                List<String> badgeNames = new ArrayList<>(car.badges().size());
+                UUID[] badgeIds = new UUID[car.badges().size()];
+                for (int i = 0; i < badgeIds.length; i++) {
+                    ReferenceCatalog.Named badge = car.badges().get(i);
+                    badgeNames.add('"' + badge.name() + '"');
+                    badgeIds[i] = badge.id();
+                    insertBadge.setObject(1, car.id());
+                    insertBadge.setObject(2, badge.id());
+                    insertBadge.setObject(3, car.createdAt());
+                    insertBadge.addBatch();
+                }
+
+                insertListing.setObject(1, car.id());
+                insertListing.setInt(2, car.year());
+                insertListing.setInt(3, car.mileage());
+                insertListing.setBigDecimal(4, BigDecimal.valueOf(car.price()));
+                insertListing.setString(5, car.imageUrl());
+                insertListing.setBoolean(6, car.featured());
+                insertListing.setBoolean(7, car.sold());
+                insertListing.setInt(8, car.views());
+                insertListing.setObject(9, car.createdAt());
+                insertListing.setObject(10, car.updatedAt());
+                insertListing.setObject(11, car.model().makeId());
+                insertListing.setObject(12, car.model().id());
+                insertListing.setObject(13, trimId);
+                insertListing.setObject(14, car.bodyType().id());
+                insertListing.setObject(15, car.transmission().id());
+                insertListing.setObject(16, car.condition().id());
+                insertListing.setObject(17, car.dealer().id());
+                insertListing.setString(18, car.model().makeName());
+                insertListing.setString(19, car.model().name());
+                insertListing.setString(20, car.trim() != null ? car.trim().name() : null);
+                insertListing.setString(21, car.bodyType().name());
+                insertListing.setString(22, car.bodyType().icon());
+                insertListing.setString(23, car.transmission().name());
+                insertListing.setString(24, car.condition().name());
+                insertListing.setString(25, car.dealer().name());
+                insertListing.setString(26, car.dealer().location());
+                insertListing.setInt(27, badgeIds.length);
+                // Same text as PostgreSQL prints a text[]: {"Great Price","No Accidents"}
+                insertListing.setString(28, "{" + String.join(",", badgeNames) + "}");
+                insertListing.setArray(29, connection.createArrayOf("UUID", badgeIds));
+                insertListing.addBatch();
+            }
+            insertCar.executeBatch();
+            insertBadge.executeBatch();
+            insertListing.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void end(boolean completed) throws SQLException {
+        if (completed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+            connection.commit();
+        }
+    }
+
+    private long count(String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private void execute(List<String> sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String each : sql) {
+                statement.execute(each);
+            }
+        }
+    }
+
+    /**
+     * Reference seed INSERTs of database-schema.sql (transmissions up to the
+     * sample cars), with ON CONFLICT (columns) reduced to what H2 accepts
+     */
+    static List<String> seedStatements(String schema) {
+        int start = schema.indexOf("INSERT INTO transmissions");
+        int end = schema.indexOf("INSERT INTO cars", start);
+        if (start < 0 || end < 0) {
+            throw new IllegalStateException("Reference seed data not found in the schema file");
+        }
+        return statements(schema.substring(start, end)
+                .replaceAll("ON CONFLICT \\([^)]*\\) DO NOTHING", "ON CONFLICT DO NOTHING"));
+    }
+
+    /**
+     * Split a script into statements (";" at the end of a line), without
+     * "--" comment lines
+     */
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String statement = current.toString().trim();
+                statements.add(statement.substring(0, statement.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,378 @@
+package com.example.autotrader.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Synthetic inventory: cars with the skew of a real marketplace
+ *
+ * - Makes, models within a make and dealers follow Zipf distributions
+ *   (a few popular makes hold most of the stock, as Toyota/Ford/Honda do)
+ * - Model year skews to the last 2-6 years; mileage ≈ 12k miles per year
+ *   with log-normal spread; price = model base price, depreciated 15% a
+ *   year, times a log-normal "deal" factor
+ * - Badges follow the car: Great/Good Price from the deal factor,
+ *   Certified on recent used cars, Electric/Hybrid by model
+ * - A few % featured or sold; views are Pareto distributed
+ *
+ * Everything is drawn from one seeded generator over name-ordered reference
+ * data: the same seed and catalog produce the same cars (and ids).
+ */
+final class InventoryGenerator {
+
+    /**
+     * Makes by popularity (rank 0 = most listed); makes not listed rank after
+     */
+    static final List<String> MAKE_POPULARITY = List.of(
+            "Toyota", "Ford", "Chevrolet", "Honda", "Nissan", "Hyundai", "Kia", "Subaru",
+            "Tesla", "BMW", "Mazda", "Mercedes-Benz", "Volkswagen", "Lexus", "Audi");
+
+    private static final Set<String> LUXURY_MAKES = Set.of("BMW", "Mercedes-Benz", "Audi", "Lexus", "Tesla");
+    private static final String[] CITIES = {
+            "San Francisco, CA", "Oakland, CA", "San Jose, CA", "Los Angeles, CA", "San Diego, CA",
+            "Sacramento, CA", "Seattle, WA", "Portland, OR", "Phoenix, AZ", "Denver, CO", "Austin, TX",
+            "Dallas, TX", "Houston, TX", "Chicago, IL", "Atlanta, GA", "Miami, FL", "Boston, MA", "New York, NY"
+    };
+    private static final int MAX_AGE = 20;
+
+    record GeneratedCar(UUID id, int year, int mileage, long price, String imageUrl,
+                        ReferenceCatalog.Model model, ReferenceCatalog.Named trim,
+                        ReferenceCatalog.BodyType bodyType, ReferenceCatalog.Named transmission,
+                        ReferenceCatalog.Named condition, ReferenceCatalog.Dealer dealer,
+                        boolean featured, boolean sold, int views,
+                        OffsetDateTime createdAt, OffsetDateTime updatedAt,
+                        List<ReferenceCatalog.Named> badges) {
+    }
+
+    private final ReferenceCatalog catalog;
+    private final SplittableRandom random;
+    private final OffsetDateTime now;
+    private final int currentYear;
+
+    private final List<ReferenceCatalog.Make> makes;
+    private final WeightedSampler makeSampler;
+    private final List<WeightedSampler> modelSamplers = new ArrayList<>();
+    private final List<ReferenceCatalog.Dealer> dealers;
+    private final WeightedSampler dealerSampler;
+    private final WeightedSampler ageSampler;
+    private final WeightedSampler bodyTypeSampler;
+
+    private final ReferenceCatalog.Named automatic;
+    private final ReferenceCatalog.Named newCondition;
+    private final ReferenceCatalog.Named usedCondition;
+    private final ReferenceCatalog.Named greatPrice;
+    private final ReferenceCatalog.Named goodPrice;
+    private final ReferenceCatalog.Named noAccidents;
+    private final ReferenceCatalog.Named certified;
+    private final ReferenceCatalog.Named hybrid;
+    private final ReferenceCatalog.Named electric;
+    private final List<ReferenceCatalog.Named> otherBadges = new ArrayList<>();
+
+    private long sequence;
+
+    InventoryGenerator(ReferenceCatalog catalog, long seed, OffsetDateTime now) {
+        this.catalog = catalog;
+        this.random = new SplittableRandom(seed);
+        this.now = now;
+        this.currentYear = now.getYear();
+
+        makes = new ArrayList<>(catalog.makes);
+        makes.sort(Comparator.comparingInt(make -> popularityRank(make.name())));
+        makeSampler = WeightedSampler.zipf(makes.size(), 1.1);
+        for (ReferenceCatalog.Make make : makes) {
+            modelSamplers.add(WeightedSampler.zipf(make.models().size(), 0.9));
+        }
+        // Dealer sizes are skewed too, in a seeded order (not by name)
+        dealers = new ArrayList<>(catalog.dealers);
+        Collections.shuffle(dealers, new Random(seed));
+        dealerSampler = WeightedSampler.zipf(dealers.size(), 0.8);
+        bodyTypeSampler = WeightedSampler.zipf(catalog.bodyTypes.size(), 1.0);
+
+        // Age 0 (new) .. MAX_AGE: peak at 2-5 years, long tail of older cars
+        double[] ageWeights = new double[MAX_AGE + 1];
+        for (int age = 0; age <= MAX_AGE; age++) {
+            ageWeights[age] = age == 0 ? 6 : age <= 5 ? 10 : 10 * Math.pow(0.78, age - 5);
+        }
+        ageSampler = new WeightedSampler(ageWeights);
+
+        automatic = catalog.transmission("Automatic").orElse(null);
+        newCondition = catalog.condition("New").orElse(null);
+        usedCondition = catalog.condition("Used").orElse(null);
+        greatPrice = catalog.badge("Great Price").orElse(null);
+        goodPrice = catalog.badge("Good Price").orElse(null);
+        noAccidents = catalog.badge("No Accidents").orElse(null);
+        certified = catalog.badge("Certified").orElse(null);
+        hybrid = catalog.badge("Hybrid").orElse(null);
+        electric = catalog.badge("Electric").orElse(null);
+        Set<ReferenceCatalog.Named> known = new HashSet<>();
+        for (ReferenceCatalog.Named badge : new ReferenceCatalog.Named[]{
+                greatPrice, goodPrice, noAccidents, certified, hybrid, electric}) {
+            if (badge != null) {
+                known.add(badge);
+            }
+        }
+        catalog.badges.stream().filter(badge -> !known.contains(badge)).forEach(otherBadges::add);
+    }
+
+    static int popularityRank(String make) {
+        int rank = MAKE_POPULARITY.indexOf(make);
+        return rank >= 0 ? rank : MAKE_POPULARITY.size();
+    }
+
+    GeneratedCar next() {
+        long n = sequence++;
+        int makeIndex = makeSampler.sample(random);
+        ReferenceCatalog.Make make = makes.get(makeIndex);
+        ReferenceCatalog.Model model = make.models().get(modelSamplers.get(makeIndex).sample(random));
+        ReferenceCatalog.Named trim = model.trims().isEmpty() || random.nextInt(20) == 0
+                ? null
+                : model.trims().get(random.nextInt(model.trims().size()));
+        ReferenceCatalog.BodyType bodyType = catalog.bodyType(model.category())
+                .orElseGet(() -> catalog.bodyTypes.get(bodyTypeSampler.sample(random)));
+
+        int age = ageSampler.sample(random);
+        int mileage = age == 0
+                ? random.nextInt(50)
+                : (int) Math.round(12_000 * age * Math.exp(0.35 * random.nextGaussian()) / 10) * 10;
+
+        // Deal factor < 1: priced under the market price of the car
+        double deal = Math.exp(0.12 * random.nextGaussian());
+        double market = basePrice(make.name(), model) * Math.pow(0.85, age);
+        long price = Math.max(1_000, Math.round(market * deal / 50) * 50);
+
+        ReferenceCatalog.Named condition = age == 0 && newCondition != null ? newCondition
+                : usedCondition != null ? usedCondition
+                : catalog.conditions.get(random.nextInt(catalog.conditions.size()));
+        ReferenceCatalog.Named transmission = automatic != null && random.nextInt(100) < 92 ? automatic
+                : catalog.transmissions.get(random.nextInt(catalog.transmissions.size()));
+
+        List<ReferenceCatalog.Named> badges = new ArrayList<>(3);
+        addIf(badges, greatPrice, deal < 0.90);
+        addIf(badges, goodPrice, deal >= 0.90 && deal < 0.97);
+        addIf(badges, noAccidents, random.nextInt(100) < 65);
+        addIf(badges, certified, condition == usedCondition && age <= 6 && random.nextInt(100) < 20);
+        addIf(badges, electric, isElectric(make.name(), model.name()));
+        addIf(badges, hybrid, model.name().contains("Prius") || random.nextInt(100) < 4);
+        for (ReferenceCatalog.Named badge : otherBadges) {
+            addIf(badges, badge, random.nextInt(100) < 3);
+        }
+
+        boolean featured = random.nextInt(100) < 3;
+        boolean sold = random.nextInt(100) < 8;
+        // Pareto (alpha 1.5): most cars get a few views, a few get thousands
+        int views = (int) Math.min(100_000, 20 * (Math.pow(1 - random.nextDouble(), -1 / 1.5) - 1));
+        if (featured) {
+            views *= 3;
+        }
+
+        // Listed within the last year, mostly in the last weeks
+        long listedSecondsAgo = (long) Math.min(365 * 86_400.0, -Math.log(1 - random.nextDouble()) * 40 * 86_400);
+        OffsetDateTime createdAt = now.minusSeconds(listedSecondsAgo);
+        long editedSecondsLater = (long) Math.min(listedSecondsAgo, -Math.log(1 - random.nextDouble()) * 5 * 86_400);
+        OffsetDateTime updatedAt = createdAt.plusSeconds(editedSecondsLater);
+
+        String imageUrl = "https://images.example.com/cars/" + slug(make.name()) + "/" + slug(model.name())
+                + "/" + (n % 24) + ".jpg";
+        return new GeneratedCar(new UUID(random.nextLong() & ~0xF000L | 0x4000L,
+                        random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L),
+                currentYear - age, mileage, price, imageUrl, model, trim, bodyType, transmission, condition,
+                dealers.get(dealerSampler.sample(random)), featured, sold, views, createdAt, updatedAt, badges);
+    }
+
+    private static double basePrice(String make, ReferenceCatalog.Model model) {
+        double base = switch (model.category() != null ? model.category() : "") {
+            case "SUV" -> 36_000;
+            case "Truck" -> 45_000;
+            case "Coupe", "Convertible" -> 42_000;
+            case "Wagon" -> 34_000;
+            case "Hatchback" -> 25_000;
+            default -> 29_000;
+        };
+        if (LUXURY_MAKES.contains(make)) {
+            base *= 1.6;
+        }
+        // Fixed per model spread (0.85 - 1.25), so models of a make differ
+        return base * (0.85 + 0.4 * Math.floorMod(model.name().hashCode(), 100) / 100.0);
+    }
+
+    private static boolean isElectric(String make, String model) {
+        return make.equals("Tesla") || model.endsWith(" EV") || model.startsWith("Ioniq") || model.startsWith("EV");
+    }
+
+    private static void addIf(List<ReferenceCatalog.Named> badges, ReferenceCatalog.Named badge, boolean condition) {
+        if (badge != null && condition) {
+            badges.add(badge);
+        }
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    /**
+     * generate: bulk-load --cars generated cars into --db (postgres|h2)
+     */
+    static void run(LoadOptions options) throws Exception {
+        String db = options.string("db", "postgres");
+        String url = options.string("jdbc-url", db.equals("h2")
+                ? "jdbc:h2:file:./target/loadtest/autotrader;AUTO_SERVER=TRUE;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=YEAR,VALUE;CACHE_SIZE=524288"
+                : "jdbc:postgresql://localhost:5432/postgres");
+        String user = options.string("user", db.equals("h2") ? "sa" : "postgres");
+        String password = options.string("password", db.equals("h2") ? "" : "postgres");
+        long cars = options.longValue("cars", 1_000_000);
+        int dealerCount = options.integer("dealers", 500);
+        long seed = options.longValue("seed", 42);
+        int chunkSize = options.integer("chunk", 50_000);
+        boolean truncate = options.flag("truncate", false);
+        Path idsFile = Path.of(options.string("ids-file", "target/loadtest/car-ids.txt"));
+        int sampleIds = options.integer("sample-ids", 20_000);
+        Path schemaFile = Path.of(options.string("schema-file", "database-schema.sql"));
+        options.rejectUnknown();
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            InventoryWriter writer = switch (db) {
+                case "postgres" -> new PostgresInventoryWriter(connection);
+                case "h2" -> new H2InventoryWriter(connection, schemaFile);
+                default -> throw new IllegalArgumentException("Unknown --db=" + db + " (postgres|h2)");
+            };
+            writer.prepare();
+            if (truncate) {
+                writer.truncate();
+            }
+            ensureDealers(connection, dealerCount, seed);
+
+            ReferenceCatalog catalog = ReferenceCatalog.load(connection);
+            // Whole seconds: the same values through COPY text and JDBC
+            InventoryGenerator generator = new InventoryGenerator(catalog, seed,
+                    OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS));
+            System.out.printf("Generating %,d cars into %s: %d makes, %d models, %d dealers, %d badges%n",
+                    cars, url, catalog.makes.size(), catalog.modelCount(), catalog.dealers.size(),
+                    catalog.badges.size());
+
+            IdSample ids = new IdSample(sampleIds, seed);
+            long started = System.nanoTime();
+            boolean completed = false;
+            writer.begin();
+            try {
+                List<GeneratedCar> chunk = new ArrayList<>(chunkSize);
+                for (long written = 0; written < cars; ) {
+                    chunk.clear();
+                    while (chunk.size() < chunkSize && written + chunk.size() < cars) {
+                        GeneratedCar car = generator.next();
+                        chunk.add(car);
+                        if (!car.sold()) {
+                            ids.offer(car.id());
+                        }
+                    }
+                    writer.write(chunk);
+                    written += chunk.size();
+                    double seconds = (System.nanoTime() - started) / 1e9;
+                    System.out.printf("  %,d / %,d cars (%,.0f rows/s)%n", written, cars, written / seconds);
+                }
+                completed = true;
+            } finally {
+                writer.end(completed);
+            }
+            ids.write(idsFile);
+            System.out.printf("Loaded %,d cars in %.1fs; %,d sample ids in %s%n",
+                    cars, (System.nanoTime() - started) / 1e9, ids.size(), idsFile);
+        }
+    }
+
+    /**
+     * Add dealers "Loadtest Dealer NNNN" until there are at least count
+     */
+    private static void ensureDealers(Connection connection, int count, long seed) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT name FROM dealers")) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO dealers (id, name, location) VALUES (?, ?, ?)")) {
+            int added = 0;
+            for (int i = 1; names.size() + added < count; i++) {
+                String name = String.format("Loadtest Dealer %04d", i);
+                String location = CITIES[random.nextInt(CITIES.length)];
+                if (names.contains(name)) {
+                    continue;
+                }
+                insert.setObject(1, new UUID(random.nextLong(), random.nextLong()));
+                insert.setString(2, name);
+                insert.setString(3, location);
+                insert.addBatch();
+                added++;
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Uniform sample of active car ids (reservoir), for the detail requests
+     */
+    private static final class IdSample {
+
+        private final UUID[] ids;
+        private final SplittableRandom random;
+        private long seen;
+
+        IdSample(int size, long seed) {
+            this.ids = new UUID[size];
+            this.random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        }
+
+        void offer(UUID id) {
+            if (seen < ids.length) {
+                ids[(int) seen] = id;
+            } else {
+                long slot = random.nextLong(seen + 1);
+                if (slot < ids.length) {
+                    ids[(int) slot] = id;
+                }
+            }
+            seen++;
+        }
+
+        int size() {
+            return (int) Math.min(seen, ids.length);
+        }
+
+        void write(Path file) throws IOException {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file)) {
+                for (int i = 0; i < size(); i++) {
+                    out.write(ids[i].toString());
+                    out.newLine();
+                }
+            }
+        }
+    }
+}
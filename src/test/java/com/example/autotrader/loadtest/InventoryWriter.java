@@ -0,0 +1,36 @@
+package com.example.autotrader.loadtest;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Bulk writer of generated cars into one kind of database
+ *
+ * A load is prepare → (truncate) → begin → write per chunk → end. Each
+ * write commits its chunk, so an interrupted load keeps what it wrote.
+ */
+interface InventoryWriter {
+
+    /**
+     * Check (or create) the schema and the reference seed data
+     */
+    void prepare() throws SQLException, IOException;
+
+    /**
+     * Delete every car (badges and listing rows with them)
+     */
+    void truncate() throws SQLException;
+
+    void begin() throws SQLException;
+
+    /**
+     * Insert one chunk of cars with their badges and car_listings rows
+     */
+    void write(List<InventoryGenerator.GeneratedCar> cars) throws SQLException, IOException;
+
+    /**
+     * Restore what begin changed; refresh statistics if the load completed
+     */
+    void end(boolean completed) throws SQLException;
+}
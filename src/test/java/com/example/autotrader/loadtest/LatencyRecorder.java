@@ -0,0 +1,81 @@
+package com.example.autotrader.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint (every sample kept, exact percentiles)
+ *
+ * A 60s run at a few thousand requests/s is a few MB of longs, so there
+ * is no need for a histogram; percentiles are nearest-rank over the sorted
+ * samples.
+ */
+final class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1 << 16];
+    private int count;
+    private long errors;
+
+    LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    synchronized void record(long nanos, boolean error) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(name, sorted, errors);
+    }
+
+    static Snapshot merge(String name, Snapshot... snapshots) {
+        int total = 0;
+        long errors = 0;
+        for (Snapshot snapshot : snapshots) {
+            total += snapshot.sorted.length;
+            errors += snapshot.errors;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (Snapshot snapshot : snapshots) {
+            System.arraycopy(snapshot.sorted, 0, merged, offset, snapshot.sorted.length);
+            offset += snapshot.sorted.length;
+        }
+        Arrays.sort(merged);
+        return new Snapshot(name, merged, errors);
+    }
+
+    record Snapshot(String name, long[] sorted, long errors) {
+
+        long count() {
+            return sorted.length;
+        }
+
+        /**
+         * Nearest-rank percentile in milliseconds (p in 0..100)
+         */
+        double percentileMillis(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p / 100 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))] / 1e6;
+        }
+
+        double maxMillis() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.autotrader.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives /api/v1/cars/search and /api/v1/cars/{id} with a request mix
+ * and reports latency percentiles and throughput per endpoint
+ *
+ * Closed loop (default): --concurrency workers, each sends its next
+ * request when the previous one returns. Open loop (--rate=N): requests
+ * are started at a fixed rate whatever the response times, and latency is
+ * measured from the time a request was scheduled to start, not from when
+ * a worker got to it. A stalled server then shows up in p99/p999 instead
+ * of silently lowering the request rate (coordinated omission).
+ *
+ * Searches look like user traffic: popular makes and models more often
+ * (same skew as the generated inventory), price ranges, body types,
+ * sorts, mostly the first page. Details go to the sampled ids written by
+ * "generate", with a Zipf skew (some cars are much hotter than others).
+ */
+final class LoadDriver {
+
+    private static final String[] SORTS = {
+            "relevance", "price-asc", "price-desc", "year-desc", "mileage-asc", "year-asc", "mileage-desc"};
+    private static final WeightedSampler SORT_SAMPLER =
+            new WeightedSampler(new double[]{40, 20, 8, 15, 10, 3, 4});
+    private static final int[] PRICE_FLOORS = {0, 5_000, 10_000, 15_000, 20_000, 30_000, 40_000};
+    private static final int[] PRICE_SPANS = {10_000, 15_000, 25_000, 50_000};
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final boolean gzip;
+    private final int pageSize;
+    private final String countMode;
+    private final String engine;
+
+    private final List<String> makes = new ArrayList<>();
+    private final WeightedSampler makeSampler;
+    private final Map<String, List<String>> modelsByMake = new LinkedHashMap<>();
+    private final Map<String, WeightedSampler> modelSamplers = new LinkedHashMap<>();
+    private final List<String> bodyTypes = new ArrayList<>();
+    private final boolean hasManual;
+    private final List<String> carIds;
+    private final WeightedSampler carSampler;
+
+    private final AtomicBoolean errorReported = new AtomicBoolean();
+
+    private LoadDriver(String baseUrl, Duration timeout, boolean gzip, int pageSize, String countMode,
+                       String engine, Path idsFile, double detailSkew, long seed) throws IOException, InterruptedException {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.timeout = timeout;
+        this.gzip = gzip;
+        this.pageSize = pageSize;
+        this.countMode = countMode;
+        this.engine = engine;
+
+        // Search values from the reference data the application serves
+        JsonNode options = getJson("/api/v1/filter-options").path("data");
+        Map<String, String> makeNamesById = new LinkedHashMap<>();
+        options.path("makes").forEach(make -> makeNamesById.put(make.path("id").asText(), make.path("label").asText()));
+        makes.addAll(makeNamesById.values());
+        makes.sort(Comparator.comparingInt(InventoryGenerator::popularityRank));
+        options.path("models").forEach(model -> {
+            String make = makeNamesById.get(model.path("parentId").asText());
+            if (make != null) {
+                modelsByMake.computeIfAbsent(make, key -> new ArrayList<>()).add(model.path("label").asText());
+            }
+        });
+        modelsByMake.forEach((make, models) -> modelSamplers.put(make, WeightedSampler.zipf(models.size(), 0.9)));
+        options.path("bodyTypes").forEach(bodyType -> bodyTypes.add(bodyType.path("label").asText()));
+        boolean manual = false;
+        for (JsonNode transmission : options.path("transmissions")) {
+            manual |= transmission.path("label").asText().equalsIgnoreCase("Manual");
+        }
+        hasManual = manual;
+        if (makes.isEmpty()) {
+            throw new IllegalStateException("No makes in /api/v1/filter-options: is the database loaded?");
+        }
+        makeSampler = WeightedSampler.zipf(makes.size(), 1.1);
+
+        carIds = Files.exists(idsFile) ? Files.readAllLines(idsFile) : harvestIds();
+        carIds.removeIf(String::isBlank);
+        if (carIds.isEmpty()) {
+            throw new IllegalStateException("No car ids for detail requests: run generate first");
+        }
+        // Which cars are hot is seeded, not the order of the file
+        Collections.shuffle(carIds, new Random(seed));
+        carSampler = WeightedSampler.zipf(carIds.size(), detailSkew);
+    }
+
+    /**
+     * run: drive the API and print the latency report
+     */
+    static void run(LoadOptions options) throws Exception {
+        String baseUrl = options.string("base-url", "http://localhost:8080");
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        int concurrency = options.integer("concurrency", 16);
+        int rate = options.integer("rate", 0);
+        Map<String, Integer> mix = options.weights("mix", "search:80,detail:20");
+        long seed = options.longValue("seed", 42);
+        Path idsFile = Path.of(options.string("ids-file", "target/loadtest/car-ids.txt"));
+        double detailSkew = Double.parseDouble(options.string("detail-skew", "0.8"));
+        int pageSize = options.integer("page-size", 20);
+        String countMode = options.string("count-mode", null);
+        String engine = options.string("engine", null);
+        boolean gzip = options.flag("gzip", true);
+        Duration timeout = options.duration("timeout", Duration.ofSeconds(10));
+        options.rejectUnknown();
+
+        for (String endpoint : mix.keySet()) {
+            if (!endpoint.equals("search") && !endpoint.equals("detail")) {
+                throw new IllegalArgumentException("Unknown endpoint in --mix: " + endpoint + " (search|detail)");
+            }
+        }
+        int searchWeight = mix.getOrDefault("search", 0);
+        int detailWeight = mix.getOrDefault("detail", 0);
+        if (searchWeight + detailWeight <= 0) {
+            throw new IllegalArgumentException("--mix has no weight");
+        }
+
+        LoadDriver driver = new LoadDriver(baseUrl, timeout, gzip, pageSize, countMode, engine,
+                idsFile, detailSkew, seed);
+        System.out.printf("%s, %ds (+%ds warmup), mix search:%d detail:%d, %,d detail ids, %s%n",
+                rate > 0 ? "Open loop at " + rate + " req/s over " + concurrency + " workers"
+                        : "Closed loop, " + concurrency + " workers",
+                duration.toSeconds(), warmup.toSeconds(), searchWeight, detailWeight, driver.carIds.size(), baseUrl);
+
+        LatencyRecorder search = new LatencyRecorder("search");
+        LatencyRecorder detail = new LatencyRecorder("detail");
+        double searchShare = (double) searchWeight / (searchWeight + detailWeight);
+        SplittableRandom root = new SplittableRandom(seed);
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + warmup.toNanos();
+        long endAt = measureFrom + duration.toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        if (rate > 0) {
+            // One scheduler: request i is due at start + i / rate
+            long interval = 1_000_000_000L / rate;
+            for (long i = 0; ; i++) {
+                long due = startedAt + i * interval;
+                if (due >= endAt) {
+                    break;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                boolean isSearch = root.nextDouble() < searchShare;
+                String path = isSearch ? driver.searchPath(root) : driver.detailPath(root);
+                LatencyRecorder recorder = isSearch ? search : detail;
+                workers.execute(() -> {
+                    boolean ok = driver.send(path);
+                    if (due >= measureFrom) {
+                        recorder.record(System.nanoTime() - due, !ok);
+                    }
+                });
+            }
+        } else {
+            for (int w = 0; w < concurrency; w++) {
+                SplittableRandom random = root.split();
+                workers.execute(() -> {
+                    for (long start = System.nanoTime(); start < endAt; start = System.nanoTime()) {
+                        boolean isSearch = random.nextDouble() < searchShare;
+                        String path = isSearch ? driver.searchPath(random) : driver.detailPath(random);
+                        boolean ok = driver.send(path);
+                        if (start >= measureFrom) {
+                            (isSearch ? search : detail).record(System.nanoTime() - start, !ok);
+                        }
+                    }
+                });
+            }
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(duration.toSeconds() + timeout.toSeconds() * 2 + 60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+
+        report(duration, search.snapshot(), detail.snapshot());
+    }
+
+    private static void report(Duration duration, LatencyRecorder.Snapshot... endpoints) {
+        double seconds = duration.toNanos() / 1e9;
+        LatencyRecorder.Snapshot all = LatencyRecorder.merge("all", endpoints);
+        System.out.printf("%n%-8s %10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LatencyRecorder.Snapshot snapshot : endpoints) {
+            if (snapshot.count() > 0) {
+                printRow(snapshot, seconds);
+            }
+        }
+        printRow(all, seconds);
+    }
+
+    private static void printRow(LatencyRecorder.Snapshot snapshot, double seconds) {
+        System.out.printf("%-8s %,10d %,9.1f %,7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                snapshot.name(), snapshot.count(), snapshot.count() / seconds, snapshot.errors(),
+                snapshot.percentileMillis(50), snapshot.percentileMillis(90), snapshot.percentileMillis(99),
+                snapshot.percentileMillis(99.9), snapshot.maxMillis());
+    }
+
+    String searchPath(SplittableRandom random) {
+        StringBuilder path = new StringBuilder("/api/v1/cars/search?size=").append(pageSize);
+        String make = null;
+        if (random.nextInt(100) < 65) {
+            make = makes.get(makeSampler.sample(random));
+            param(path, "selectedMakes", make);
+            List<String> models = modelsByMake.getOrDefault(make, List.of());
+            if (!models.isEmpty() && random.nextInt(100) < 45) {
+                // Zipf over the models of the make, as the inventory
+                param(path, "selectedModels", models.get(modelSamplers.get(make).sample(random)));
+            }
+        }
+        if (!bodyTypes.isEmpty() && random.nextInt(100) < 20) {
+            String first = bodyTypes.get(random.nextInt(bodyTypes.size()));
+            String second = bodyTypes.get(random.nextInt(bodyTypes.size()));
+            param(path, "selectedBodyTypes", first.equals(second) ? first : first + "," + second);
+        }
+        if (random.nextInt(100) < 35) {
+            int min = PRICE_FLOORS[random.nextInt(PRICE_FLOORS.length)];
+            if (min > 0) {
+                param(path, "minPrice", String.valueOf(min));
+            }
+            param(path, "maxPrice", String.valueOf(min + PRICE_SPANS[random.nextInt(PRICE_SPANS.length)]));
+        }
+        if (hasManual && random.nextInt(100) < 8) {
+            param(path, "selectedTransmission", "Manual");
+        }
+        if (make == null && random.nextInt(100) < 5) {
+            // Typed text: the start of a make name
+            String name = makes.get(makeSampler.sample(random));
+            param(path, "value", name.substring(0, Math.min(3, name.length())).toLowerCase(Locale.ROOT));
+        }
+        param(path, "sort", SORTS[SORT_SAMPLER.sample(random)]);
+        int roll = random.nextInt(100);
+        int page = roll < 75 ? 1 : roll < 90 ? 2 : 3 + random.nextInt(8);
+        if (page > 1) {
+            param(path, "page", String.valueOf(page));
+        }
+        if (countMode != null) {
+            param(path, "countMode", countMode);
+        }
+        if (engine != null) {
+            param(path, "engine", engine);
+        }
+        return path.toString();
+    }
+
+    String detailPath(SplittableRandom random) {
+        return "/api/v1/cars/" + carIds.get(carSampler.sample(random));
+    }
+
+    /**
+     * @return true for a 2xx/3xx response, false for an error status or I/O failure
+     */
+    boolean send(String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .GET();
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        try {
+            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                reportFirstError(path + " → HTTP " + response.statusCode());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            reportFirstError(path + " → " + e);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reportFirstError(String message) {
+        if (errorReported.compareAndSet(false, true)) {
+            System.err.println("First error: " + message);
+        }
+    }
+
+    private JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " → HTTP " + response.statusCode());
+        }
+        return new ObjectMapper().readTree(response.body());
+    }
+
+    /**
+     * Without an ids file: the ids of the first search pages
+     */
+    private List<String> harvestIds() throws IOException, InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (String sort : SORTS) {
+            JsonNode cars = getJson("/api/v1/cars/search?size=100&sort=" + sort).path("data").path("list");
+            cars.forEach(car -> ids.add(car.path("id").asText()));
+        }
+        return ids;
+    }
+
+    private static void param(StringBuilder path, String name, String value) {
+        path.append('&').append(name).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+    }
+}
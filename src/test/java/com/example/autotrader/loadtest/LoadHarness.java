@@ -0,0 +1,64 @@
+package com.example.autotrader.loadtest;
+
+/**
+ * Large-catalog load test: generate synthetic inventory, then drive the API
+ *
+ * Not a JUnit test (surefire does not run it); run through the loadtest
+ * profile:
+ * <pre>
+ * mvn -Ploadtest test -Dloadtest.args="generate --cars=1000000 --truncate"
+ * mvn -Ploadtest test -Dloadtest.args="run --duration=60s --concurrency=32 --mix=search:80,detail:20"
+ * </pre>
+ *
+ * generate: bulk-load cars (COPY on PostgreSQL, batched INSERTs on H2)
+ * and write a sample of car ids for the detail requests.
+ * run: drive /api/v1/cars/search and /api/v1/cars/{id} of a running
+ * application and print p50/p90/p99/p99.9 latency and throughput.
+ */
+public final class LoadHarness {
+
+    private static final String USAGE = """
+            Usage: LoadHarness generate|run [--option=value ...]
+
+            generate
+              --db=postgres|h2        target database (default postgres)
+              --jdbc-url=URL          default localhost:5432/postgres, or target/loadtest/autotrader for h2
+              --user=, --password=    default postgres/postgres (h2: sa/empty)
+              --cars=1000000          cars to add
+              --dealers=500           add generated dealers up to this count
+              --seed=42               same seed + same reference data = same cars
+              --chunk=50000           cars per COPY / transaction
+              --truncate              delete all cars first
+              --ids-file=target/loadtest/car-ids.txt, --sample-ids=20000
+              --schema-file=database-schema.sql   (h2: reference seed data)
+
+            run
+              --base-url=http://localhost:8080
+              --duration=60s --warmup=10s
+              --concurrency=16        workers (closed loop), or worker pool (open loop)
+              --rate=0                requests/s for an open loop; 0 = closed loop
+              --mix=search:80,detail:20
+              --seed=42, --ids-file=target/loadtest/car-ids.txt, --detail-skew=0.8
+              --page-size=20, --count-mode=exact|estimated, --engine=jpa|bitmap
+              --gzip=true, --timeout=10s
+            """;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || args[0].equals("help") || args[0].equals("--help")) {
+            System.out.print(USAGE);
+            return;
+        }
+        LoadOptions options = LoadOptions.parse(args, 1);
+        switch (args[0]) {
+            case "generate" -> InventoryGenerator.run(options);
+            case "run" -> LoadDriver.run(options);
+            default -> {
+                System.err.print(USAGE);
+                System.exit(2);
+            }
+        }
+    }
+}
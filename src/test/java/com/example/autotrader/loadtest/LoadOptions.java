@@ -0,0 +1,99 @@
+package com.example.autotrader.loadtest;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the load harness: --name=value (or --flag)
+ *
+ * Every option a command reads is marked as used; {@link #rejectUnknown()}
+ * fails on the rest, so a typo does not silently run with the default.
+ */
+final class LoadOptions {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Set<String> used = new HashSet<>();
+
+    static LoadOptions parse(String[] args, int from) {
+        LoadOptions options = new LoadOptions();
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.values.put(arg.substring(2), "true");
+            } else {
+                options.values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    String string(String name, String defaultValue) {
+        used.add(name);
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int integer(String name, int defaultValue) {
+        String value = string(name, null);
+        return value != null ? Integer.parseInt(value.replace("_", "")) : defaultValue;
+    }
+
+    long longValue(String name, long defaultValue) {
+        String value = string(name, null);
+        return value != null ? Long.parseLong(value.replace("_", "")) : defaultValue;
+    }
+
+    boolean flag(String name, boolean defaultValue) {
+        String value = string(name, null);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    /**
+     * Duration as 500ms, 30s, 5m or 1h
+     */
+    Duration duration(String name, Duration defaultValue) {
+        String value = string(name, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration --" + name + "=" + value);
+        };
+    }
+
+    /**
+     * Weights as name:weight pairs, e.g. search:80,detail:20
+     */
+    Map<String, Integer> weights(String name, String defaultValue) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : string(name, defaultValue).split(",")) {
+            String[] parts = entry.split("[:=]");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid --" + name + " entry " + entry);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    void rejectUnknown() {
+        Set<String> unknown = new HashSet<>(values.keySet());
+        unknown.removeAll(used);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + unknown);
+        }
+    }
+}
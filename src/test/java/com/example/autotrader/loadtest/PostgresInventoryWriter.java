@@ -0,0 +1,142 @@
+package com.example.autotrader.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL: COPY into cars and car_badges, then one set-based
+ * refresh_car_listings per chunk
+ *
+ * The row triggers of cars/car_badges (listing sync, NOTIFY, consistency
+ * check, updated_at) are disabled during the load: one refresh per 50k
+ * cars instead of one per row, and no NOTIFY per car. Foreign keys stay
+ * enforced. Because nothing is notified, a running application keeps
+ * its caches: restart it (and flush Redis) after a load.
+ */
+final class PostgresInventoryWriter implements InventoryWriter {
+
+    private static final String COPY_CARS = """
+            COPY cars (id, year, mileage, price, image_url, make_id, model_id, trim_id, body_type_id,
+                       transmission_id, condition_id, dealer_id, is_featured, is_sold, views_count,
+                       created_at, updated_at)
+            FROM STDIN (FORMAT csv)""";
+    private static final String COPY_CAR_BADGES = "COPY car_badges (car_id, badge_id, created_at) FROM STDIN (FORMAT csv)";
+
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private boolean triggersDisabled;
+
+    PostgresInventoryWriter(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    @Override
+    public void prepare() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT to_regclass('car_listings') IS NOT NULL, to_regproc('refresh_car_listings') IS NOT NULL")) {
+            rows.next();
+            if (!rows.getBoolean(1) || !rows.getBoolean(2)) {
+                throw new IllegalStateException("car_listings / refresh_car_listings not found: run database-schema.sql first");
+            }
+        }
+    }
+
+    @Override
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE cars CASCADE");
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void begin() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE cars DISABLE TRIGGER USER");
+            statement.execute("ALTER TABLE car_badges DISABLE TRIGGER USER");
+        }
+        connection.commit();
+        triggersDisabled = true;
+    }
+
+    @Override
+    public void write(List<InventoryGenerator.GeneratedCar> cars) throws SQLException, IOException {
+        StringBuilder carRows = new StringBuilder(cars.size() * 400);
+        StringBuilder badgeRows = new StringBuilder(cars.size() * 100);
+        UUID[] ids = new UUID[cars.size()];
+        for (int i = 0; i < cars.size(); i++) {
+            InventoryGenerator.GeneratedCar car = cars.get(i);
+            ids[i] = car.id();
+            // Values never contain commas or quotes: no CSV quoting needed; empty = NULL
+            carRows.append(car.id()).append(',')
+                    .append(car.year()).append(',')
+                    .append(car.mileage()).append(',')
+                    .append(car.price()).append(',')
+                    .append(car.imageUrl()).append(',')
+                    .append(car.model().makeId()).append(',')
+                    .append(car.model().id()).append(',')
+                    .append(car.trim() != null ? car.trim().id().toString() : "").append(',')
+                    .append(car.bodyType().id()).append(',')
+                    .append(car.transmission().id()).append(',')
+                    .append(car.condition().id()).append(',')
+                    .append(car.dealer().id()).append(',')
+                    .append(car.featured()).append(',')
+                    .append(car.sold()).append(',')
+                    .append(car.views()).append(',')
+                    .append(car.createdAt()).append(',')
+                    .append(car.updatedAt()).append('\n');
+            for (ReferenceCatalog.Named badge : car.badges()) {
+                badgeRows.append(car.id()).append(',')
+                        .append(badge.id()).append(',')
+                        .append(car.createdAt()).append('\n');
+            }
+        }
+
+        try {
+            copyManager.copyIn(COPY_CARS, new StringReader(carRows.toString()));
+            copyManager.copyIn(COPY_CAR_BADGES, new StringReader(badgeRows.toString()));
+            try (PreparedStatement refresh = connection.prepareStatement("SELECT refresh_car_listings(?)")) {
+                refresh.setArray(1, connection.createArrayOf("uuid", ids));
+                refresh.execute();
+            }
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public void end(boolean completed) throws SQLException {
+        if (triggersDisabled) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE cars ENABLE TRIGGER USER");
+                statement.execute("ALTER TABLE car_badges ENABLE TRIGGER USER");
+            }
+            connection.commit();
+            triggersDisabled = false;
+        }
+        if (completed) {
+            // VACUUM sets the visibility map (index-only scans) and refreshes
+            // the statistics, including the reltuples the estimated count reads
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM (ANALYZE) cars, car_badges, car_listings");
+            } finally {
+                connection.setAutoCommit(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.autotrader.loadtest;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reference rows the generated cars point to (makes, models, trims, ...),
+ * read once from the target database, ordered by name so that a seed
+ * always produces the same inventory
+ */
+final class ReferenceCatalog {
+
+    record Named(UUID id, String name) {
+    }
+
+    record BodyType(UUID id, String name, String icon) {
+    }
+
+    record Dealer(UUID id, String name, String location) {
+    }
+
+    // Make by id and name, not the Make record (Make → models → make would recurse)
+    record Model(UUID id, UUID makeId, String makeName, String name, String category, List<Named> trims) {
+    }
+
+    record Make(UUID id, String name, List<Model> models) {
+    }
+
+    final List<Make> makes = new ArrayList<>();
+    final List<BodyType> bodyTypes = new ArrayList<>();
+    final List<Named> transmissions = new ArrayList<>();
+    final List<Named> conditions = new ArrayList<>();
+    final List<Named> badges = new ArrayList<>();
+    final List<Dealer> dealers = new ArrayList<>();
+
+    static ReferenceCatalog load(Connection connection) throws SQLException {
+        ReferenceCatalog catalog = new ReferenceCatalog();
+        try (Statement statement = connection.createStatement()) {
+            Map<UUID, Make> makes = new LinkedHashMap<>();
+            try (ResultSet rows = statement.executeQuery("SELECT id, name FROM makes ORDER BY name")) {
+                while (rows.next()) {
+                    makes.put(uuid(rows, 1), new Make(uuid(rows, 1), rows.getString(2), new ArrayList<>()));
+                }
+            }
+            Map<UUID, Model> models = new LinkedHashMap<>();
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT id, make_id, name, category FROM models ORDER BY name, id")) {
+                while (rows.next()) {
+                    Make make = makes.get(uuid(rows, 2));
+                    Model model = new Model(uuid(rows, 1), make.id(), make.name(),
+                            rows.getString(3), rows.getString(4), new ArrayList<>());
+                    make.models().add(model);
+                    models.put(model.id(), model);
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT id, model_id, name FROM trims ORDER BY name, id")) {
+                while (rows.next()) {
+                    models.get(uuid(rows, 2)).trims().add(new Named(uuid(rows, 1), rows.getString(3)));
+                }
+            }
+            makes.values().stream().filter(make -> !make.models().isEmpty()).forEach(catalog.makes::add);
+
+            try (ResultSet rows = statement.executeQuery("SELECT id, name, icon FROM body_types ORDER BY name")) {
+                while (rows.next()) {
+                    catalog.bodyTypes.add(new BodyType(uuid(rows, 1), rows.getString(2), rows.getString(3)));
+                }
+            }
+            named(statement, "SELECT id, type FROM transmissions ORDER BY type", catalog.transmissions);
+            named(statement, "SELECT id, name FROM conditions ORDER BY name", catalog.conditions);
+            named(statement, "SELECT id, name FROM badges ORDER BY name", catalog.badges);
+            try (ResultSet rows = statement.executeQuery("SELECT id, name, location FROM dealers ORDER BY name")) {
+                while (rows.next()) {
+                    catalog.dealers.add(new Dealer(uuid(rows, 1), rows.getString(2), rows.getString(3)));
+                }
+            }
+        }
+
+        if (catalog.makes.isEmpty() || catalog.bodyTypes.isEmpty() || catalog.transmissions.isEmpty()
+                || catalog.conditions.isEmpty() || catalog.dealers.isEmpty()) {
+            throw new IllegalStateException("Reference tables are empty: load the seed data of database-schema.sql first");
+        }
+        return catalog;
+    }
+
+    Optional<Named> transmission(String type) {
+        return find(transmissions, type);
+    }
+
+    Optional<Named> condition(String name) {
+        return find(conditions, name);
+    }
+
+    Optional<Named> badge(String name) {
+        return find(badges, name);
+    }
+
+    Optional<BodyType> bodyType(String name) {
+        return bodyTypes.stream().filter(bodyType -> bodyType.name().equalsIgnoreCase(name)).findFirst();
+    }
+
+    int modelCount() {
+        return makes.stream().mapToInt(make -> make.models().size()).sum();
+    }
+
+    private static Optional<Named> find(List<Named> values, String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return values.stream().filter(value -> value.name().toLowerCase(Locale.ROOT).equals(key)).findFirst();
+    }
+
+    private static void named(Statement statement, String sql, List<Named> target) throws SQLException {
+        try (ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                target.add(new Named(uuid(rows, 1), rows.getString(2)));
+            }
+        }
+    }
+
+    private static UUID uuid(ResultSet rows, int column) throws SQLException {
+        return rows.getObject(column, UUID.class);
+    }
+}
@@ -0,0 +1,166 @@
+-- ============================================
+-- H2 (PostgreSQL mode) schema for the load harness
+-- ============================================
+-- The tables of database-schema.sql the application reads, in H2 syntax.
+-- No triggers: the harness writes car_listings rows itself, and
+-- filter_options is a plain view over the reference tables. No foreign keys
+-- on cars, car_badges and car_listings either: H2 adds an index per foreign
+-- key, each one more B-tree to update per generated row.
+
+CREATE TABLE IF NOT EXISTS dealers (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    location VARCHAR(255),
+    phone VARCHAR(20),
+    email VARCHAR(255),
+    website VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS makes (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    country VARCHAR(100),
+    logo_url VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS models (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    make_id UUID NOT NULL REFERENCES makes(id) ON DELETE CASCADE,
+    name VARCHAR(150) NOT NULL,
+    category VARCHAR(50),
+    image_url VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(make_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS trims (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    model_id UUID NOT NULL REFERENCES models(id) ON DELETE CASCADE,
+    name VARCHAR(150) NOT NULL,
+    engine_type VARCHAR(100),
+    horsepower INTEGER,
+    fuel_economy_city DECIMAL(4,1),
+    fuel_economy_highway DECIMAL(4,1),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(model_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS body_types (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    icon VARCHAR(10),
+    description VARCHAR,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS transmissions (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    type VARCHAR(20) NOT NULL UNIQUE,
+    description VARCHAR,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS conditions (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(20) NOT NULL UNIQUE,
+    description VARCHAR,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS badges (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    color VARCHAR(20) DEFAULT '#3B82F6',
+    description VARCHAR,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS cars (
+    id UUID DEFAULT RANDOM_UUID() PRIMARY KEY,
+    year INTEGER NOT NULL,
+    mileage INTEGER NOT NULL,
+    price DECIMAL(12,2) NOT NULL,
+    image_url VARCHAR(500),
+    stock_number VARCHAR(64),
+    make_id UUID NOT NULL,
+    model_id UUID NOT NULL,
+    trim_id UUID,
+    body_type_id UUID NOT NULL,
+    transmission_id UUID NOT NULL,
+    condition_id UUID NOT NULL,
+    dealer_id UUID NOT NULL,
+    is_featured BOOLEAN DEFAULT FALSE,
+    is_sold BOOLEAN DEFAULT FALSE,
+    views_count INTEGER DEFAULT 0,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Dealer feeds look up a dealer's cars by stock number (NULLs are distinct in H2 too)
+CREATE UNIQUE INDEX IF NOT EXISTS idx_cars_dealer_stock_number ON cars(dealer_id, stock_number);
+
+CREATE TABLE IF NOT EXISTS car_badges (
+    car_id UUID NOT NULL,
+    badge_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (car_id, badge_id)
+);
+
+CREATE TABLE IF NOT EXISTS car_listings (
+    id UUID PRIMARY KEY,
+    year INTEGER NOT NULL,
+    mileage INTEGER NOT NULL,
+    price DECIMAL(12,2) NOT NULL,
+    image_url VARCHAR(500),
+    is_featured BOOLEAN,
+    is_sold BOOLEAN,
+    views_count INTEGER,
+    created_at TIMESTAMP WITH TIME ZONE,
+    updated_at TIMESTAMP WITH TIME ZONE,
+    make_id UUID NOT NULL,
+    model_id UUID NOT NULL,
+    trim_id UUID,
+    body_type_id UUID NOT NULL,
+    transmission_id UUID NOT NULL,
+    condition_id UUID NOT NULL,
+    dealer_id UUID NOT NULL,
+    make_name VARCHAR(100),
+    model_name VARCHAR(150),
+    trim_name VARCHAR(150),
+    body_type_name VARCHAR(50),
+    body_type_icon VARCHAR(10),
+    transmission_type VARCHAR(20),
+    condition_name VARCHAR(20),
+    dealer_name VARCHAR(255),
+    dealer_location VARCHAR(255),
+    badge_count INTEGER DEFAULT 0 NOT NULL,
+    badge_names VARCHAR,
+    badge_ids UUID ARRAY DEFAULT ARRAY[] NOT NULL
+);
+
+-- H2 has no partial indexes: the sort and filter indexes of the PostgreSQL schema, on all rows
+CREATE INDEX IF NOT EXISTS idx_car_listings_created_at ON car_listings(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_car_listings_price ON car_listings(price, id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_year ON car_listings(year, id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_mileage ON car_listings(mileage, id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_filter ON car_listings(make_id, model_id, body_type_id, transmission_id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_body_type_id ON car_listings(body_type_id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_model_id ON car_listings(model_id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_trim_id ON car_listings(trim_id);
+CREATE INDEX IF NOT EXISTS idx_car_listings_dealer ON car_listings(dealer_id);
+
+CREATE OR REPLACE VIEW filter_options AS
+SELECT 'makes' AS filter_type, mk.id AS value, mk.name AS label, CAST(NULL AS UUID) AS parent_value FROM makes mk
+UNION ALL
+SELECT 'models', m.id, m.name, m.make_id FROM models m
+UNION ALL
+SELECT 'trims', t.id, t.name, t.model_id FROM trims t
+UNION ALL
+SELECT 'body_types', bt.id, bt.name, CAST(NULL AS UUID) FROM body_types bt
+UNION ALL
+SELECT 'transmissions', trans.id, trans.type, CAST(NULL AS UUID) FROM transmissions trans
+UNION ALL
+SELECT 'conditions', cond.id, cond.name, CAST(NULL AS UUID) FROM conditions cond;